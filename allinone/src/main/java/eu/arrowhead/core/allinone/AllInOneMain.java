@@ -0,0 +1,100 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.allinone;
+
+import eu.arrowhead.common.ArrowheadMain;
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import eu.arrowhead.core.authorization.AuthorizationMain;
+import eu.arrowhead.core.eventhandler.EventHandlerMain;
+import eu.arrowhead.core.orchestrator.OrchestratorMain;
+import eu.arrowhead.core.serviceregistry_sql.ServiceRegistryMain;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.function.Consumer;
+import org.apache.log4j.Logger;
+
+/**
+ * Runs several core systems in one JVM, for small local clouds where running every core system in its own JVM uses too much memory. The core
+ * systems use the same config file, and share the database connection pool. Each core system still has its own web-server (on the default port of
+ * the core system), so external clients see no difference, but the core systems call each other in-process, without HTTP connections.
+ * <p>
+ * The core systems share the certificate of the process, which would not pass the access control of the Service Registry (a system can only
+ * register its own services), so only the insecure mode is supported.
+ */
+public class AllInOneMain {
+
+  //The core systems which can be hosted, in their startup order: the others register their services into the Service Registry
+  private static final Map<String, Consumer<String[]>> coreSystems = new LinkedHashMap<>();
+  private static final Logger log = Logger.getLogger(AllInOneMain.class.getName());
+
+  static {
+    coreSystems.put("serviceregistry", ServiceRegistryMain::main);
+    coreSystems.put("authorization", AuthorizationMain::main);
+    coreSystems.put("orchestrator", OrchestratorMain::main);
+    coreSystems.put("eventhandler", EventHandlerMain::main);
+  }
+
+  public static void main(String[] args) {
+    if (Arrays.asList(args).contains("-tls")) {
+      throw new ServiceConfigurationError("The all-in-one launcher only supports the insecure mode, the core systems can not share 1 certificate.");
+    }
+
+    TypeSafeProperties props = Utility.getProp();
+    List<String> systems = new ArrayList<>();
+    for (String system : props.getProperty("allinone_systems", String.join(",", coreSystems.keySet())).split(",")) {
+      system = system.trim().toLowerCase();
+      if (!coreSystems.containsKey(system)) {
+        throw new ServiceConfigurationError("Unknown core system in allinone_systems: " + system + ", the supported ones: " + coreSystems.keySet());
+      }
+      systems.add(system);
+    }
+
+    ArrowheadMain.setEmbedded(true);
+    for (String system : coreSystems.keySet()) {
+      if (systems.contains(system)) {
+        System.out.println("Starting " + system + "...");
+        coreSystems.get(system).accept(args);
+      }
+    }
+    log.info("All-in-one startup completed with " + systems);
+    listenForInput(Arrays.asList(args).contains("-daemon"));
+  }
+
+  private static void listenForInput(boolean daemon) {
+    if (daemon) {
+      System.out.println("In daemon mode, process will terminate for TERM signal...");
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        System.out.println("Received TERM signal, shutting down...");
+        ArrowheadMain.stopEmbeddedSystems();
+      }));
+    } else {
+      System.out.println("Type \"stop\" to shutdown the core systems...");
+      BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+      String input = "";
+      try {
+        while (input != null && !input.equals("stop")) {
+          input = br.readLine();
+        }
+        br.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+      ArrowheadMain.stopEmbeddedSystems();
+      System.exit(0);
+    }
+  }
+
+}
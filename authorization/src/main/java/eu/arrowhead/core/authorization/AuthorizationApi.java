@@ -168,28 +168,20 @@ public class AuthorizationApi {
   @POST
   @Path("intracloud")
   public Response addSystemToAuthorized(@Valid IntraCloudAuthEntry entry) {
-    restrictionMap.put("systemName", entry.getConsumer().getSystemName());
-    restrictionMap.put("address", entry.getConsumer().getAddress());
-    restrictionMap.put("port", entry.getConsumer().getPort());
-    ArrowheadSystem consumer = dm.get(ArrowheadSystem.class, restrictionMap);
-    if (consumer == null) {
-      log.info("Consumer System " + entry.getConsumer().getSystemName() + " was not in the database, saving it now.");
-      consumer = dm.save(entry.getConsumer());
-    }
-
-    ArrowheadSystem retrievedSystem;
-    ArrowheadService retrievedService;
-    List<IntraCloudAuthorization> savedAuthRights = new ArrayList<>();
-    for (ArrowheadSystem providerSystem : entry.getProviderList()) {
-      restrictionMap.clear();
-      restrictionMap.put("systemName", providerSystem.getSystemName());
-      restrictionMap.put("address", providerSystem.getAddress());
-      restrictionMap.put("port", providerSystem.getPort());
-      retrievedSystem = dm.get(ArrowheadSystem.class, restrictionMap);
-      if (retrievedSystem == null) {
-        log.info("Provider System " + providerSystem.getSystemName() + " was not in the database, saving it now.");
-        retrievedSystem = dm.save(providerSystem);
+    //Every lookup and insert shares 1 session and transaction, so either all or none of the authorization rights are created
+    List<IntraCloudAuthorization> savedAuthRights = dm.inTransaction(() -> {
+      restrictionMap.put("systemName", entry.getConsumer().getSystemName());
+      restrictionMap.put("address", entry.getConsumer().getAddress());
+      restrictionMap.put("port", entry.getConsumer().getPort());
+      ArrowheadSystem consumer = dm.get(ArrowheadSystem.class, restrictionMap);
+      if (consumer == null) {
+        log.info("Consumer System " + entry.getConsumer().getSystemName() + " was not in the database, saving it now.");
+        consumer = dm.save(entry.getConsumer());
       }
+
+      ArrowheadSystem retrievedSystem;
+      ArrowheadService retrievedService;
+      List<ArrowheadService> retrievedServices = new ArrayList<>();
       for (ArrowheadService service : entry.getServiceList()) {
         restrictionMap.clear();
         restrictionMap.put("serviceDefinition", service.getServiceDefinition());
@@ -198,17 +190,37 @@ public class AuthorizationApi {
           log.info("Service " + service.toString() + " was not in the database, saving it now.");
           retrievedService = dm.save(service);
         }
+        retrievedServices.add(retrievedService);
+      }
+
+      //The existing rights of the consumer are fetched with 1 query, instead of checking every provider-service pair one by one
+      restrictionMap.clear();
+      restrictionMap.put("consumer", consumer);
+      Set<String> existingRights = new HashSet<>();
+      for (IntraCloudAuthorization authRight : dm.getAll(IntraCloudAuthorization.class, restrictionMap)) {
+        existingRights.add(authRight.getProvider().getId() + "-" + authRight.getService().getId());
+      }
+
+      List<IntraCloudAuthorization> newAuthRights = new ArrayList<>();
+      for (ArrowheadSystem providerSystem : entry.getProviderList()) {
         restrictionMap.clear();
-        restrictionMap.put("consumer", consumer);
-        restrictionMap.put("provider", retrievedSystem);
-        restrictionMap.put("service", retrievedService);
-        IntraCloudAuthorization authRight = dm.get(IntraCloudAuthorization.class, restrictionMap);
-        if (authRight == null) {
-          authRight = dm.save(new IntraCloudAuthorization(consumer, retrievedSystem, retrievedService));
-          savedAuthRights.add(authRight);
+        restrictionMap.put("systemName", providerSystem.getSystemName());
+        restrictionMap.put("address", providerSystem.getAddress());
+        restrictionMap.put("port", providerSystem.getPort());
+        retrievedSystem = dm.get(ArrowheadSystem.class, restrictionMap);
+        if (retrievedSystem == null) {
+          log.info("Provider System " + providerSystem.getSystemName() + " was not in the database, saving it now.");
+          retrievedSystem = dm.save(providerSystem);
+        }
+        for (ArrowheadService service : retrievedServices) {
+          if (existingRights.add(retrievedSystem.getId() + "-" + service.getId())) {
+            newAuthRights.add(new IntraCloudAuthorization(consumer, retrievedSystem, service));
+          }
         }
       }
-    }
+
+      return new ArrayList<>(dm.saveAll(newAuthRights).getSucceeded());
+    });
 
     log.info("addSystemToAuthorized: " + savedAuthRights.size() + " authorization rights created.");
     GenericEntity<List<IntraCloudAuthorization>> entity = new GenericEntity<List<IntraCloudAuthorization>>(savedAuthRights) {
@@ -252,9 +264,7 @@ public class AuthorizationApi {
     }
     List<IntraCloudAuthorization> authRightsList = dm.getAll(IntraCloudAuthorization.class, restrictionMap);
     if (!authRightsList.isEmpty()) {
-      for (IntraCloudAuthorization authRight : authRightsList) {
-        dm.delete(authRight);
-      }
+      dm.deleteAll(authRightsList);
 
       log.info("deleteSystemRelations successfully returns.");
       return Response.ok().build();
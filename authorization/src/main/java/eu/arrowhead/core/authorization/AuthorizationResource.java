@@ -65,57 +65,60 @@ public class AuthorizationResource {
   @PUT
   @Path("intracloud")
   public Response isSystemAuthorized(@Valid IntraCloudAuthRequest request) {
-    restrictionMap.put("systemName", request.getConsumer().getSystemName());
-    restrictionMap.put("address", request.getConsumer().getAddress());
-    restrictionMap.put("port", request.getConsumer().getPort());
-    ArrowheadSystem consumer = dm.get(ArrowheadSystem.class, restrictionMap);
-    if (consumer == null) {
-      log.error("Consumer is not in the database. isSystemAuthorized DataNotFoundException");
-      throw new DataNotFoundException("Consumer System is not in the authorization database. " + request.getConsumer().getSystemName(),
-                                      Status.NOT_FOUND.getStatusCode());
-    }
-
-    IntraCloudAuthResponse response = new IntraCloudAuthResponse();
-    HashMap<ArrowheadSystem, Boolean> authorizationState = new HashMap<>();
-    restrictionMap.clear();
-    restrictionMap.put("serviceDefinition", request.getService().getServiceDefinition());
-    ArrowheadService service = dm.get(ArrowheadService.class, restrictionMap);
-    if (service == null) {
-      log.info("Service " + request.getService().toString() + " is not in the database. Returning NOT AUTHORIZED state for the consumer.");
-      for (ArrowheadSystem provider : request.getProviders()) {
-        authorizationState.put(provider, false);
+    //Pure read, served by a read-only session (on the read replica, if one is configured)
+    return dm.inReadOnlySession(() -> {
+      restrictionMap.put("systemName", request.getConsumer().getSystemName());
+      restrictionMap.put("address", request.getConsumer().getAddress());
+      restrictionMap.put("port", request.getConsumer().getPort());
+      ArrowheadSystem consumer = dm.get(ArrowheadSystem.class, restrictionMap);
+      if (consumer == null) {
+        log.error("Consumer is not in the database. isSystemAuthorized DataNotFoundException");
+        throw new DataNotFoundException("Consumer System is not in the authorization database. " + request.getConsumer().getSystemName(),
+                                        Status.NOT_FOUND.getStatusCode());
       }
-      response.setAuthorizationMap(authorizationState);
-      return Response.status(Status.OK).entity(response).build();
-    }
 
-    IntraCloudAuthorization authRight;
-    int authorizedCount = 0;
-    for (ArrowheadSystem provider : request.getProviders()) {
+      IntraCloudAuthResponse response = new IntraCloudAuthResponse();
+      HashMap<ArrowheadSystem, Boolean> authorizationState = new HashMap<>();
       restrictionMap.clear();
-      restrictionMap.put("systemName", provider.getSystemName());
-      restrictionMap.put("address", provider.getAddress());
-      restrictionMap.put("port", provider.getPort());
-      ArrowheadSystem retrievedSystem = dm.get(ArrowheadSystem.class, restrictionMap);
+      restrictionMap.put("serviceDefinition", request.getService().getServiceDefinition());
+      ArrowheadService service = dm.get(ArrowheadService.class, restrictionMap);
+      if (service == null) {
+        log.info("Service " + request.getService().toString() + " is not in the database. Returning NOT AUTHORIZED state for the consumer.");
+        for (ArrowheadSystem provider : request.getProviders()) {
+          authorizationState.put(provider, false);
+        }
+        response.setAuthorizationMap(authorizationState);
+        return Response.status(Status.OK).entity(response).build();
+      }
 
-      restrictionMap.clear();
-      restrictionMap.put("consumer", consumer);
-      restrictionMap.put("provider", retrievedSystem);
-      restrictionMap.put("service", service);
-      authRight = dm.get(IntraCloudAuthorization.class, restrictionMap);
-
-      if (authRight == null) {
-        authorizationState.put(provider, false);
-      } else {
-        authorizationState.put(provider, true);
-        authorizedCount++;
+      IntraCloudAuthorization authRight;
+      int authorizedCount = 0;
+      for (ArrowheadSystem provider : request.getProviders()) {
+        restrictionMap.clear();
+        restrictionMap.put("systemName", provider.getSystemName());
+        restrictionMap.put("address", provider.getAddress());
+        restrictionMap.put("port", provider.getPort());
+        ArrowheadSystem retrievedSystem = dm.get(ArrowheadSystem.class, restrictionMap);
+
+        restrictionMap.clear();
+        restrictionMap.put("consumer", consumer);
+        restrictionMap.put("provider", retrievedSystem);
+        restrictionMap.put("service", service);
+        authRight = dm.get(IntraCloudAuthorization.class, restrictionMap);
+
+        if (authRight == null) {
+          authorizationState.put(provider, false);
+        } else {
+          authorizationState.put(provider, true);
+          authorizedCount++;
+        }
       }
-    }
 
-    log.info(
-        "IntraCloud auth check for consumer " + request.getConsumer().getSystemName() + " returns with " + authorizedCount + " possible provider");
-    response.setAuthorizationMap(authorizationState);
-    return Response.status(Status.OK).entity(response).build();
+      log.info(
+          "IntraCloud auth check for consumer " + request.getConsumer().getSystemName() + " returns with " + authorizedCount + " possible provider");
+      response.setAuthorizationMap(authorizationState);
+      return Response.status(Status.OK).entity(response).build();
+    });
   }
 
   /**
@@ -8,6 +8,7 @@
 package eu.arrowhead.core.authorization.filter;
 
 import eu.arrowhead.common.filter.AccessControlFilter;
+import eu.arrowhead.common.filter.RequestBody;
 import eu.arrowhead.common.misc.SecurityUtils;
 import eu.arrowhead.core.authorization.AuthorizationMain;
 import javax.annotation.Priority;
@@ -19,7 +20,7 @@ import javax.ws.rs.ext.Provider;
 public class AuthACF extends AccessControlFilter {
 
   @Override
-  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, String requestJson) {
+  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, RequestBody requestBody) {
     if (!SecurityUtils.isKeyStoreCNArrowheadValid(clientCN)) {
       log.info(clientCN + " is not valid common name, access denied!");
       return false;
@@ -28,6 +29,11 @@ public class AuthACF extends AccessControlFilter {
     String serverCN = (String) configuration.getProperty("server_common_name");
     String[] serverFields = serverCN.split("\\.", 2);
 
+    if (isCommonManagementTarget(requestTarget)) {
+      // Only the local System Operator can use the management resources common to every core system
+      return isLocalSysop(clientCN);
+    }
+
     if (AuthorizationMain.enableAuthForCloud) {
       if (!requestTarget.contains("mgmt") || (requestTarget.endsWith("intracloud") && method.equalsIgnoreCase("post"))) {
         String[] clientFields = clientCN.split("\\.", 2);
@@ -0,0 +1,80 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.benchmarks;
+
+import eu.arrowhead.common.database.ArrowheadService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <tt>ArrowheadService.equals/hashCode</tt> in large hash sets. The hash code only depends on the service definition, and 2 services are equal
+ * if they have a common interface, so several versions of the same service (with different interfaces) end up in the same bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrowheadServiceBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int size;
+
+  private List<ArrowheadService> services;
+  private Set<ArrowheadService> serviceSet;
+  private List<ArrowheadService> lookups;
+
+  @Setup
+  public void setUp() {
+    services = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      //10 services with the same definition, but with different interfaces
+      services.add(new ArrowheadService("service" + i / 10, new HashSet<>(Arrays.asList("interface" + i % 10, "JSON" + i % 10)), null));
+    }
+    serviceSet = new HashSet<>(services);
+    lookups = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      //Every second lookup misses
+      String serviceInterface = i % 2 == 0 ? "interface" + i % 10 : "CBOR";
+      lookups.add(new ArrowheadService("service" + i / 10, new HashSet<>(Arrays.asList(serviceInterface)), null));
+    }
+  }
+
+  @Benchmark
+  public Set<ArrowheadService> buildSet() {
+    return new HashSet<>(services);
+  }
+
+  @Benchmark
+  public int lookup() {
+    int found = 0;
+    for (ArrowheadService service : lookups) {
+      if (serviceSet.contains(service)) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+}
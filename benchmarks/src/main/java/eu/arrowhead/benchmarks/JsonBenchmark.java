@@ -0,0 +1,78 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.json.JacksonJsonProviderAtRest;
+import eu.arrowhead.common.messages.IntraCloudAuthResponse;
+import eu.arrowhead.common.messages.OrchestrationResponse;
+import eu.arrowhead.common.messages.ServiceQueryResult;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON round-trips (serialization + deserialization) of the biggest messages between the core systems, with the object mapper of the core systems.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int size;
+
+  private final ObjectMapper mapper = JacksonJsonProviderAtRest.getMapper();
+  private ServiceQueryResult serviceQueryResult;
+  private OrchestrationResponse orchestrationResponse;
+  private IntraCloudAuthResponse authResponse;
+
+  @Setup
+  public void setUp() {
+    ArrowheadService service = SyntheticData.service(0);
+    serviceQueryResult = new ServiceQueryResult(SyntheticData.serviceRegistryEntries(service, size));
+    orchestrationResponse = new OrchestrationResponse(SyntheticData.orchestrationForms(size, 10));
+    HashMap<ArrowheadSystem, Boolean> authorizationMap = new HashMap<>();
+    for (ArrowheadSystem system : SyntheticData.systems(size)) {
+      authorizationMap.put(system, system.getPort() % 2 == 0);
+    }
+    authResponse = new IntraCloudAuthResponse(authorizationMap);
+  }
+
+  @Benchmark
+  public ServiceQueryResult serviceQueryResult() throws IOException {
+    return mapper.readValue(mapper.writeValueAsBytes(serviceQueryResult), ServiceQueryResult.class);
+  }
+
+  @Benchmark
+  public OrchestrationResponse orchestrationResponse() throws IOException {
+    return mapper.readValue(mapper.writeValueAsBytes(orchestrationResponse), OrchestrationResponse.class);
+  }
+
+  @Benchmark
+  public IntraCloudAuthResponse intraCloudAuthResponse() throws IOException {
+    return mapper.readValue(mapper.writeValueAsBytes(authResponse), IntraCloudAuthResponse.class);
+  }
+
+}
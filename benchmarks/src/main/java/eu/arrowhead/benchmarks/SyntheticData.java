@@ -0,0 +1,92 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.benchmarks;
+
+import eu.arrowhead.common.database.ArrowheadCloud;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.OrchestrationForm;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the synthetic (deterministic) input data of the benchmarks.
+ */
+public final class SyntheticData {
+
+  private SyntheticData() throws AssertionError {
+    throw new AssertionError("SyntheticData is a non-instantiable class");
+  }
+
+  public static ArrowheadSystem system(int i) {
+    return new ArrowheadSystem("provider" + i, "10.0." + (i / 250) + "." + (i % 250 + 1), 8000 + i % 1000, null);
+  }
+
+  public static List<ArrowheadSystem> systems(int count) {
+    List<ArrowheadSystem> systems = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      systems.add(system(i));
+    }
+    return systems;
+  }
+
+  public static ArrowheadService service(int i) {
+    Map<String, String> metadata = new HashMap<>();
+    metadata.put("unit", "celsius");
+    metadata.put("security", i % 2 == 0 ? "token" : "none");
+    return new ArrowheadService("service" + i, new HashSet<>(Arrays.asList("JSON", "XML")), metadata);
+  }
+
+  public static List<ArrowheadService> services(int count) {
+    List<ArrowheadService> services = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      services.add(service(i));
+    }
+    return services;
+  }
+
+  public static ArrowheadCloud cloud() {
+    return new ArrowheadCloud("aitia", "testcloud1", "127.0.0.1", 8446, "gatekeeper", null, false);
+  }
+
+  /**
+   * Service Registry entries of the same service from different providers. Every 20th entry is not valid (port 0), and every 10th has no common
+   * interface with the service, so the filtering steps have something to remove.
+   */
+  public static List<ServiceRegistryEntry> serviceRegistryEntries(ArrowheadService service, int count) {
+    List<ServiceRegistryEntry> entries = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ArrowheadSystem provider = system(i);
+      if (i % 20 == 19) {
+        provider.setPort(0);
+      }
+      ArrowheadService providedService = new ArrowheadService(service.getServiceDefinition(), new HashSet<>(
+          i % 10 == 9 ? Arrays.asList("CBOR") : service.getInterfaces()), service.getServiceMetadata());
+      entries.add(new ServiceRegistryEntry(providedService, provider, "uri/" + i));
+    }
+    return entries;
+  }
+
+  /**
+   * Orchestration forms of <tt>serviceCount</tt> services, with the providers assigned round-robin to the services.
+   */
+  public static List<OrchestrationForm> orchestrationForms(int count, int serviceCount) {
+    List<ArrowheadService> services = services(serviceCount);
+    List<OrchestrationForm> forms = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      forms.add(new OrchestrationForm(services.get(i % serviceCount), system(i), "uri/" + i));
+    }
+    return forms;
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.benchmarks;
+
+import eu.arrowhead.common.messages.OrchestrationForm;
+import eu.arrowhead.common.messages.TokenData;
+import eu.arrowhead.common.messages.TokenGenHelper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Grouping the orchestration forms by service for the token generation, and adding the generated tokens to the forms (half of the services use
+ * tokens).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenGenHelperBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int size;
+
+  private List<OrchestrationForm> forms;
+  private List<TokenData> tokens;
+
+  @Setup
+  public void setUp() {
+    forms = SyntheticData.orchestrationForms(size, 10);
+    tokens = new ArrayList<>();
+    for (OrchestrationForm form : forms) {
+      if ("token".equals(form.getService().getServiceMetadata().get("security"))) {
+        tokens.add(new TokenData(form.getProvider(), form.getService(), "token", "signature"));
+      }
+    }
+  }
+
+  @Benchmark
+  public List<TokenGenHelper> convertOfList() {
+    return TokenGenHelper.convertOfList(forms);
+  }
+
+  @Benchmark
+  public List<OrchestrationForm> updateFormsWithTokens() {
+    TokenGenHelper.updateFormsWithTokens(forms, tokens);
+    return forms;
+  }
+
+}
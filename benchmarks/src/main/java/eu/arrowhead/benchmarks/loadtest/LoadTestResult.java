@@ -0,0 +1,69 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.benchmarks.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measurements of 1 orchestration mode: the latencies of the successful requests, the number of failed requests and the throughput.
+ */
+final class LoadTestResult {
+
+  static final String HEADER = String.format("%-8s %10s %8s %12s %10s %10s %10s %10s", "mode", "requests", "errors", "throughput/s", "p50 ms",
+                                             "p99 ms", "p999 ms", "max ms");
+
+  private final String mode;
+  private final long[] latencies;
+  private final long errors;
+  private final long elapsedNanos;
+
+  /**
+   * @param latencies the latencies of the successful requests, in nanoseconds (sorted in place)
+   */
+  LoadTestResult(String mode, long[] latencies, long errors, long elapsedNanos) {
+    this.mode = mode;
+    this.latencies = latencies;
+    this.errors = errors;
+    this.elapsedNanos = elapsedNanos;
+    Arrays.sort(latencies);
+  }
+
+  long getRequests() {
+    return latencies.length + errors;
+  }
+
+  /**
+   * Successful requests per second.
+   */
+  double getThroughput() {
+    return latencies.length * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * Returns the latency below which the given fraction (between 0 and 1) of the successful requests completed, in milliseconds.
+   */
+  double getPercentile(double fraction) {
+    if (latencies.length == 0) {
+      return Double.NaN;
+    }
+    int index = (int) Math.ceil(fraction * latencies.length) - 1;
+    return toMillis(latencies[Math.min(Math.max(index, 0), latencies.length - 1)]);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%-8s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f", mode, getRequests(), errors, getThroughput(), getPercentile(0.5),
+                         getPercentile(0.99), getPercentile(0.999), getPercentile(1));
+  }
+
+}
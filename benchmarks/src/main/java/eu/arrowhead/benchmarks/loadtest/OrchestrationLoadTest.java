@@ -0,0 +1,317 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.benchmarks.loadtest;
+
+import eu.arrowhead.common.ArrowheadMain;
+import eu.arrowhead.common.DatabaseManager;
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.database.ArrowheadCloud;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.OrchestrationStore;
+import eu.arrowhead.common.database.OwnCloud;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.json.JacksonJsonProviderAtRest;
+import eu.arrowhead.common.messages.IntraCloudAuthEntry;
+import eu.arrowhead.common.messages.OrchestrationForm;
+import eu.arrowhead.common.messages.OrchestrationResponse;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.misc.CoreSystem;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import eu.arrowhead.core.authorization.AuthorizationMain;
+import eu.arrowhead.core.orchestrator.OrchestratorMain;
+import eu.arrowhead.core.serviceregistry_sql.ServiceRegistryMain;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.log4j.Logger;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+
+/**
+ * End-to-end load test of the orchestration. Starts the Service Registry, Authorization and Orchestrator core systems in this JVM (like the
+ * all-in-one launcher) with an in-memory database, seeds a synthetic local cloud through the REST interfaces of the core systems, then drives the
+ * orchestration service with concurrent synthetic consumers and reports the throughput and latency percentiles of every orchestration mode:
+ * <ul>
+ * <li><tt>store</tt>: Orchestration Store based orchestration</li>
+ * <li><tt>dynamic</tt>: dynamic orchestration (Service Registry and Authorization queries)</li>
+ * <li><tt>tokens</tt>: dynamic orchestration of services requiring ArrowheadTokens, which are generated by the Authorization</li>
+ * </ul>
+ * The consumers send their requests over HTTP, like external systems would, the core systems call each other in-process. The settings are read
+ * from the <tt>loadtest_*</tt> keys of the config file, which also holds the config of the core systems, so different configurations can be
+ * compared with the same load. Run it from the <tt>benchmarks/target</tt> folder:
+ * <tt>java -cp benchmarks.jar eu.arrowhead.benchmarks.loadtest.OrchestrationLoadTest</tt>
+ */
+public final class OrchestrationLoadTest {
+
+  private static final Logger log = Logger.getLogger(OrchestrationLoadTest.class.getName());
+  private static final TypeSafeProperties props = Utility.getProp();
+  private static final int PROVIDERS = props.getIntProperty("loadtest_providers", 100);
+  private static final int SERVICES = props.getIntProperty("loadtest_services", 20);
+  private static final int PROVIDERS_PER_SERVICE = Math.min(props.getIntProperty("loadtest_providers_per_service", 5), PROVIDERS);
+  private static final int CONSUMERS = props.getIntProperty("loadtest_consumers", 16);
+  private static final int WARMUP = props.getIntProperty("loadtest_warmup", 10);
+  private static final int DURATION = props.getIntProperty("loadtest_duration", 30);
+  private static final List<String> MODES = Arrays.asList(props.getProperty("loadtest_modes", "store,dynamic,tokens").split(","));
+
+  private static final String SR_URI = "http://127.0.0.1:" + CoreSystem.SERVICE_REGISTRY_SQL.getInsecurePort() + "/serviceregistry";
+  private static final String AUTH_URI = "http://127.0.0.1:" + CoreSystem.AUTHORIZATION.getInsecurePort() + "/authorization/mgmt";
+  private static final String ORCH_URI = "http://127.0.0.1:" + CoreSystem.ORCHESTRATOR.getInsecurePort() + "/orchestrator";
+
+  private final List<ArrowheadSystem> providers = new ArrayList<>();
+  private final List<ArrowheadSystem> consumers = new ArrayList<>();
+  //The consumers have their own client, so their HTTP connections do not compete with the requests between the core systems
+  private final Client client;
+
+  private OrchestrationLoadTest() {
+    for (String mode : MODES) {
+      if (!Arrays.asList("store", "dynamic", "tokens").contains(mode.trim())) {
+        throw new ServiceConfigurationError("Unknown orchestration mode in loadtest_modes: " + mode + ", the supported ones: store, dynamic, tokens");
+      }
+    }
+
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(CONSUMERS);
+    connectionManager.setDefaultMaxPerRoute(CONSUMERS);
+    ClientConfig configuration = new ClientConfig();
+    configuration.connectorProvider(new ApacheConnectorProvider());
+    configuration.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager);
+    configuration.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+    client = ClientBuilder.newClient(configuration).register(JacksonJsonProviderAtRest.compact());
+  }
+
+  public static void main(String[] args) {
+    OrchestrationLoadTest loadTest = new OrchestrationLoadTest();
+    ArrowheadMain.setEmbedded(true);
+    ServiceRegistryMain.main(args);
+    AuthorizationMain.main(args);
+    OrchestratorMain.main(new String[]{"-nogk"});
+
+    //The console output of the core systems (e.g. the token generation details) would slow down the requests, so it is discarded
+    PrintStream console = System.out;
+    System.setOut(new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+      }
+    }));
+
+    List<LoadTestResult> results = new ArrayList<>();
+    try {
+      loadTest.seed(console);
+      for (String mode : MODES) {
+        mode = mode.trim();
+        console.println("Warming up " + mode + " orchestration for " + WARMUP + " seconds...");
+        loadTest.run(mode, WARMUP);
+        console.println("Measuring " + mode + " orchestration for " + DURATION + " seconds...");
+        LoadTestResult result = loadTest.run(mode, DURATION);
+        log.info("Load test result: " + result);
+        results.add(result);
+      }
+    } finally {
+      System.setOut(console);
+      ArrowheadMain.stopEmbeddedSystems();
+    }
+
+    System.out.println();
+    System.out.println(PROVIDERS + " providers, " + SERVICES + " services (" + PROVIDERS_PER_SERVICE + " providers each), " + CONSUMERS + " consumers");
+    System.out.println(LoadTestResult.HEADER);
+    for (LoadTestResult result : results) {
+      System.out.println(result);
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Registers the providers of the plain and the token protected services, the authorization rights of the consumers, and 1 Orchestration Store
+   * entry for every consumer and plain service.
+   */
+  private void seed(PrintStream console) {
+    long start = System.currentTimeMillis();
+    String publicKey;
+    try {
+      //The providers share 1 key, the cost of the token encryption does not depend on the key
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      publicKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPublic().getEncoded());
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError("RSA key generation is not supported", e);
+    }
+    for (int i = 0; i < PROVIDERS; i++) {
+      providers.add(new ArrowheadSystem("loadtest-provider" + i, "127.0.0.1", 20000 + i, publicKey));
+    }
+    for (int i = 0; i < CONSUMERS; i++) {
+      consumers.add(new ArrowheadSystem("loadtest-consumer" + i, "127.0.0.1", 40000 + i, null));
+    }
+
+    //The Authorization needs the own cloud to generate tokens for the consumers of the local cloud
+    DatabaseManager dm = DatabaseManager.getInstance();
+    ArrowheadCloud ownCloud = dm.save(new ArrowheadCloud("loadtest", "loadtest", "127.0.0.1", 8446, "gatekeeper", null, false));
+    dm.save(new OwnCloud(ownCloud));
+
+    for (int i = 0; i < SERVICES; i++) {
+      for (boolean token : new boolean[]{false, true}) {
+        ArrowheadService service = toService(i, token);
+        List<ArrowheadSystem> serviceProviders = getProviders(i);
+        for (ArrowheadSystem provider : serviceProviders) {
+          send(SR_URI + "/register", new ServiceRegistryEntry(service, provider, "loadtest/" + service.getServiceDefinition()));
+        }
+        for (ArrowheadSystem consumer : consumers) {
+          send(AUTH_URI + "/intracloud", new IntraCloudAuthEntry(consumer, serviceProviders, Collections.singletonList(service)));
+        }
+      }
+    }
+
+    for (ArrowheadSystem consumer : consumers) {
+      List<OrchestrationStore> storeEntries = new ArrayList<>();
+      for (int i = 0; i < SERVICES; i++) {
+        storeEntries.add(new OrchestrationStore(toService(i, false), consumer, getProviders(i).get(0), null, 1));
+      }
+      send(ORCH_URI + "/mgmt/store", storeEntries);
+    }
+    console.println("Seeding the database took " + (System.currentTimeMillis() - start) + " ms");
+  }
+
+  private static ArrowheadService toService(int i, boolean token) {
+    Map<String, String> metadata = new HashMap<>();
+    if (token) {
+      metadata.put("security", "token");
+    }
+    return new ArrowheadService((token ? "loadtest-token-service" : "loadtest-service") + i, new HashSet<>(Collections.singleton("JSON")), metadata);
+  }
+
+  private List<ArrowheadSystem> getProviders(int service) {
+    List<ArrowheadSystem> serviceProviders = new ArrayList<>();
+    for (int i = 0; i < PROVIDERS_PER_SERVICE; i++) {
+      serviceProviders.add(providers.get((service * PROVIDERS_PER_SERVICE + i) % PROVIDERS));
+    }
+    return serviceProviders;
+  }
+
+  private void send(String uri, Object payload) {
+    Response response = client.target(uri).request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(payload));
+    //Reading the body releases the connection to the pool
+    String body = response.readEntity(String.class);
+    if (response.getStatusInfo().getFamily() != Status.Family.SUCCESSFUL) {
+      throw new IllegalStateException("Seeding failed, " + uri + " returned " + response.getStatus() + ": " + body);
+    }
+  }
+
+  /**
+   * Drives the orchestration service with the consumers for the given time, every consumer sends its next request right after the previous one
+   * completed. A request is successful if it returned at least 1 provider (with tokens in the <tt>tokens</tt> mode).
+   */
+  private LoadTestResult run(String mode, int seconds) {
+    ExecutorService executor = Executors.newFixedThreadPool(CONSUMERS);
+    long start = System.nanoTime();
+    long end = start + TimeUnit.SECONDS.toNanos(seconds);
+    List<CompletableFuture<long[]>> consumerResults = new ArrayList<>();
+    for (ArrowheadSystem consumer : consumers) {
+      consumerResults.add(CompletableFuture.supplyAsync(() -> consume(consumer, mode, end), executor));
+    }
+
+    long[] latencies = new long[0];
+    long errors = 0;
+    for (CompletableFuture<long[]> consumerResult : consumerResults) {
+      //The last element is the error count of the consumer
+      long[] measurements = Utility.getAsyncResult(consumerResult);
+      int successful = measurements.length - 1;
+      latencies = Arrays.copyOf(latencies, latencies.length + successful);
+      System.arraycopy(measurements, 0, latencies, latencies.length - successful, successful);
+      errors += measurements[successful];
+    }
+    executor.shutdown();
+    return new LoadTestResult(mode, latencies, errors, System.nanoTime() - start);
+  }
+
+  private long[] consume(ArrowheadSystem consumer, String mode, long end) {
+    WebTarget target = client.target(ORCH_URI + "/orchestration");
+    Map<String, Boolean> flags = new HashMap<>();
+    flags.put("overrideStore", !mode.equals("store"));
+    long[] latencies = new long[1024];
+    int successful = 0;
+    long errors = 0;
+    String lastError = null;
+
+    while (System.nanoTime() < end) {
+      ArrowheadService service = toService(ThreadLocalRandom.current().nextInt(SERVICES), mode.equals("tokens"));
+      ServiceRequestForm srf = new ServiceRequestForm.Builder(consumer).requestedService(service).orchestrationFlags(flags).build();
+      long requestStart = System.nanoTime();
+      try {
+        Response response = target.request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(srf));
+        if (response.getStatus() == Status.OK.getStatusCode()) {
+          if (isValid(response.readEntity(OrchestrationResponse.class), mode)) {
+            if (successful == latencies.length) {
+              latencies = Arrays.copyOf(latencies, successful * 2);
+            }
+            latencies[successful++] = System.nanoTime() - requestStart;
+            continue;
+          }
+          lastError = "response without " + (mode.equals("tokens") ? "tokens" : "providers");
+        } else {
+          lastError = "HTTP " + response.getStatus() + ": " + response.readEntity(String.class);
+        }
+      } catch (ProcessingException e) {
+        lastError = e.getMessage();
+      }
+      errors++;
+    }
+
+    if (lastError != null) {
+      log.warn(consumer.getSystemName() + " had " + errors + " failed " + mode + " orchestrations, the last error: " + lastError);
+    }
+    latencies = Arrays.copyOf(latencies, successful + 1);
+    latencies[successful] = errors;
+    return latencies;
+  }
+
+  private static boolean isValid(OrchestrationResponse response, String mode) {
+    if (response == null || response.getResponse().isEmpty()) {
+      return false;
+    }
+    if (mode.equals("tokens")) {
+      for (OrchestrationForm form : response.getResponse()) {
+        if (form.getAuthorizationToken() == null) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.authorization;
+
+import eu.arrowhead.benchmarks.SyntheticData;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.messages.ArrowheadToken;
+import eu.arrowhead.common.messages.TokenGenerationRequest;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token generation of the Authorization for 1 service and several providers. The providers share 1 RSA key pair (the cost of the encryption does
+ * not depend on the key), and the Authorization signs with a generated key instead of the key of its keystore. The console output of the token
+ * generation is discarded during the measurements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenGenerationBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int providers;
+
+  private TokenGenerationRequest request;
+  private PrintStream console;
+
+  @Setup
+  public void setUp() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+    AuthorizationMain.privateKey = keyPair.getPrivate();
+
+    List<ArrowheadSystem> providerList = SyntheticData.systems(providers);
+    String publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    for (ArrowheadSystem provider : providerList) {
+      provider.setAuthenticationInfo(publicKey);
+    }
+    request = new TokenGenerationRequest(new ArrowheadSystem("consumer", "10.1.0.1", 8000, null), SyntheticData.cloud(), providerList,
+                                         SyntheticData.service(0), 0);
+
+    console = System.out;
+    System.setOut(new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+      }
+    }));
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.setOut(console);
+  }
+
+  @Benchmark
+  public List<ArrowheadToken> generateTokens() {
+    return TokenGenerationService.generateTokens(request);
+  }
+
+}
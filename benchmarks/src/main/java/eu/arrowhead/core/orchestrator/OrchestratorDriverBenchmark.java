@@ -0,0 +1,101 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import eu.arrowhead.benchmarks.SyntheticData;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.ServiceQueryResult;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.core.orchestrator.matchmaking.MatchmakingStrategies;
+import eu.arrowhead.core.orchestrator.matchmaking.MatchmakingStrategy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The filtering steps of the dynamic orchestration over the providers of 1 service: filtering the Service Registry response, removing the
+ * non-preferred providers (10% of the providers are preferred), and the matchmaking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrchestratorDriverBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int size;
+
+  private ArrowheadService service;
+  private List<ServiceRegistryEntry> srResponse;
+  private List<ServiceRegistryEntry> srList;
+  private Set<ArrowheadSystem> preferredProviders;
+
+  @State(Scope.Benchmark)
+  public static class Matchmaking {
+
+    @Param({"first", "roundrobin", "leastrecent", "responsetime"})
+    public String strategyName;
+
+    private MatchmakingStrategy strategy;
+    private ServiceRequestForm srf;
+
+    @Setup
+    public void setUp() {
+      srf = new ServiceRequestForm.Builder(new ArrowheadSystem("consumer", "10.1.0.1", 8000, null))
+          .requestedService(SyntheticData.service(0)).commands(Collections.singletonMap(MatchmakingStrategies.COMMAND_KEY, strategyName)).build();
+      strategy = MatchmakingStrategies.forRequest(srf);
+    }
+
+  }
+
+  @Setup
+  public void setUp() {
+    service = SyntheticData.service(0);
+    srResponse = SyntheticData.serviceRegistryEntries(service, size);
+    srList = OrchestratorDriver.filterServiceQueryResult(service, new ServiceQueryResult(new ArrayList<>(srResponse)));
+    preferredProviders = new HashSet<>();
+    for (int i = 0; i < size; i += 10) {
+      preferredProviders.add(srList.get(i % srList.size()).getProvider());
+    }
+  }
+
+  @Benchmark
+  public List<ServiceRegistryEntry> filterServiceQueryResult() {
+    //The filtering modifies the list of the response
+    return OrchestratorDriver.filterServiceQueryResult(service, new ServiceQueryResult(new ArrayList<>(srResponse)));
+  }
+
+  @Benchmark
+  public List<ServiceRegistryEntry> removeNonPreferred() {
+    return OrchestratorDriver.removeNonPreferred(srList, preferredProviders);
+  }
+
+  @Benchmark
+  public ServiceRegistryEntry intraCloudMatchmaking(Matchmaking matchmaking) {
+    return OrchestratorDriver.intraCloudMatchmaking(srList, preferredProviders, matchmaking.strategy, matchmaking.srf);
+  }
+
+}
@@ -17,6 +17,8 @@ import eu.arrowhead.common.misc.CoreSystem;
 import eu.arrowhead.common.misc.CoreSystemService;
 import eu.arrowhead.common.misc.SecurityUtils;
 import eu.arrowhead.common.misc.TypeSafeProperties;
+import eu.arrowhead.common.web.CircuitBreakerApi;
+import eu.arrowhead.common.web.CoreSystemDirectoryApi;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -31,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceConfigurationError;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.UriBuilder;
@@ -42,7 +45,9 @@ import org.glassfish.grizzly.http.server.HttpServer;
 import org.glassfish.grizzly.ssl.SSLContextConfigurator;
 import org.glassfish.grizzly.ssl.SSLContextConfigurator.GenericStoreException;
 import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpContainer;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ContainerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 
 public abstract class ArrowheadMain {
@@ -63,11 +68,41 @@ public abstract class ArrowheadMain {
   private int registeringTries = 1;
 
   private static final Logger log = Logger.getLogger(ArrowheadMain.class.getName());
+  //Core systems started in embedded mode, in the order of their startup
+  private static final List<ArrowheadMain> embeddedSystems = new CopyOnWriteArrayList<>();
+  private static volatile boolean embedded = false;
 
   {
     PropertyConfigurator.configure(props);
   }
 
+  /**
+   * Core systems started after this call run embedded in a host process, which runs several core systems in one JVM: {@link #listenForInput()}
+   * returns right away, the host stops the core systems with {@link #stopEmbeddedSystems()}, and the requests between the insecure core systems are
+   * served in-process (unless <tt>in_process_calls</tt> is false in the config file), without opening HTTP connections.
+   */
+  public static void setEmbedded(boolean isEmbedded) {
+    embedded = isEmbedded;
+  }
+
+  /**
+   * Stops the embedded core systems in the reverse order of their startup (so the Service Registry, which is started first, is stopped last), and
+   * closes the database connection pool they share.
+   */
+  public static void stopEmbeddedSystems() {
+    List<ArrowheadMain> systems = new ArrayList<>(embeddedSystems);
+    Collections.reverse(systems);
+    for (ArrowheadMain system : systems) {
+      try {
+        system.stop();
+      } catch (RuntimeException e) {
+        log.error(system.coreSystem + " could not be stopped properly: " + e.getMessage());
+      }
+      embeddedSystems.remove(system);
+    }
+    DatabaseManager.closeSessionFactory();
+  }
+
   protected void init(CoreSystem coreSystem, String[] args, Set<Class<?>> classes, String[] packages) {
     System.out.println("Working directory: " + System.getProperty("user.dir"));
     packages = addSwaggerToPackages(packages);
@@ -119,10 +154,17 @@ public abstract class ArrowheadMain {
       Utility.setServiceRegistryUri(srBaseUri);
       useSRService(true);
     }
+    if (embedded) {
+      embeddedSystems.add(this);
+    }
   }
 
   protected void listenForInput() {
     log.info(coreSystem + " startup completed.");
+    if (embedded) {
+      //The host process handles the shutdown
+      return;
+    }
     if (daemon) {
       System.out.println("In daemon mode, process will terminate for TERM signal...");
       Runtime.getRuntime().addShutdownHook(new Thread(() -> {
@@ -148,13 +190,17 @@ public abstract class ArrowheadMain {
   private void startServer(Set<Class<?>> classes, String[] packages) {
     final ResourceConfig config = new ResourceConfig();
     config.registerClasses(classes);
+    config.register(CircuitBreakerApi.class);
+    config.register(CoreSystemDirectoryApi.class);
     config.packages(packages);
 
     URI uri = UriBuilder.fromUri(baseUri).build();
     try {
-      server = GrizzlyHttpServerFactory.createHttpServer(uri, config, false);
+      GrizzlyHttpContainer container = ContainerFactory.createContainer(GrizzlyHttpContainer.class, config);
+      server = GrizzlyHttpServerFactory.createHttpServer(uri, container, false, null, false);
       configureServer(server);
       server.start();
+      registerLocalApplication(uri, container);
       log.info("Started server at: " + baseUri);
       System.out.println("Started insecure server at: " + baseUri);
     } catch (IOException | ProcessingException e) {
@@ -166,6 +212,8 @@ public abstract class ArrowheadMain {
   protected void startSecureServer(Set<Class<?>> classes, String[] packages) {
     final ResourceConfig config = new ResourceConfig();
     config.registerClasses(classes);
+    config.register(CircuitBreakerApi.class);
+    config.register(CoreSystemDirectoryApi.class);
     config.packages(packages);
 
     String keystorePath = props.getProperty("keystore");
@@ -225,15 +273,29 @@ public abstract class ArrowheadMain {
     server.getServerConfiguration().setAllowPayloadForUndefinedHttpMethods(true);
   }
 
+  private void registerLocalApplication(URI uri, GrizzlyHttpContainer container) {
+    if (embedded && props.getBooleanProperty("in_process_calls", true)) {
+      LocalConnector.register(uri, container.getApplicationHandler());
+    }
+  }
+
   private void shutdown() {
-    useSRService(false);
+    stop();
     DatabaseManager.closeSessionFactory();
+    System.exit(0);
+  }
+
+  private void stop() {
+    //The Service Registry itself has no srBaseUri
+    if (srBaseUri != null) {
+      useSRService(false);
+    }
     if (server != null) {
       log.info("Stopping server at: " + baseUri);
+      LocalConnector.unregister(UriBuilder.fromUri(baseUri).build());
       server.shutdownNow();
     }
     System.out.println(coreSystem + " Server stopped");
-    System.exit(0);
   }
 
   private void useSRService(boolean registering) {
@@ -0,0 +1,267 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common;
+
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.exception.UnavailableServerException;
+import eu.arrowhead.common.messages.ServiceQueryForm;
+import eu.arrowhead.common.messages.ServiceQueryResult;
+import eu.arrowhead.common.misc.CoreSystemService;
+import eu.arrowhead.common.misc.Deadline;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriBuilder;
+import org.apache.log4j.Logger;
+
+/**
+ * Addresses of the core system services used by this core system. The services registered with {@link #require(CoreSystemService...)} are looked
+ * up together, with 1 bulk query to the Service Registry, and the results are cached for <tt>core_system_directory_ttl</tt> seconds. Services not
+ * found are looked up again every <tt>core_system_directory_retry</tt> seconds. The cache is also refreshed right away when a request to one of the
+ * cached addresses fails to connect (e.g. the core system was restarted on a different port), or when a refresh is requested through the
+ * <tt>mgmt/coresystems</tt> resource.
+ */
+public final class CoreSystemDirectory {
+
+  private static final Logger log = Logger.getLogger(CoreSystemDirectory.class.getName());
+  private static final TypeSafeProperties props = Utility.getClientProps();
+  private static final long TTL = TimeUnit.SECONDS.toMillis(props.getIntProperty("core_system_directory_ttl", 300));
+  private static final long RETRY_INTERVAL = TimeUnit.SECONDS.toMillis(props.getIntProperty("core_system_directory_retry", 15));
+  //Connection failures of several requests in a row should not flood the Service Registry with queries
+  private static final long MIN_REFRESH_INTERVAL = 1000L;
+  //Time a request waits for the lookup of a service not found (yet), in milliseconds
+  private static final long LOOKUP_WAIT = props.getIntProperty("core_system_directory_wait", 2000);
+
+  private static final Set<CoreSystemService> requiredServices = ConcurrentHashMap.newKeySet();
+  private static final Map<CoreSystemService, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "core-system-directory");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static volatile String bulkQueryUri;
+  private static volatile long lastRefresh;
+  private static ScheduledFuture<?> nextRefresh;
+  //Number of lookups started and finished, guarded by the class lock, see awaitLookup()
+  private static long lookupsStarted;
+  private static long lookupsFinished;
+
+  private CoreSystemDirectory() throws AssertionError {
+    throw new AssertionError("Arrowhead Common:CoreSystemDirectory is a non-instantiable class");
+  }
+
+  /**
+   * Address of a core system service, and the system providing it.
+   */
+  public static final class Endpoint {
+
+    private final String uri;
+    private final ArrowheadSystem provider;
+
+    Endpoint(String uri, ArrowheadSystem provider) {
+      this.uri = uri;
+      this.provider = provider;
+    }
+
+    public String getUri() {
+      return uri;
+    }
+
+    public ArrowheadSystem getProvider() {
+      return provider;
+    }
+
+    private boolean isHostOf(String requestUri) {
+      return URI.create(uri).getAuthority().equalsIgnoreCase(URI.create(requestUri).getAuthority());
+    }
+
+  }
+
+  static void setServiceRegistryUri(String uri) {
+    bulkQueryUri = UriBuilder.fromUri(uri).path("query").path("bulk").build().toString();
+  }
+
+  /**
+   * Adds the services to the directory, and starts looking them up in the background.
+   */
+  public static void require(CoreSystemService... services) {
+    Collections.addAll(requiredServices, services);
+    scheduleRefresh(0);
+  }
+
+  /**
+   * Returns the address of a service added to the directory. If the service has not been found yet, the service is looked up again (waiting at
+   * most <tt>core_system_directory_wait</tt> milliseconds), and an {@link UnavailableServerException} is thrown if it is still not found.
+   */
+  public static Endpoint get(CoreSystemService service) {
+    Endpoint endpoint = endpoints.get(service);
+    if (endpoint == null) {
+      if (!requiredServices.contains(service)) {
+        throw new AssertionError("The " + service.getServiceDef() + " service was not added to the CoreSystemDirectory.");
+      }
+      awaitLookup();
+      endpoint = endpoints.get(service);
+    }
+    if (endpoint == null) {
+      throw new UnavailableServerException(
+          "The address of the " + service.getServiceDef() + " core service is not known yet, it is not (or not yet) registered in the Service "
+              + "Registry. Retry your request later.", Status.SERVICE_UNAVAILABLE.getStatusCode());
+    }
+    return endpoint;
+  }
+
+  public static String getUri(CoreSystemService service) {
+    return get(service).getUri();
+  }
+
+  /**
+   * Returns the known addresses, by service definition.
+   */
+  public static Map<String, Endpoint> getEndpoints() {
+    Map<String, Endpoint> result = new TreeMap<>();
+    endpoints.forEach((service, endpoint) -> result.put(service.getServiceDef(), endpoint));
+    return result;
+  }
+
+  /* Requests a lookup, and waits until a lookup started after this call is finished, or the wait time (or the deadline of the request) is over */
+  private static void awaitLookup() {
+    long waitUntil = System.currentTimeMillis() + Math.min(LOOKUP_WAIT, Math.max(0, Deadline.remainingMillis()));
+    synchronized (CoreSystemDirectory.class) {
+      long awaited = lookupsStarted + 1;
+      refresh();
+      try {
+        long remaining;
+        while (lookupsFinished < awaited && (remaining = waitUntil - System.currentTimeMillis()) > 0) {
+          CoreSystemDirectory.class.wait(remaining);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Looks up all the services again, as soon as possible.
+   */
+  public static void refresh() {
+    scheduleRefresh(Math.max(0, lastRefresh + MIN_REFRESH_INTERVAL - System.currentTimeMillis()));
+  }
+
+  /**
+   * Called by <tt>Utility</tt> when a request could not reach its target: if the target is one of the cached addresses, the address may be
+   * outdated, so the services are looked up again.
+   */
+  static void reportConnectionFailure(String requestUri) {
+    try {
+      for (Endpoint endpoint : endpoints.values()) {
+        if (endpoint.isHostOf(requestUri)) {
+          log.info("Request to " + requestUri + " failed, refreshing the core system addresses");
+          refresh();
+          return;
+        }
+      }
+    } catch (IllegalArgumentException | NullPointerException e) {
+      log.debug("Not a valid URI: " + requestUri);
+    }
+  }
+
+  private static synchronized void scheduleRefresh(long delayMillis) {
+    if (nextRefresh != null && !nextRefresh.isDone()) {
+      if (nextRefresh.getDelay(TimeUnit.MILLISECONDS) <= delayMillis) {
+        return;
+      }
+      nextRefresh.cancel(false);
+    }
+    nextRefresh = scheduler.schedule(CoreSystemDirectory::lookUpServices, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private static void lookUpServices() {
+    long lookup;
+    synchronized (CoreSystemDirectory.class) {
+      nextRefresh = null;
+      lookup = ++lookupsStarted;
+    }
+    try {
+      queryServices();
+    } finally {
+      synchronized (CoreSystemDirectory.class) {
+        lookupsFinished = lookup;
+        CoreSystemDirectory.class.notifyAll();
+      }
+    }
+  }
+
+  private static void queryServices() {
+    List<CoreSystemService> services = new ArrayList<>(requiredServices);
+    if (services.isEmpty() || bulkQueryUri == null) {
+      return;
+    }
+    lastRefresh = System.currentTimeMillis();
+
+    //The Service Registry is secure if this core system is secure, and secure systems only use the secure versions of the services
+    boolean isSecure = bulkQueryUri.startsWith("https");
+    List<ServiceQueryForm> queryForms = new ArrayList<>();
+    for (CoreSystemService service : services) {
+      ArrowheadService queriedService = new ArrowheadService(Utility.createSD(service.getServiceDef(), isSecure), Collections.singleton("JSON"),
+                                                             isSecure ? ArrowheadMain.secureServerMetadata : null);
+      queryForms.add(new ServiceQueryForm(queriedService, true, false));
+    }
+
+    long nextDelay;
+    try {
+      Response response = Utility.sendRequest(bulkQueryUri, "PUT", queryForms);
+      List<ServiceQueryResult> results = response.readEntity(new GenericType<List<ServiceQueryResult>>() {
+      });
+      int found = 0;
+      for (int i = 0; i < services.size(); i++) {
+        ServiceQueryResult result = i < results.size() ? results.get(i) : null;
+        if (result != null && result.isValid()) {
+          updateEndpoint(services.get(i), result.getServiceQueryData().get(0));
+          found++;
+        } else if (endpoints.remove(services.get(i)) != null) {
+          log.info(services.get(i).getServiceDef() + " is not in the Service Registry anymore");
+        }
+      }
+      log.info("Core system addresses refreshed, " + found + " of " + services.size() + " services found");
+      nextDelay = found < services.size() ? RETRY_INTERVAL : TTL;
+    } catch (RuntimeException e) {
+      //The cached addresses are kept, and the lookup is rescheduled whatever went wrong
+      log.error("Could not look up the core system services in the Service Registry: " + e.getMessage());
+      nextDelay = RETRY_INTERVAL;
+    }
+    scheduleRefresh(nextDelay);
+  }
+
+  private static void updateEndpoint(CoreSystemService service, ServiceRegistryEntry entry) {
+    ArrowheadSystem provider = entry.getProvider();
+    boolean isSecure = entry.getProvidedService().getServiceMetadata().containsKey("security");
+    String uri = Utility.getUri(provider.getAddress(), provider.getPort(), entry.getServiceURI(), isSecure, false);
+    Endpoint previous = endpoints.put(service, new Endpoint(uri, provider));
+    if (previous == null || !previous.getUri().equals(uri)) {
+      log.info("Address of the " + service.getServiceDef() + " service: " + uri);
+      System.out.println("Core system URL acquired/updated: " + uri);
+    }
+  }
+
+}
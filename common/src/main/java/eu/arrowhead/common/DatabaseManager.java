@@ -7,23 +7,42 @@
 
 package eu.arrowhead.common;
 
+import eu.arrowhead.common.database.ArrowheadCloud;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.exception.ArrowheadException;
 import eu.arrowhead.common.exception.DuplicateEntryException;
+import eu.arrowhead.common.misc.BoundedCache;
+import eu.arrowhead.common.misc.BulkOperationResult;
 import eu.arrowhead.common.misc.TypeSafeProperties;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.ServiceConfigurationError;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.persistence.PersistenceException;
 import javax.ws.rs.core.Response.Status;
 import org.apache.log4j.Logger;
 import org.hibernate.Criteria;
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 import org.hibernate.exception.ConstraintViolationException;
 import org.hibernate.query.Query;
@@ -32,13 +51,41 @@ import org.hibernate.query.Query;
 public class DatabaseManager {
 
   private static volatile DatabaseManager instance;
-  private static SessionFactory sessionFactory;
+  private static volatile SessionFactory sessionFactory;
+  //Optional read replica, only used by the read-only sessions of inReadOnlySession()
+  private static volatile SessionFactory readSessionFactory;
   private static TypeSafeProperties prop = Utility.getProp();
   private static String dbAddress;
   private static String dbUser;
   private static String dbPassword;
   private static final Logger log = Logger.getLogger(DatabaseManager.class.getName());
 
+  /* Natural key (unique constraint) field names of the rarely changing reference entities. DatabaseManager.get() calls restricted on exactly
+     these fields are served from the lookup cache, which is invalidated by every save/merge/delete touching these entities. */
+  private static final Map<Class<?>, List<String>> naturalKeys = new HashMap<>();
+  private static final BoundedCache<List<Object>, Object> lookupCache;
+  //Session and pending cache invalidations of the unit of work running on the current thread, see inTransaction()
+  private static final ThreadLocal<Session> currentSession = new ThreadLocal<>();
+  private static final ThreadLocal<List<Object>> currentInvalidations = new ThreadLocal<>();
+  private static final ThreadLocal<Session> currentReadOnlySession = new ThreadLocal<>();
+  //Several core systems running in one process share one session factory, which has to map the entities of all of them
+  private static final String hibernateConfig = prop.getProperty("hibernate_config", "hibernate.cfg.xml");
+  private static final int batchSize = Math.max(1, prop.getIntProperty("db_batch_size", 50));
+  private static final int fetchSize = Math.max(1, prop.getIntProperty("db_fetch_size", 500));
+  //Invalidation marker of statements which can modify any number of cached entities
+  private static final Object ALL_ENTITIES = new Object();
+
+  static {
+    naturalKeys.put(ArrowheadSystem.class, Arrays.asList("systemName", "address", "port"));
+    naturalKeys.put(ArrowheadService.class, Collections.singletonList("serviceDefinition"));
+    naturalKeys.put(ArrowheadCloud.class, Arrays.asList("operator", "cloudName"));
+
+    //Other core systems can modify the same rows, so the TTL limits how long a stale entry can be served
+    int cacheSize = prop.getIntProperty("db_lookup_cache_size", 1000);
+    long cacheTtl = prop.getIntProperty("db_lookup_cache_ttl", 300) * 1000L;
+    lookupCache = cacheSize > 0 ? new BoundedCache<>(cacheSize, cacheTtl) : null;
+  }
+
   static {
     if (prop.containsKey("db_address") || prop.containsKey("log4j.appender.DB.URL")) {
       if (prop.containsKey("db_address")) {
@@ -52,13 +99,19 @@ public class DatabaseManager {
       }
 
       try {
-        Configuration configuration = new Configuration().configure("hibernate.cfg.xml").setProperty("hibernate.connection.url", dbAddress)
-                                                         .setProperty("hibernate.connection.username", dbUser)
-                                                         .setProperty("hibernate.connection.password", dbPassword);
-        sessionFactory = configuration.buildSessionFactory();
+        sessionFactory = buildSessionFactory();
       } catch (Exception e) {
         throw new ServiceConfigurationError("Database connection could not be established, check default.conf/app.conf files!", e);
       }
+
+      if (prop.containsKey("db_address") && prop.containsKey("db_read_address")) {
+        try {
+          readSessionFactory = buildReadSessionFactory(prop.getProperty("db_read_address"), prop.getProperty("db_read_user", dbUser),
+                                                       prop.getProperty("db_read_password", dbPassword));
+        } catch (Exception e) {
+          throw new ServiceConfigurationError("Read replica database connection could not be established, check the db_read_* config fields!", e);
+        }
+      }
     }
   }
 
@@ -78,208 +131,645 @@ public class DatabaseManager {
     return instance;
   }
 
-  private synchronized SessionFactory getSessionFactory() {
-    if (sessionFactory == null) {
-      Configuration configuration = new Configuration().configure("hibernate.cfg.xml").setProperty("hibernate.connection.url", dbAddress)
-                                                       .setProperty("hibernate.connection.username", dbUser)
-                                                       .setProperty("hibernate.connection.password", dbPassword);
-      sessionFactory = configuration.buildSessionFactory();
+  private SessionFactory getSessionFactory() {
+    //Double-checked locking, so the hot path does not have to acquire the monitor on every database call
+    SessionFactory factory = sessionFactory;
+    if (factory == null) {
+      synchronized (DatabaseManager.class) {
+        factory = sessionFactory;
+        if (factory == null) {
+          factory = buildSessionFactory();
+          sessionFactory = factory;
+        }
+      }
     }
-    return sessionFactory;
+    return factory;
+  }
+
+  private static SessionFactory buildSessionFactory() {
+    //Statement ordering lets Hibernate group the inserts/updates of the bulk operations into as few JDBC batches as possible
+    Configuration configuration = new Configuration().configure(hibernateConfig).setProperty("hibernate.connection.url", dbAddress)
+                                                     .setProperty("hibernate.connection.username", dbUser)
+                                                     .setProperty("hibernate.connection.password", dbPassword)
+                                                     .setProperty("hibernate.order_inserts", "true")
+                                                     .setProperty("hibernate.order_updates", "true")
+                                                     .setProperty("hibernate.jdbc.batch_versioned_data", "true");
+    return configuration.buildSessionFactory();
+  }
+
+  private static SessionFactory buildReadSessionFactory(String address, String user, String password) {
+    Configuration configuration = new Configuration().configure(hibernateConfig);
+    //The replica pool hands out read-only JDBC connections, and the schema is only managed through the primary database
+    String poolName = configuration.getProperty("hibernate.hikari.poolName");
+    configuration.setProperty("hibernate.connection.url", address).setProperty("hibernate.connection.username", user)
+                 .setProperty("hibernate.connection.password", password).setProperty("hibernate.hbm2ddl.auto", "none")
+                 .setProperty("hibernate.hikari.readOnly", "true")
+                 .setProperty("hibernate.hikari.poolName", (poolName != null ? poolName : "Arrowhead") + "-ReadReplica");
+    return configuration.buildSessionFactory();
   }
 
   public static synchronized void closeSessionFactory() {
     if (sessionFactory != null) {
       sessionFactory.close();
     }
+    if (readSessionFactory != null) {
+      readSessionFactory.close();
+    }
     instance = null;
   }
 
-  public <T> Optional<T> get(Class<T> queryClass, long id) {
-    T object;
-    Transaction transaction = null;
+  /**
+   * Runs the given work as a single unit of work: every <tt>DatabaseManager</tt> call made by the work (on the calling thread) shares the same
+   * Hibernate session and transaction, which is committed when the work returns, and rolled back if it throws an exception. Calling this method
+   * inside another unit of work simply joins the outer one.
+   * <p>
+   * Entities returned by <tt>get</tt> and <tt>getAll</tt> inside the work are managed by the shared session (the lookup cache is not used inside
+   * the work), so their modifications are flushed to the database at commit, even without an explicit <tt>merge</tt>.
+   */
+  public <T> T inTransaction(Supplier<T> work) {
+    if (currentSession.get() != null) {
+      return work.get();
+    }
+    if (currentReadOnlySession.get() != null) {
+      throw new ArrowheadException("A unit of work can not be started inside a read-only session!", Status.INTERNAL_SERVER_ERROR.getStatusCode());
+    }
 
+    T result;
+    List<Object> pendingInvalidations = new ArrayList<>();
     try (Session session = getSessionFactory().openSession()) {
-      transaction = session.beginTransaction();
-      object = session.get(queryClass, id);
-      transaction.commit();
-    } catch (Exception e) {
-      if (transaction != null) {
-        transaction.rollback();
+      currentSession.set(session);
+      currentInvalidations.set(pendingInvalidations);
+      Transaction transaction = session.beginTransaction();
+      try {
+        result = work.get();
+        transaction.commit();
+      } catch (RuntimeException e) {
+        rollback(transaction);
+        throw e;
+      }
+    } catch (PersistenceException e) {
+      if (isConstraintViolation(e)) {
+        log.error("DatabaseManager:inTransaction throws DuplicateEntryException", e);
+        throw new DuplicateEntryException(
+            "The operation violates a unique constraint or a reference between the database tables. Please check the unique fields of the entries.",
+            Status.BAD_REQUEST.getStatusCode(), e);
       }
       throw e;
+    } finally {
+      currentSession.remove();
+      currentInvalidations.remove();
     }
 
-    return Optional.ofNullable(object);
+    //Lookup cache entries are only evicted after the commit, so concurrent readers can not put back the old state in the meantime
+    for (Object object : pendingInvalidations) {
+      invalidateLookupCache(object);
+    }
+    return result;
   }
 
-  @SuppressWarnings("unchecked")
-  public <T> T get(Class<T> queryClass, Map<String, Object> restrictionMap) {
-    T object;
-    Transaction transaction = null;
+  public void inTransaction(Runnable work) {
+    inTransaction(() -> {
+      work.run();
+      return null;
+    });
+  }
 
-    try (Session session = getSessionFactory().openSession()) {
-      transaction = session.beginTransaction();
-      //NOTE session.createCriteria will be removed in Hibernate 6
-      //noinspection deprecation
-      Criteria criteria = session.createCriteria(queryClass);
-      if (restrictionMap != null && !restrictionMap.isEmpty()) {
-        for (Entry<String, Object> entry : restrictionMap.entrySet()) {
-          criteria.add(Restrictions.eq(entry.getKey(), entry.getValue()));
-        }
-      }
-      object = (T) criteria.uniqueResult();
-      transaction.commit();
+  /**
+   * Runs the given work in a single read-only session: loaded entities are not tracked for dirty checking (no snapshots are kept), the session is
+   * never flushed, and the queries run without an explicit transaction. If a read replica is configured (<tt>db_read_address</tt>), the session
+   * is opened on it, so the results can lag slightly behind the primary database. Write operations inside the work throw an exception. Inside a
+   * unit of work or another read-only session, the work simply joins the already bound session.
+   */
+  public <T> T inReadOnlySession(Supplier<T> work) {
+    if (currentSession.get() != null || currentReadOnlySession.get() != null) {
+      return work.get();
+    }
+
+    SessionFactory factory = readSessionFactory != null ? readSessionFactory : getSessionFactory();
+    try (Session session = openReadOnlySession(factory)) {
+      currentReadOnlySession.set(session);
+      return work.get();
+    } finally {
+      currentReadOnlySession.remove();
+    }
+  }
+
+  private static Session openReadOnlySession(SessionFactory factory) {
+    Session session = factory.openSession();
+    session.setDefaultReadOnly(true);
+    session.setHibernateFlushMode(FlushMode.MANUAL);
+    return session;
+  }
+
+  /* Reads outside of a unit of work use a short-lived read-only session on the primary database, without beginning and committing a read-write
+     transaction. The replica is only used inside inReadOnlySession(), where the caller explicitly accepted the replication lag. */
+  private <R> R executeRead(String operationName, Function<Session, R> operation) {
+    Session boundSession = currentSession.get();
+    if (boundSession == null) {
+      boundSession = currentReadOnlySession.get();
+    }
+    if (boundSession != null) {
+      return operation.apply(boundSession);
+    }
+
+    try (Session session = openReadOnlySession(getSessionFactory())) {
+      return operation.apply(session);
     } catch (Exception e) {
-      log.error("get throws exception: " + e.getMessage(), e);
-      if (transaction != null) {
-        transaction.rollback();
-      }
+      log.error(operationName + " throws exception: " + e.getMessage(), e);
       throw e;
     }
+  }
 
-    return object;
+  //Hibernate wraps the constraint violations into a PersistenceException when the transaction is committed
+  private static boolean isConstraintViolation(Throwable e) {
+    while (e != null) {
+      if (e instanceof ConstraintViolationException) {
+        return true;
+      }
+      e = e.getCause();
+    }
+    return false;
   }
 
-  @SuppressWarnings("unchecked")
-  public <T> List<T> getAll(Class<T> queryClass, Map<String, Object> restrictionMap) {
-    List<T> retrievedList;
-    Transaction transaction = null;
+  /* Runs the operation in the session of the current unit of work if there is one, or in a new session and transaction otherwise. */
+  private <R> R execute(String operationName, Function<Session, R> operation) {
+    Session boundSession = currentSession.get();
+    if (boundSession != null) {
+      return operation.apply(boundSession);
+    }
+    checkNotReadOnly(operationName);
 
+    R result;
     try (Session session = getSessionFactory().openSession()) {
-      transaction = session.beginTransaction();
-      //NOTE session.createCriteria will be removed in Hibernate 6
-      //noinspection deprecation
-      Criteria criteria = session.createCriteria(queryClass);
-      if (restrictionMap != null && !restrictionMap.isEmpty()) {
-        for (Entry<String, Object> entry : restrictionMap.entrySet()) {
-          criteria.add(Restrictions.eq(entry.getKey(), entry.getValue()));
-        }
+      Transaction transaction = session.beginTransaction();
+      try {
+        result = operation.apply(session);
+        transaction.commit();
+      } catch (RuntimeException e) {
+        rollback(transaction);
+        throw e;
       }
-      retrievedList = (List<T>) criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list();
-      transaction.commit();
     } catch (Exception e) {
-      log.error("getAll throws exception: " + e.getMessage(), e);
-      if (transaction != null) {
-        transaction.rollback();
-      }
+      log.error(operationName + " throws exception: " + e.getMessage(), e);
       throw e;
     }
+    return result;
+  }
+
+  /* The rollback has to happen before the session is closed. A failed commit might have already rolled back the transaction, and a failing
+     rollback must not hide the original exception. */
+  private static void rollback(Transaction transaction) {
+    if (!transaction.getStatus().canRollback()) {
+      return;
+    }
+    try {
+      transaction.rollback();
+    } catch (RuntimeException e) {
+      log.warn("DatabaseManager: transaction rollback failed: " + e.getMessage());
+    }
+  }
+
+  public <T> Optional<T> get(Class<T> queryClass, long id) {
+    return Optional.ofNullable(executeRead("get", session -> session.get(queryClass, id)));
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(Class<T> queryClass, Map<String, Object> restrictionMap) {
+    List<Object> cacheKey = getLookupCacheKey(queryClass, restrictionMap);
+    if (currentSession.get() != null) {
+      /* Inside a unit of work the returned entities have to be managed by the bound session (the cached copies are detached, so their
+         modifications would be lost), and the entities modified by the work are not evicted from the cache until the commit anyway */
+      cacheKey = null;
+    }
+    if (cacheKey != null) {
+      Object cached = lookupCache.get(cacheKey);
+      if (cached != null) {
+        return (T) copyReferenceEntity(cached);
+      }
+    }
+
+    T object = executeRead("get", session -> (T) createCriteria(session, queryClass, restrictionMap, false).uniqueResult());
+
+    //Rows read from the replica can lag behind the primary database, so they are not shared with the primary reads through the cache
+    boolean fromReplica = currentSession.get() == null && currentReadOnlySession.get() != null && readSessionFactory != null;
+    if (cacheKey != null && object != null && !fromReplica) {
+      lookupCache.put(cacheKey, copyReferenceEntity(object));
+    }
+    return object;
+  }
 
-    return retrievedList;
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getAll(Class<T> queryClass, Map<String, Object> restrictionMap) {
+    return executeRead("getAll", session -> (List<T>) createCriteria(session, queryClass, restrictionMap, false)
+        .setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list());
   }
 
   @SuppressWarnings("unchecked")
   public <T> List<T> getAllOfEither(Class<T> queryClass, Map<String, Object> restrictionMap) {
-    List<T> retrievedList;
-    Transaction transaction = null;
+    return executeRead("getAllOfEither", session -> (List<T>) createCriteria(session, queryClass, restrictionMap, true)
+        .setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list());
+  }
 
-    try (Session session = getSessionFactory().openSession()) {
-      transaction = session.beginTransaction();
-      //NOTE session.createCriteria will be removed in Hibernate 6
-      //noinspection deprecation
-      Criteria criteria = session.createCriteria(queryClass);
-      if (restrictionMap != null && !restrictionMap.isEmpty()) {
+  /**
+   * Passes every entity matching the restrictions to the given action, without loading the whole table into memory at once. The entities are read
+   * in pages of <tt>db_fetch_size</tt> rows (in the order of their ids), and the session is cleared after each page, so the entities given to the
+   * action are only managed until the next page is read. Inside a unit of work or a read-only session, the bound session is used, and it is not
+   * cleared.
+   *
+   * @return the number of entities passed to the action
+   */
+  @SuppressWarnings("unchecked")
+  public <T> long forEach(Class<T> queryClass, Map<String, Object> restrictionMap, Consumer<T> action) {
+    boolean ownSession = currentSession.get() == null && currentReadOnlySession.get() == null;
+    return executeRead("forEach", session -> {
+      long count = 0;
+      Long lastId = null;
+      while (true) {
+        /* Keyset pagination over the ids, because the eager collection joins duplicate the rows of an entity (so the page size can not be applied
+           to the entity query), and the MySQL driver would buffer a scrolled result set in memory anyway */
+        Criteria idCriteria = createCriteria(session, queryClass, restrictionMap, false).setProjection(Projections.distinct(Projections.id()))
+                                                                                      .addOrder(Order.asc("id")).setMaxResults(fetchSize);
+        if (lastId != null) {
+          idCriteria.add(Restrictions.gt("id", lastId));
+        }
+        List<Long> ids = idCriteria.list();
+        if (ids.isEmpty()) {
+          break;
+        }
+
+        List<T> page = createCriteria(session, queryClass, null, false).add(Restrictions.in("id", ids)).addOrder(Order.asc("id"))
+                                                                        .setFetchSize(fetchSize).setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY)
+                                                                        .list();
+        for (T object : page) {
+          action.accept(object);
+          count++;
+        }
+        if (ownSession) {
+          session.clear();
+        }
+        if (ids.size() < fetchSize) {
+          break;
+        }
+        lastId = ids.get(ids.size() - 1);
+      }
+      return count;
+    });
+  }
+
+  private Criteria createCriteria(Session session, Class<?> queryClass, Map<String, Object> restrictionMap, boolean disjunctive) {
+    //NOTE session.createCriteria will be removed in Hibernate 6
+    //noinspection deprecation
+    Criteria criteria = session.createCriteria(queryClass);
+    if (restrictionMap != null && !restrictionMap.isEmpty()) {
+      if (disjunctive) {
         Disjunction disjunction = Restrictions.disjunction();
         for (Entry<String, Object> entry : restrictionMap.entrySet()) {
           disjunction.add(Restrictions.eq(entry.getKey(), entry.getValue()));
         }
         criteria.add(disjunction);
+      } else {
+        for (Entry<String, Object> entry : restrictionMap.entrySet()) {
+          criteria.add(Restrictions.eq(entry.getKey(), entry.getValue()));
+        }
       }
-      retrievedList = (List<T>) criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list();
-      transaction.commit();
-    } catch (Exception e) {
-      if (transaction != null) {
-        transaction.rollback();
-      }
-      throw e;
     }
-
-    return retrievedList;
+    return criteria;
   }
 
-
   public <T> T save(T object) {
-    Transaction transaction = null;
-
-    try (Session session = getSessionFactory().openSession()) {
-      transaction = session.beginTransaction();
-      session.save(object);
-      transaction.commit();
+    try {
+      execute("save", session -> session.save(object));
     } catch (PersistenceException e) {
-      if (transaction != null) {
-        transaction.rollback();
-      }
       log.error("DatabaseManager:save throws DuplicateEntryException", e);
       throw new DuplicateEntryException(
           "There is already an entry in the database with these parameters. Please check the unique fields of the " + object.getClass(),
           Status.BAD_REQUEST.getStatusCode(), e);
-    } catch (Exception e) {
-      if (transaction != null) {
-        transaction.rollback();
-      }
-      throw e;
     }
 
+    scheduleInvalidation(object);
     return object;
   }
 
-
   public <T> T merge(T object) {
-    Transaction transaction = null;
-
-    try (Session session = getSessionFactory().openSession()) {
-      transaction = session.beginTransaction();
-      session.merge(object);
-      transaction.commit();
+    try {
+      execute("merge", session -> session.merge(object));
     } catch (PersistenceException e) {
-      if (transaction != null) {
-        transaction.rollback();
-      }
       log.error("DatabaseManager:merge throws DuplicateEntryException", e);
       throw new DuplicateEntryException(
           "There is already an entry in the database with these parameters. Please check the unique fields of the " + object.getClass(),
           Status.BAD_REQUEST.getStatusCode(), e);
-    } catch (Exception e) {
-      if (transaction != null) {
-        transaction.rollback();
-      }
-      throw e;
     }
 
+    scheduleInvalidation(object);
     return object;
   }
 
   public <T> void delete(T object) {
-    Transaction transaction = null;
-
-    try (Session session = getSessionFactory().openSession()) {
-      transaction = session.beginTransaction();
-      session.delete(object);
-      transaction.commit();
-    } catch (ConstraintViolationException e) {
-      if (transaction != null) {
-        transaction.rollback();
+    try {
+      execute("delete", session -> {
+        session.delete(object);
+        return null;
+      });
+    } catch (PersistenceException e) {
+      if (!isConstraintViolation(e)) {
+        throw e;
       }
       log.error("DatabaseManager:delete throws ConstraintViolationException");
       throw new ArrowheadException(
           "There is a reference to this object in another table, which prevents the delete operation. (" + object.getClass() + ")",
           Status.BAD_REQUEST.getStatusCode(), e);
-    } catch (Exception e) {
-      if (transaction != null) {
-        transaction.rollback();
+    }
+
+    scheduleInvalidation(object);
+  }
+
+  /**
+   * Saves every object of the collection in a single transaction, sending the inserts to the database in JDBC batches. If the batch fails (for
+   * example because of a unique constraint violation), it is rolled back, and the objects are saved one by one to find out which ones are at fault.
+   * Inside a unit of work (see {@link #inTransaction(Supplier)}) there is no such fallback: the exception rolls back the whole unit of work.
+   */
+  public <T> BulkOperationResult<T> saveAll(Collection<T> objects) {
+    return executeBulk(objects, "saveAll", Session::save, this::save);
+  }
+
+  /**
+   * Merges every object of the collection in a single transaction, using JDBC batching. Falls back to item by item merging if the batch fails.
+   */
+  public <T> BulkOperationResult<T> mergeAll(Collection<T> objects) {
+    return executeBulk(objects, "mergeAll", Session::merge, this::merge);
+  }
+
+  /**
+   * Deletes every object of the collection in a single transaction, using JDBC batching. Falls back to item by item deletion if the batch fails.
+   */
+  public <T> BulkOperationResult<T> deleteAll(Collection<T> objects) {
+    return executeBulk(objects, "deleteAll", Session::delete, object -> {
+      delete(object);
+      return object;
+    });
+  }
+
+  private <T> BulkOperationResult<T> executeBulk(Collection<T> objects, String operationName, BiConsumer<Session, T> batchOperation,
+                                                 Function<T, T> singleOperation) {
+    BulkOperationResult<T> result = new BulkOperationResult<>();
+    if (objects == null || objects.isEmpty()) {
+      return result;
+    }
+
+    checkNotReadOnly(operationName);
+    Session boundSession = currentSession.get();
+    if (boundSession != null) {
+      //The session of the unit of work can not be cleared, the caller might still use the entities managed by it
+      Integer originalBatchSize = boundSession.getJdbcBatchSize();
+      boundSession.setJdbcBatchSize(batchSize);
+      try {
+        for (T object : objects) {
+          batchOperation.accept(boundSession, object);
+          scheduleInvalidation(object);
+          result.addSuccess(object);
+        }
+        boundSession.flush();
+      } finally {
+        boundSession.setJdbcBatchSize(originalBatchSize);
       }
-      throw e;
+      return result;
     }
+
+    try (Session session = getSessionFactory().openSession()) {
+      session.setJdbcBatchSize(batchSize);
+      Transaction transaction = session.beginTransaction();
+      try {
+        int count = 0;
+        for (T object : objects) {
+          batchOperation.accept(session, object);
+          if (++count % batchSize == 0) {
+            //Send the current batch to the database and free up the first level cache
+            session.flush();
+            session.clear();
+          }
+        }
+        transaction.commit();
+      } catch (RuntimeException e) {
+        rollback(transaction);
+        throw e;
+      }
+      for (T object : objects) {
+        invalidateLookupCache(object);
+        result.addSuccess(object);
+      }
+      return result;
+    } catch (RuntimeException e) {
+      log.warn("DatabaseManager:" + operationName + " batch of " + objects.size() + " items failed, retrying them one by one. Cause: " + e
+          .getMessage());
+    }
+
+    int index = 0;
+    for (T object : objects) {
+      try {
+        result.addSuccess(singleOperation.apply(object));
+      } catch (ArrowheadException e) {
+        result.addFailure(index, object, e);
+      } catch (RuntimeException e) {
+        result.addFailure(index, object, new ArrowheadException(operationName + " failed for " + object + ": " + e.getMessage(),
+                                                                Status.INTERNAL_SERVER_ERROR.getStatusCode(), e));
+      }
+      index++;
+    }
+    if (result.hasFailures()) {
+      log.error("DatabaseManager:" + operationName + " finished with failures: " + result.getFailures());
+    }
+    return result;
+  }
+
+  /**
+   * Returns the smallest value of the property among the entities matching the restrictions (null values are ignored), or null if there is no
+   * such value. Backed by an index on the column, this is a cheap way to find the next item of a time based queue kept in the database.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V getMin(Class<?> queryClass, String property, Map<String, Object> restrictionMap) {
+    return executeRead("getMin", session -> (V) createCriteria(session, queryClass, restrictionMap, false).setProjection(Projections.min(property))
+                                                                                                        .uniqueResult());
+  }
+
+  /**
+   * Executes a bulk HQL update or delete statement with the given named parameters, and returns the number of affected rows. The statement runs
+   * directly in the database: there is no cascading, and the collection tables of the affected entities are not updated.
+   */
+  public int executeUpdate(String hql, Map<String, Object> parameters) {
+    return executeStatement("executeUpdate", session -> session.createQuery(hql), parameters);
+  }
+
+  /**
+   * Executes a native SQL update or delete statement with the given named parameters, and returns the number of affected rows.
+   */
+  public int executeNativeUpdate(String sql, Map<String, Object> parameters) {
+    return executeStatement("executeNativeUpdate", session -> session.createNativeQuery(sql), parameters);
+  }
+
+  private int executeStatement(String operationName, Function<Session, Query<?>> queryFactory, Map<String, Object> parameters) {
+    int affectedRows = execute(operationName, session -> {
+      Query<?> query = queryFactory.apply(session);
+      if (parameters != null) {
+        for (Entry<String, Object> entry : parameters.entrySet()) {
+          query.setParameter(entry.getKey(), entry.getValue());
+        }
+      }
+      return query.executeUpdate();
+    });
+
+    if (affectedRows > 0) {
+      scheduleInvalidation(ALL_ENTITIES);
+    }
+    return affectedRows;
   }
 
   // NOTE this only works well on tables which dont have any connection to any other tables (HQL does not do cascading)
   @SuppressWarnings("unused")
   public void deleteAll(String tableName) {
+    checkNotReadOnly("deleteAll");
     Session session = getSessionFactory().openSession();
     String stringQuery = "DELETE * FROM " + tableName;
     Query query = session.createQuery(stringQuery);
     query.executeUpdate();
+    if (lookupCache != null) {
+      lookupCache.clear();
+    }
+  }
+
+  public long getLookupCacheHits() {
+    return lookupCache != null ? lookupCache.getHits() : 0;
+  }
+
+  public long getLookupCacheMisses() {
+    return lookupCache != null ? lookupCache.getMisses() : 0;
+  }
+
+  private static List<Object> getLookupCacheKey(Class<?> queryClass, Map<String, Object> restrictionMap) {
+    List<String> keyFields = naturalKeys.get(queryClass);
+    if (lookupCache == null || keyFields == null || restrictionMap == null || restrictionMap.size() != keyFields.size()
+        || !restrictionMap.keySet().containsAll(keyFields)) {
+      return null;
+    }
+    List<Object> key = new ArrayList<>(keyFields.size() + 1);
+    key.add(queryClass);
+    for (String field : keyFields) {
+      key.add(restrictionMap.get(field));
+    }
+    return key;
+  }
+
+  private static List<Object> getLookupCacheKey(Object entity) {
+    if (entity instanceof ArrowheadSystem) {
+      ArrowheadSystem system = (ArrowheadSystem) entity;
+      return Arrays.asList(ArrowheadSystem.class, system.getSystemName(), system.getAddress(), system.getPort());
+    } else if (entity instanceof ArrowheadService) {
+      return Arrays.asList(ArrowheadService.class, ((ArrowheadService) entity).getServiceDefinition());
+    } else if (entity instanceof ArrowheadCloud) {
+      ArrowheadCloud cloud = (ArrowheadCloud) entity;
+      return Arrays.asList(ArrowheadCloud.class, cloud.getOperator(), cloud.getCloudName());
+    }
+    return null;
+  }
+
+  private static Long getReferenceEntityId(Object entity) {
+    if (entity instanceof ArrowheadSystem) {
+      return ((ArrowheadSystem) entity).getId();
+    } else if (entity instanceof ArrowheadService) {
+      return ((ArrowheadService) entity).getId();
+    } else if (entity instanceof ArrowheadCloud) {
+      return ((ArrowheadCloud) entity).getId();
+    }
+    return null;
+  }
+
+  /* Cached entities are never handed out directly, because callers routinely modify the returned entities before merging them. */
+  private static Object copyReferenceEntity(Object entity) {
+    if (entity instanceof ArrowheadSystem) {
+      ArrowheadSystem copy = new ArrowheadSystem((ArrowheadSystem) entity);
+      copy.setId(((ArrowheadSystem) entity).getId());
+      return copy;
+    } else if (entity instanceof ArrowheadService) {
+      ArrowheadService service = (ArrowheadService) entity;
+      ArrowheadService copy = new ArrowheadService(service.getServiceDefinition(),
+                                                   service.getInterfaces() == null ? null : new HashSet<>(service.getInterfaces()),
+                                                   service.getServiceMetadata() == null ? null : new HashMap<>(service.getServiceMetadata()));
+      copy.setId(service.getId());
+      return copy;
+    } else if (entity instanceof ArrowheadCloud) {
+      ArrowheadCloud cloud = (ArrowheadCloud) entity;
+      ArrowheadCloud copy = new ArrowheadCloud(cloud.getOperator(), cloud.getCloudName(), cloud.getAddress(), cloud.getPort(),
+                                               cloud.getGatekeeperServiceURI(), cloud.getAuthenticationInfo(), cloud.isSecure());
+      copy.setId(cloud.getId());
+      return copy;
+    }
+    return entity;
+  }
+
+  private static void checkNotReadOnly(String operationName) {
+    if (currentSession.get() == null && currentReadOnlySession.get() != null) {
+      throw new ArrowheadException("DatabaseManager:" + operationName + " was called inside a read-only session!",
+                                   Status.INTERNAL_SERVER_ERROR.getStatusCode());
+    }
+  }
+
+  private static void scheduleInvalidation(Object object) {
+    List<Object> pendingInvalidations = currentInvalidations.get();
+    if (pendingInvalidations != null) {
+      pendingInvalidations.add(object);
+    } else {
+      invalidateLookupCache(object);
+    }
+  }
+
+  /* Evicts the given entity from the lookup cache, together with the reference entities it points to, since the ManyToOne relations cascade
+     PERSIST and MERGE operations to them. Entries are matched both by natural key and by ID, because a merge can change the natural key. */
+  private static void invalidateLookupCache(Object object) {
+    if (lookupCache == null || object == null) {
+      return;
+    }
+    if (object == ALL_ENTITIES) {
+      lookupCache.clear();
+      return;
+    }
+
+    List<Object> affected = new ArrayList<>();
+    if (getLookupCacheKey(object) != null) {
+      affected.add(object);
+    } else {
+      Class<?> clazz = object.getClass();
+      while (clazz != null && clazz != Object.class) {
+        for (Field field : clazz.getDeclaredFields()) {
+          if (!naturalKeys.containsKey(field.getType()) && !Collection.class.isAssignableFrom(field.getType())) {
+            continue;
+          }
+          try {
+            field.setAccessible(true);
+            Object value = field.get(object);
+            if (value instanceof Collection) {
+              for (Object element : (Collection<?>) value) {
+                if (getLookupCacheKey(element) != null) {
+                  affected.add(element);
+                }
+              }
+            } else if (value != null) {
+              affected.add(value);
+            }
+          } catch (IllegalAccessException | RuntimeException e) {
+            //Can not inspect the field safely, so every cached entry has to go
+            lookupCache.clear();
+            return;
+          }
+        }
+        clazz = clazz.getSuperclass();
+      }
+    }
+
+    for (Object entity : affected) {
+      List<Object> key = getLookupCacheKey(entity);
+      Long id = getReferenceEntityId(entity);
+      lookupCache.removeIf((cachedKey, cachedValue) -> cachedKey.equals(key) || (id != null && cachedKey.get(0).equals(key.get(0)) && id
+          .equals(getReferenceEntityId(cachedValue))));
+    }
   }
 
 }
@@ -0,0 +1,212 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.SecurityContext;
+import org.apache.log4j.Logger;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+
+/**
+ * Jersey client connector for the core systems running in the same JVM (see {@link ArrowheadMain#setEmbedded(boolean)}). Requests to the web-server
+ * of such a core system are handed to its Jersey application directly, so they go through the same filters and resources as a HTTP request would,
+ * but without opening a connection. Only insecure web-servers are served this way, the access control of the secure ones needs the certificate of
+ * the client. The requests are processed on a separate thread, because the request filters of the target
+ * set thread local state (e.g. the {@link eu.arrowhead.common.misc.Deadline}) which must not overwrite the state of the calling thread.
+ * <p>
+ * The request and response entities are still serialized (in the format negotiated by the client, Smile by default), not passed as objects. The
+ * resources return shared objects (e.g. the entries of the Orchestration Store index, cached orchestration responses and lookup cache entities),
+ * and the callers modify the objects they receive, so passing the objects would let the two core systems change each other's state. The filters
+ * and the bean validation of the target also work on the serialized request, exactly like for HTTP requests.
+ * <p>
+ * At most <tt>in_process_threads</tt> requests (200 by default, the same as <tt>http_max_connections</tt>) are processed at the same time, the
+ * requests over this limit fail right away, like the HTTP requests waiting for a pooled connection would.
+ */
+final class LocalConnector implements Connector {
+
+  private static final Logger log = Logger.getLogger(LocalConnector.class.getName());
+  //Web-servers of this JVM by port number
+  private static final Map<Integer, ApplicationHandler> applications = new ConcurrentHashMap<>();
+  private static final Map<String, Boolean> localHosts = new ConcurrentHashMap<>();
+  private static final AtomicInteger threadCount = new AtomicInteger();
+  private static final int MAX_THREADS = Math.max(1, Utility.getClientProps().getIntProperty("in_process_threads", 200));
+  /* No queue: a queued request could wait for a request it is nested into (e.g. Orchestrator -> Authorization), so the requests over the limit are
+     rejected instead */
+  private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+    Thread thread = new Thread(runnable, "local-request-" + threadCount.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static final SecurityContext ANONYMOUS = new SecurityContext() {
+    @Override
+    public Principal getUserPrincipal() {
+      return null;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+      return false;
+    }
+
+    @Override
+    public boolean isSecure() {
+      return false;
+    }
+
+    @Override
+    public String getAuthenticationScheme() {
+      return null;
+    }
+  };
+
+  static final ConnectorProvider PROVIDER = new ConnectorProvider() {
+    @Override
+    public Connector getConnector(Client client, Configuration runtimeConfig) {
+      return new LocalConnector();
+    }
+  };
+
+  private LocalConnector() {
+  }
+
+  static void register(URI baseUri, ApplicationHandler application) {
+    applications.put(baseUri.getPort(), application);
+    log.info("Requests to port " + baseUri.getPort() + " are served in-process");
+  }
+
+  static void unregister(URI baseUri) {
+    applications.remove(baseUri.getPort());
+  }
+
+  /**
+   * Returns true if the URI points to an (insecure) web-server running in this JVM.
+   */
+  static boolean isLocal(URI uri) {
+    return !applications.isEmpty() && "http".equals(uri.getScheme()) && applications.containsKey(uri.getPort()) && uri.getHost() != null && localHosts
+        .computeIfAbsent(uri.getHost(), LocalConnector::isLocalAddress);
+  }
+
+  private static boolean isLocalAddress(String host) {
+    try {
+      InetAddress address = InetAddress.getByName(host);
+      return address.isAnyLocalAddress() || address.isLoopbackAddress() || NetworkInterface.getByInetAddress(address) != null;
+    } catch (UnknownHostException | SocketException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public ClientResponse apply(ClientRequest request) {
+    URI requestUri = request.getUri();
+    ApplicationHandler application = applications.get(requestUri.getPort());
+    if (application == null) {
+      throw new ProcessingException("No web-server is running on port " + requestUri.getPort() + " in this JVM anymore");
+    }
+
+    ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+    if (request.hasEntity()) {
+      request.setStreamProvider(contentLength -> requestBody);
+      try {
+        request.writeEntity();
+      } catch (IOException e) {
+        throw new ProcessingException("Could not serialize the request payload", e);
+      }
+    }
+
+    URI baseUri = URI.create(requestUri.getScheme() + "://" + requestUri.getRawAuthority() + "/");
+    ContainerRequest containerRequest = new ContainerRequest(baseUri, requestUri, request.getMethod(), ANONYMOUS, new MapPropertiesDelegate());
+    for (Map.Entry<String, List<String>> header : request.getStringHeaders().entrySet()) {
+      containerRequest.headers(header.getKey(), header.getValue());
+    }
+    containerRequest.setEntityStream(new ByteArrayInputStream(requestBody.toByteArray()));
+
+    ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+    Future<ContainerResponse> responseFuture;
+    try {
+      responseFuture = executor.submit(() -> application.apply(containerRequest, responseBody).get());
+    } catch (RejectedExecutionException e) {
+      throw new ProcessingException("All the " + MAX_THREADS + " in-process request threads are busy", e);
+    }
+    ContainerResponse containerResponse;
+    try {
+      int timeout = request.resolveProperty(ClientProperties.READ_TIMEOUT, 0);
+      containerResponse = timeout > 0 ? responseFuture.get(timeout, TimeUnit.MILLISECONDS) : responseFuture.get();
+    } catch (TimeoutException e) {
+      responseFuture.cancel(true);
+      throw new ProcessingException("Read timed out", new SocketTimeoutException("Read timed out"));
+    } catch (ExecutionException e) {
+      throw new ProcessingException(e.getCause().getMessage(), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      responseFuture.cancel(true);
+      throw new ProcessingException("Interrupted while waiting for the response", e);
+    }
+
+    ClientResponse response = new ClientResponse(containerResponse.getStatusInfo(), request);
+    for (Map.Entry<String, List<String>> header : containerResponse.getStringHeaders().entrySet()) {
+      response.getHeaders().addAll(header.getKey(), header.getValue());
+    }
+    response.setEntityStream(new ByteArrayInputStream(responseBody.toByteArray()));
+    return response;
+  }
+
+  @Override
+  public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+    //Called on the async thread pool of the client, like the Apache connector, the request is processed synchronously
+    try {
+      callback.response(apply(request));
+    } catch (ProcessingException e) {
+      callback.failure(e);
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public String getName() {
+    return "Arrowhead in-process connector";
+  }
+
+  @Override
+  public void close() {
+  }
+
+}
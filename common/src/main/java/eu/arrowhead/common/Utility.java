@@ -7,13 +7,12 @@
 
 package eu.arrowhead.common;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.jaxrs.smile.SmileMediaTypes;
 import eu.arrowhead.common.database.ArrowheadCloud;
-import eu.arrowhead.common.database.ArrowheadService;
-import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.database.NeighborCloud;
 import eu.arrowhead.common.database.OwnCloud;
-import eu.arrowhead.common.database.ServiceRegistryEntry;
 import eu.arrowhead.common.exception.ArrowheadException;
 import eu.arrowhead.common.exception.AuthException;
 import eu.arrowhead.common.exception.BadPayloadException;
@@ -23,9 +22,11 @@ import eu.arrowhead.common.exception.DuplicateEntryException;
 import eu.arrowhead.common.exception.ErrorMessage;
 import eu.arrowhead.common.exception.UnavailableServerException;
 import eu.arrowhead.common.json.JacksonJsonProviderAtRest;
-import eu.arrowhead.common.messages.ServiceQueryForm;
-import eu.arrowhead.common.messages.ServiceQueryResult;
-import eu.arrowhead.common.misc.CoreSystemService;
+import eu.arrowhead.common.json.JacksonSmileProviderAtRest;
+import eu.arrowhead.common.messages.CircuitBreakerStatus;
+import eu.arrowhead.common.misc.CircuitBreaker;
+import eu.arrowhead.common.misc.Deadline;
+import eu.arrowhead.common.misc.RetryPolicy;
 import eu.arrowhead.common.misc.TypeSafeProperties;
 import java.io.BufferedReader;
 import java.io.File;
@@ -45,12 +46,25 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.ServiceConfigurationError;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -63,42 +77,109 @@ import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.Response.Status.Family;
 import javax.ws.rs.core.UriBuilder;
 import org.apache.log4j.Logger;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
 
 public final class Utility {
 
-  private static Client client = createClient(null);
-  private static Client sslClient;
-  private static SSLContext sslContext;
-  private static String SR_QUERY_URI;
+  private static final String DEFAULT_CONF = "default.conf";
+  private static final String DEFAULT_CONF_DIR = "config" + File.separator + "default.conf";
+  private static final String APP_CONF = "app.conf";
+  private static final String APP_CONF_DIR = "config" + File.separator + "app.conf";
+
+  private static final int DEFAULT_TIMEOUT = 30000;
+  private static final int ASYNC_THREADPOOL_SIZE = 64;
 
   private static final ObjectMapper mapper = JacksonJsonProviderAtRest.getMapper();
   private static final Logger log = Logger.getLogger(Utility.class.getName());
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "http-client-maintenance");
+    thread.setDaemon(true);
+    return thread;
+  });
   private static final HostnameVerifier allHostsValid = (hostname, session) -> {
     // Decide whether to allow the connection...
     return true;
   };
 
-  private static final String DEFAULT_CONF = "default.conf";
-  private static final String DEFAULT_CONF_DIR = "config" + File.separator + "default.conf";
-  private static final String APP_CONF = "app.conf";
-  private static final String APP_CONF_DIR = "config" + File.separator + "app.conf";
+  //Connection pool settings of the HTTP clients (the idle timeout is in seconds)
+  private static final TypeSafeProperties clientProps = getClientProps();
+  private static final int MAX_CONNECTIONS = clientProps.getIntProperty("http_max_connections", 200);
+  private static final int MAX_CONNECTIONS_PER_ROUTE = clientProps.getIntProperty("http_max_connections_per_route", 20);
+  private static final int CONNECTION_IDLE_TIMEOUT = clientProps.getIntProperty("http_idle_timeout", 60);
+  //Responses are requested in the binary Smile format, but servers not supporting it can still answer with JSON
+  private static final String ACCEPT_HEADER = clientProps.getBooleanProperty("http_accept_smile", true) ? SmileMediaTypes.APPLICATION_JACKSON_SMILE
+      + ", application/json;q=0.9, */*;q=0.8" : MediaType.WILDCARD;
+  //Circuit breaker settings of the target hosts (the open duration is in seconds, the failure rate is in percent)
+  private static final int BREAKER_WINDOW = clientProps.getIntProperty("circuit_breaker_window", 20);
+  private static final int BREAKER_MINIMUM_CALLS = clientProps.getIntProperty("circuit_breaker_minimum_calls", 10);
+  private static final int BREAKER_FAILURE_RATE = clientProps.getIntProperty("circuit_breaker_failure_rate", 50);
+  private static final int BREAKER_OPEN_DURATION = clientProps.getIntProperty("circuit_breaker_open_duration", 30);
+
+  //Clients are expensive (connection pool, TLS sessions), so there is only 1 of them for every SSLContext
+  private static final Map<SSLContext, Client> sslClients = new ConcurrentHashMap<>();
+  private static final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+  private static final Client client = createClient(null);
+  private static final Client localClient = createLocalClient();
+  private static Client sslClient;
+  private static SSLContext sslContext;
 
   private Utility() throws AssertionError {
     throw new AssertionError("Arrowhead Common:Utility is a non-instantiable class");
   }
 
+  static TypeSafeProperties getClientProps() {
+    try {
+      return getProp();
+    } catch (ServiceConfigurationError e) {
+      //Utility can be used without a config file, the default settings are used in this case
+      return new TypeSafeProperties();
+    }
+  }
+
   private static Client createClient(SSLContext context) {
+    RegistryBuilder<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+        .register("http", PlainConnectionSocketFactory.getSocketFactory());
+    if (context != null) {
+      registry.register("https", new SSLConnectionSocketFactory(context, allHostsValid));
+    }
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(registry.build());
+    connectionManager.setMaxTotal(MAX_CONNECTIONS);
+    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+    //Pooled connections closed by the other side are detected before reuse
+    connectionManager.setValidateAfterInactivity(2000);
+    scheduler.scheduleWithFixedDelay(() -> {
+      connectionManager.closeExpiredConnections();
+      connectionManager.closeIdleConnections(CONNECTION_IDLE_TIMEOUT, TimeUnit.SECONDS);
+    }, CONNECTION_IDLE_TIMEOUT, Math.max(1, CONNECTION_IDLE_TIMEOUT / 2), TimeUnit.SECONDS);
+
     ClientConfig configuration = new ClientConfig();
-    configuration.property(ClientProperties.CONNECT_TIMEOUT, 30000);
-    configuration.property(ClientProperties.READ_TIMEOUT, 30000);
+    configuration.connectorProvider(new ApacheConnectorProvider());
+    configuration.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager);
+    configuration.property(ClientProperties.CONNECT_TIMEOUT, DEFAULT_TIMEOUT);
+    configuration.property(ClientProperties.READ_TIMEOUT, DEFAULT_TIMEOUT);
+    //Request bodies are sent with a Content-Length header, like with the default connector
+    configuration.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+    //Bounded pool for the asynchronous requests, shared by every async call of the client
+    configuration.property(ClientProperties.ASYNC_THREADPOOL_SIZE, ASYNC_THREADPOOL_SIZE);
 
     Client client;
     if (context != null) {
@@ -106,96 +187,385 @@ public final class Utility {
     } else {
       client = ClientBuilder.newClient(configuration);
     }
-    client.register(JacksonJsonProviderAtRest.class);
+    return registerProviders(client);
+  }
+
+  //Client for the core systems running in this JVM, see LocalConnector
+  private static Client createLocalClient() {
+    ClientConfig configuration = new ClientConfig();
+    configuration.connectorProvider(LocalConnector.PROVIDER);
+    configuration.property(ClientProperties.READ_TIMEOUT, DEFAULT_TIMEOUT);
+    configuration.property(ClientProperties.ASYNC_THREADPOOL_SIZE, ASYNC_THREADPOOL_SIZE);
+    return registerProviders(ClientBuilder.newClient(configuration));
+  }
+
+  private static Client registerProviders(Client client) {
+    client.register(JacksonJsonProviderAtRest.compact());
+    client.register(JacksonSmileProviderAtRest.class);
     return client;
   }
 
+  /**
+   * Returns the shared HTTP client using the given SSLContext (or the insecure client, if the context is null). The clients keep the connections
+   * alive in a connection pool, so consecutive requests to the same host do not need a new TCP connection and TLS handshake.
+   */
+  public static Client getClient(SSLContext context) {
+    if (context == null) {
+      return client;
+    }
+    return sslClients.computeIfAbsent(context, Utility::createClient);
+  }
+
+  /**
+   * Returns the state of the circuit breakers of every host this process has sent a request to.
+   */
+  public static List<CircuitBreakerStatus> getCircuitBreakerStatuses() {
+    return circuitBreakers.values().stream().map(CircuitBreaker::getStatus).sorted(Comparator.comparing(CircuitBreakerStatus::getTarget))
+                          .collect(Collectors.toList());
+  }
+
+  /**
+   * Closes the circuit breaker of the given host ("host:port"), so requests are sent to it again right away.
+   *
+   * @return false if there is no circuit breaker for the host
+   */
+  public static boolean resetCircuitBreaker(String target) {
+    CircuitBreaker breaker = circuitBreakers.get(target);
+    if (breaker == null) {
+      return false;
+    }
+    breaker.reset();
+    log.info("Circuit breaker of " + target + " was reset");
+    return true;
+  }
+
   public static void setSSLContext(SSLContext context) {
     sslContext = context;
-    sslClient = createClient(sslContext);
+    sslClient = getClient(sslContext);
   }
 
   public static void setServiceRegistryUri(String uri) {
     if (uri == null) {
       throw new AssertionError("Arrowhead Common:Utility has no Service Registry URL.");
     }
-    SR_QUERY_URI = UriBuilder.fromUri(uri).path("query").build().toString();
+    CoreSystemDirectory.setServiceRegistryUri(uri);
   }
 
   public static <T> Response sendRequest(String uri, String method, T payload, SSLContext givenContext) {
+    return sendRequest(uri, method, payload, givenContext, RetryPolicy.NONE);
+  }
+
+  /**
+   * Sends a HTTP request, and retries it according to the given policy while the target is unavailable (there is no response, or the status code
+   * is 502, 503 or 504). Retries should only be used for idempotent requests, or when processing the same request twice is harmless. There are no
+   * more retries once the circuit breaker of the target host is open.
+   */
+  public static <T> Response sendRequest(String uri, String method, T payload, SSLContext givenContext, RetryPolicy retryPolicy) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return sendRequestOnce(uri, method, payload, givenContext);
+      } catch (UnavailableServerException e) {
+        if (attempt >= retryPolicy.getMaxAttempts() || getCircuitBreaker(uri).isOpen()) {
+          throw e;
+        }
+        long backoff = retryPolicy.getBackoffMillis(attempt);
+        if (backoff >= Deadline.remainingMillis()) {
+          throw e;
+        }
+        log.info("Request to " + uri + " failed, retrying in " + backoff + " ms");
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+
+  public static <T> Response sendRequest(String uri, String method, T payload) {
+    return sendRequest(uri, method, payload, null);
+  }
+
+  private static <T> Response sendRequestOnce(String uri, String method, T payload, SSLContext givenContext) {
     log.info("Sending " + method + " request to: " + uri);
+    Invocation invocation = buildInvocation(prepareRequest(uri, givenContext), method, payload);
+    CircuitBreaker breaker = acquireCircuitBreaker(uri);
 
-    boolean isSecure = false;
+    Response response;
+    try {
+      response = invocation.invoke();
+      releaseConnection(response);
+    } catch (ProcessingException e) {
+      recordFailure(breaker, Deadline.expiresAt());
+      if (Deadline.remainingMillis() <= 0) {
+        log.error("Deadline exceeded while waiting for the response from " + uri);
+        throw new UnavailableServerException("Deadline exceeded while waiting for the response from " + uri, Status.GATEWAY_TIMEOUT.getStatusCode(),
+                                             e);
+      }
+      throw toArrowheadException(e, uri);
+    }
+    recordOutcome(breaker, response);
+
+    // If the response status code does not start with 2 the request was not successful
+    if (!(response.getStatusInfo().getFamily() == Family.SUCCESSFUL)) {
+      handleException(response, uri);
+    }
+
+    return response;
+  }
+
+  /**
+   * Asynchronous version of {@link #sendRequest(String, String, Object, SSLContext)}: the request is sent on the shared, bounded thread pool of the
+   * HTTP client, so the calling thread is not blocked while waiting for the response. The returned future is completed with the response if it has
+   * a 2xx status code, and completed exceptionally otherwise, with the same exception types the synchronous version throws. If there is no response
+   * in <tt>timeoutMillis</tt> (or until the {@link Deadline} of the calling thread), the request is cancelled and the future fails with an {@link
+   * UnavailableServerException}.
+   */
+  public static <T> CompletableFuture<Response> sendRequestAsync(String uri, String method, T payload, SSLContext givenContext, long timeoutMillis) {
+    log.info("Sending async " + method + " request to: " + uri);
+    CompletableFuture<Response> result = new CompletableFuture<>();
+    long deadlineAt = Deadline.expiresAt();
+    long timeout = Math.min(timeoutMillis, Deadline.remainingMillis());
+    Invocation invocation;
+    CircuitBreaker breaker;
+    try {
+      invocation = buildInvocation(prepareRequest(uri, givenContext), method, payload);
+      breaker = acquireCircuitBreaker(uri);
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+      return result;
+    }
+    //The outcome is recorded only once, either by the callback or by the timeout
+    AtomicBoolean outcomeRecorded = new AtomicBoolean();
+
+    InvocationCallback<Response> callback = new InvocationCallback<Response>() {
+      @Override
+      public void completed(Response response) {
+        try {
+          releaseConnection(response);
+        } catch (ProcessingException e) {
+          failed(e);
+          return;
+        }
+        if (outcomeRecorded.compareAndSet(false, true)) {
+          recordOutcome(breaker, response);
+        }
+        try {
+          if (!(response.getStatusInfo().getFamily() == Family.SUCCESSFUL)) {
+            handleException(response, uri);
+          }
+          result.complete(response);
+        } catch (RuntimeException e) {
+          result.completeExceptionally(e);
+        }
+      }
+
+      @Override
+      public void failed(Throwable throwable) {
+        if (outcomeRecorded.compareAndSet(false, true)) {
+          recordFailure(breaker, deadlineAt);
+        }
+        if (throwable instanceof ProcessingException) {
+          result.completeExceptionally(toArrowheadException((ProcessingException) throwable, uri));
+        } else {
+          result.completeExceptionally(throwable);
+        }
+      }
+    };
+    Future<Response> pendingRequest = invocation.submit(callback);
+
+    ScheduledFuture<?> timeoutTask = scheduler.schedule(() -> {
+      if (result.completeExceptionally(new UnavailableServerException("No response from " + uri + " in " + timeout + " ms",
+                                                                      Status.GATEWAY_TIMEOUT.getStatusCode()))) {
+        log.error("Async request to " + uri + " timed out after " + timeout + " ms");
+        if (outcomeRecorded.compareAndSet(false, true)) {
+          recordFailure(breaker, deadlineAt);
+        }
+        pendingRequest.cancel(true);
+      }
+    }, timeout, TimeUnit.MILLISECONDS);
+    result.whenComplete((response, throwable) -> timeoutTask.cancel(false));
+    return result;
+  }
+
+  public static <T> CompletableFuture<Response> sendRequestAsync(String uri, String method, T payload) {
+    return sendRequestAsync(uri, method, payload, null, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Waits for the result of an asynchronous request (see {@link #sendRequestAsync(String, String, Object, SSLContext, long)}), and rethrows the
+   * exception of a failed request as it is (instead of wrapping it into a <tt>CompletionException</tt>). If the current thread has a {@link
+   * Deadline}, the wait ends with an {@link UnavailableServerException} (with 504 status code) at the deadline, but the future is not cancelled, since
+   * it can be shared with other callers.
+   */
+  public static <T> T getAsyncResult(CompletableFuture<T> future) {
+    try {
+      if (Deadline.isSet() && !future.isDone()) {
+        return future.get(Math.max(0, Deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+      }
+      return future.join();
+    } catch (TimeoutException e) {
+      throw new UnavailableServerException("Deadline exceeded while waiting for an asynchronous result", Status.GATEWAY_TIMEOUT.getStatusCode());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ArrowheadException("Interrupted while waiting for an asynchronous result", Status.INTERNAL_SERVER_ERROR.getStatusCode(), e);
+    } catch (CompletionException | CancellationException | ExecutionException e) {
+      Throwable cause = e.getCause() != null ? e.getCause() : e;
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ArrowheadException(cause.getMessage(), Status.INTERNAL_SERVER_ERROR.getStatusCode(), cause);
+    }
+  }
+
+  private static Builder prepareRequest(String uri, SSLContext givenContext) {
     if (uri == null) {
       log.error("sendRequest received null uri");
       throw new NullPointerException(
           "send (HTTP) request method received null URL. This most likely means the invoking Core System could not fetch the service"
               + " of another Core System from the Service Registry!");
     }
-    if (uri.startsWith("https")) {
-      isSecure = true;
-    }
+    boolean isSecure = uri.startsWith("https");
 
     if (isSecure && sslClient == null) {
       throw new AuthException(
           "SSL Context is not set, but secure request sending was invoked. An insecure module can not send requests to secure modules.",
           Status.UNAUTHORIZED.getStatusCode());
     }
-    Client usedClient = isSecure ? givenContext != null ? createClient(givenContext) : sslClient : client;
+    URI target = UriBuilder.fromUri(uri).build();
+    Client usedClient;
+    if (LocalConnector.isLocal(target)) {
+      usedClient = localClient;
+    } else {
+      usedClient = isSecure ? givenContext != null ? getClient(givenContext) : sslClient : client;
+    }
 
-    Builder request = usedClient.target(UriBuilder.fromUri(uri).build()).request().header("Content-type", "application/json");
-    Response response; // will not be null after the switch-case
-    try {
-      switch (method) {
-        case "GET":
-          response = request.get();
-          break;
-        case "POST":
-          response = request.post(Entity.json(payload));
-          break;
-        case "PUT":
-          response = request.put(Entity.json(payload));
-          break;
-        case "DELETE":
-          response = request.delete();
-          break;
-        default:
-          throw new NotAllowedException("Invalid method type was given to the Utility.sendRequest() method");
-      }
-    } catch (ProcessingException e) {
-      if (e.getCause().getMessage().contains("PKIX path")) {
-        log.error("The system at " + uri + " is not part of the same certificate chain of trust!");
-        throw new AuthException("The system at " + uri + " is not part of the same certificate chain of trust!", Status.UNAUTHORIZED.getStatusCode(),
-                                e);
-      } else {
-        log.error("UnavailableServerException occurred at " + uri, e);
-        throw new UnavailableServerException("Could not get any response from: " + uri, Status.SERVICE_UNAVAILABLE.getStatusCode(), e);
-      }
+    Builder request = usedClient.target(target).request().header("Content-type", "application/json").accept(ACCEPT_HEADER);
+    if (Deadline.isSet()) {
+      Deadline.check("sending request to " + uri);
+      //The timeouts are shortened to the remaining budget, and the target gets the rest of the budget
+      long remaining = Deadline.remainingMillis();
+      int timeout = (int) Math.min(DEFAULT_TIMEOUT, remaining);
+      request.property(ClientProperties.CONNECT_TIMEOUT, timeout).property(ClientProperties.READ_TIMEOUT, timeout).header(Deadline.HEADER, remaining);
     }
+    return request;
+  }
 
-    // If the response status code does not start with 2 the request was not successful
-    if (!(response.getStatusInfo().getFamily() == Family.SUCCESSFUL)) {
-      handleException(response, uri);
+  private static <T> Invocation buildInvocation(Builder request, String method, T payload) {
+    switch (method) {
+      case "GET":
+      case "DELETE":
+        return request.build(method);
+      case "POST":
+      case "PUT":
+        return request.build(method, Entity.json(payload));
+      default:
+        throw new NotAllowedException("Invalid method type was given to the Utility.sendRequest() method");
     }
+  }
 
-    return response;
+  private static CircuitBreaker getCircuitBreaker(String uri) {
+    URI target = UriBuilder.fromUri(uri).build();
+    int port = target.getPort() != -1 ? target.getPort() : "https".equals(target.getScheme()) ? 443 : 80;
+    return circuitBreakers.computeIfAbsent(target.getHost() + ":" + port,
+                                           host -> new CircuitBreaker(host, BREAKER_WINDOW, BREAKER_MINIMUM_CALLS, BREAKER_FAILURE_RATE,
+                                                                      TimeUnit.SECONDS.toMillis(BREAKER_OPEN_DURATION)));
   }
 
-  public static <T> Response sendRequest(String uri, String method, T payload) {
-    return sendRequest(uri, method, payload, null);
+  private static CircuitBreaker acquireCircuitBreaker(String uri) {
+    CircuitBreaker breaker = getCircuitBreaker(uri);
+    if (!breaker.tryAcquire()) {
+      log.error("Request to " + uri + " was rejected, the circuit breaker of " + breaker.getTarget() + " is open");
+      CoreSystemDirectory.reportConnectionFailure(uri);
+      throw new UnavailableServerException("The circuit breaker of " + breaker.getTarget() + " is open, the request to " + uri + " was not sent.",
+                                           Status.SERVICE_UNAVAILABLE.getStatusCode());
+    }
+    return breaker;
   }
 
-  //TODO option for async request sending which can be used by the event handler
+  //A request cut short by the deadline of the caller tells nothing about the target
+  private static void recordFailure(CircuitBreaker breaker, long deadlineAt) {
+    if (System.currentTimeMillis() >= deadlineAt) {
+      breaker.release();
+    } else {
+      breaker.onFailure();
+    }
+  }
 
-  private static void handleException(Response response, String uri) {
-    //The response body has to be extracted before the stream closes
-    String errorMessageBody = toPrettyJson(null, response.getEntity());
-    if (errorMessageBody == null || errorMessageBody.equals("null")) {
+  private static void recordOutcome(CircuitBreaker breaker, Response response) {
+    if (isTargetFailure(response)) {
+      breaker.onFailure();
+    } else {
+      breaker.onSuccess();
+    }
+  }
+
+  /* An HTTP response shows that the target is alive. Even a 502/503/504 response can come from a working core system, either relaying the failure
+     of another system (with an ErrorMessage body), or shedding load (with a Retry-After header), so only a bare 502/503/504 response (from a proxy
+     or a server shutting down) counts as a failure of the target. The response body has to be buffered already. */
+  static boolean isTargetFailure(Response response) {
+    int status = response.getStatus();
+    if (status != Status.BAD_GATEWAY.getStatusCode() && status != Status.SERVICE_UNAVAILABLE.getStatusCode()
+        && status != Status.GATEWAY_TIMEOUT.getStatusCode()) {
+      return false;
+    }
+    if (response.getHeaderString(HttpHeaders.RETRY_AFTER) != null) {
+      return false;
+    }
+    if (!response.hasEntity()) {
+      return true;
+    }
+    try {
+      ErrorMessage errorMessage = response.readEntity(ErrorMessage.class);
+      return errorMessage == null || errorMessage.getExceptionType() == null;
+    } catch (RuntimeException e) {
+      return true;
+    }
+  }
+
+  /* The response body is read into memory, so the pooled connection is released right away, even if the caller never reads or closes the
+     response. The buffered body can be read multiple times. */
+  private static void releaseConnection(Response response) {
+    try {
       response.bufferEntity();
+    } catch (ProcessingException e) {
+      response.close();
+      throw e;
+    }
+  }
+
+  private static ArrowheadException toArrowheadException(ProcessingException e, String uri) {
+    if (e.getCause() != null && e.getCause().getMessage() != null && e.getCause().getMessage().contains("PKIX path")) {
+      log.error("The system at " + uri + " is not part of the same certificate chain of trust!");
+      return new AuthException("The system at " + uri + " is not part of the same certificate chain of trust!", Status.UNAUTHORIZED.getStatusCode(),
+                               e);
+    } else {
+      log.error("UnavailableServerException occurred at " + uri, e);
+      CoreSystemDirectory.reportConnectionFailure(uri);
+      return new UnavailableServerException("Could not get any response from: " + uri, Status.SERVICE_UNAVAILABLE.getStatusCode(), e);
+    }
+  }
+
+  private static String readSmileAsJson(Response response) {
+    try {
+      return response.readEntity(JsonNode.class).toString();
+    } catch (ProcessingException e) {
+      return "";
+    }
+  }
+
+  private static void handleException(Response response, String uri) {
+    //The response body is buffered, so it can be read as a String (for logging) and as an ErrorMessage too
+    response.bufferEntity();
+    String errorMessageBody;
+    if (SmileMediaTypes.APPLICATION_JACKSON_SMILE_TYPE.isCompatible(response.getMediaType())) {
+      errorMessageBody = readSmileAsJson(response);
+    } else {
       errorMessageBody = response.readEntity(String.class);
-      if (errorMessageBody.length() > 250) {
-        errorMessageBody = errorMessageBody.substring(0, 250);
-      }
+    }
+    if (errorMessageBody.length() > 250) {
+      errorMessageBody = errorMessageBody.substring(0, 250);
     }
 
     ErrorMessage errorMessage;
@@ -280,30 +650,6 @@ public final class Utility {
     return url;
   }
 
-  public static Optional<String[]> getServiceInfo(String serviceId) {
-    ArrowheadService service = sslContext == null ? new ArrowheadService(createSD(serviceId, false), Collections.singleton("JSON"), null)
-                                                  : new ArrowheadService(createSD(serviceId, true), Collections.singleton("JSON"),
-                                                                         ArrowheadMain.secureServerMetadata);
-    ServiceQueryForm sqf = new ServiceQueryForm(service, true, false);
-    Response response = sendRequest(SR_QUERY_URI, "PUT", sqf);
-    ServiceQueryResult result = response.readEntity(ServiceQueryResult.class);
-    if (result != null && result.isValid()) {
-      ServiceRegistryEntry entry = result.getServiceQueryData().get(0);
-      ArrowheadSystem coreSystem = entry.getProvider();
-      boolean isSecure = false;
-      if (!entry.getProvidedService().getServiceMetadata().isEmpty()) {
-        isSecure = entry.getProvidedService().getServiceMetadata().containsKey("security");
-      }
-      String serviceURI = getUri(coreSystem.getAddress(), coreSystem.getPort(), entry.getServiceURI(), isSecure, false);
-      if (serviceId.equals(CoreSystemService.GW_CONSUMER_SERVICE.getServiceDef()) || serviceId
-          .equals(CoreSystemService.GW_PROVIDER_SERVICE.getServiceDef())) {
-        return Optional.of(new String[]{serviceURI, coreSystem.getSystemName(), coreSystem.getAddress(), coreSystem.getAuthenticationInfo()});
-      }
-      return Optional.of(new String[]{serviceURI});
-    }
-    return Optional.empty();
-  }
-
   public static List<String> getNeighborCloudURIs(boolean isSecure) {
     List<NeighborCloud> cloudList = new ArrayList<>(DatabaseManager.getInstance().getAll(NeighborCloud.class, null));
 
@@ -461,14 +807,16 @@ public final class Utility {
     //This is for a bug fix with certain MySQL JDBC driver versions: https://github.com/arrowhead-f/core-java/issues/30
     String timeZoneQueryParam = "serverTimezone=" + ZoneId.systemDefault().getId();
 
-    String dbAddress = prop.getProperty("db_address");
-    if (dbAddress != null && dbAddress.contains("mysql")) {
-      if (dbAddress.contains("?")) {
-        dbAddress = dbAddress + "&" + timeZoneQueryParam;
-      } else {
-        dbAddress = dbAddress + "?" + timeZoneQueryParam;
+    for (String addressKey : Arrays.asList("db_address", "db_read_address")) {
+      String dbAddress = prop.getProperty(addressKey);
+      if (dbAddress != null && dbAddress.contains("mysql")) {
+        if (dbAddress.contains("?")) {
+          dbAddress = dbAddress + "&" + timeZoneQueryParam;
+        } else {
+          dbAddress = dbAddress + "?" + timeZoneQueryParam;
+        }
+        prop.setProperty(addressKey, dbAddress);
       }
-      prop.setProperty("db_address", dbAddress);
     }
 
     String logAddress = prop.getProperty("log4j.appender.DB.URL");
@@ -531,4 +879,24 @@ public final class Utility {
     Set<ConstraintViolation<T>> violations = validator.validate(bean);
     return violations.isEmpty();
   }
+
+  /**
+   * Validates the bean like the <tt>@Valid</tt> annotation of the REST resources does, but throws a {@link BadPayloadException} listing the
+   * violations (instead of failing the whole request), so the elements of a list payload can be validated one by one.
+   *
+   * @param validator the validator used for every element of the payload, since creating one is expensive
+   */
+  public static <T> void validateBean(Validator validator, T bean) {
+    if (bean == null) {
+      throw new BadPayloadException("The payload element can not be null.", Status.BAD_REQUEST.getStatusCode());
+    }
+    Set<ConstraintViolation<T>> violations = validator.validate(bean);
+    if (!violations.isEmpty()) {
+      StringBuilder messageBuilder = new StringBuilder();
+      for (ConstraintViolation<T> cv : violations) {
+        messageBuilder.append(cv.getPropertyPath()).append(": ").append(cv.getMessage()).append(", ");
+      }
+      throw new BadPayloadException(messageBuilder.toString(), Status.BAD_REQUEST.getStatusCode());
+    }
+  }
 }
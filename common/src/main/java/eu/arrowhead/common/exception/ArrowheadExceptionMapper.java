@@ -33,28 +33,9 @@ public class ArrowheadExceptionMapper implements ExceptionMapper<ArrowheadExcept
         ex.getOrigin() != null ? ex.getOrigin() : (requestContext.get() != null ? requestContext.get().getAbsolutePath().toString() : "unknown");
     int errorCode = (ex.getErrorCode() == 0 && responseContext.get() != null) ? responseContext.get().getStatus() : ex.getErrorCode();
     if (errorCode == 0) {
-      switch (ex.getExceptionType()) {
-        case AUTH:
-          errorCode = Status.UNAUTHORIZED.getStatusCode();
-          break;
-        case BAD_PAYLOAD:
-          errorCode = Status.BAD_REQUEST.getStatusCode();
-          log.error("BadPayloadException at: " + origin);
-          break;
-        case DATA_NOT_FOUND:
-          errorCode = Status.NOT_FOUND.getStatusCode();
-          break;
-        case DUPLICATE_ENTRY:
-          errorCode = Status.BAD_REQUEST.getStatusCode();
-          break;
-        case JSON_PROCESSING:
-          errorCode = Status.BAD_REQUEST.getStatusCode();
-          break;
-        case UNAVAILABLE:
-          errorCode = Status.GATEWAY_TIMEOUT.getStatusCode();
-          break;
-        default:
-          errorCode = Status.INTERNAL_SERVER_ERROR.getStatusCode();
+      errorCode = getDefaultErrorCode(ex.getExceptionType());
+      if (ex.getExceptionType() == ExceptionType.BAD_PAYLOAD) {
+        log.error("BadPayloadException at: " + origin);
       }
     }
 
@@ -62,4 +43,24 @@ public class ArrowheadExceptionMapper implements ExceptionMapper<ArrowheadExcept
     return Response.status(errorCode).entity(errorMessage).header("Content-type", "application/json").build();
   }
 
+  /**
+   * Returns the HTTP status code used for the exceptions of the given type, which were thrown without an explicit error code.
+   */
+  public static int getDefaultErrorCode(ExceptionType exceptionType) {
+    switch (exceptionType) {
+      case AUTH:
+        return Status.UNAUTHORIZED.getStatusCode();
+      case BAD_PAYLOAD:
+      case DUPLICATE_ENTRY:
+      case JSON_PROCESSING:
+        return Status.BAD_REQUEST.getStatusCode();
+      case DATA_NOT_FOUND:
+        return Status.NOT_FOUND.getStatusCode();
+      case UNAVAILABLE:
+        return Status.GATEWAY_TIMEOUT.getStatusCode();
+      default:
+        return Status.INTERNAL_SERVER_ERROR.getStatusCode();
+    }
+  }
+
 }
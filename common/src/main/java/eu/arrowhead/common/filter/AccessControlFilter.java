@@ -10,9 +10,6 @@ package eu.arrowhead.common.filter;
 import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.exception.AuthException;
 import eu.arrowhead.common.misc.SecurityUtils;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.core.Configuration;
@@ -23,6 +20,8 @@ import org.apache.log4j.Logger;
 public abstract class AccessControlFilter implements ContainerRequestFilter {
 
   protected static final Logger log = Logger.getLogger(AccessControlFilter.class.getName());
+  //Management resources registered on every core system by ArrowheadMain
+  private static final String[] COMMON_MGMT_PATHS = {"/mgmt/circuitbreakers", "/mgmt/coresystems"};
   @Context
   protected Configuration configuration;
 
@@ -31,23 +30,44 @@ public abstract class AccessControlFilter implements ContainerRequestFilter {
     SecurityContext sc = requestContext.getSecurityContext();
     if (sc.isSecure()) {
       String requestTarget = Utility.stripEndSlash(requestContext.getUriInfo().getRequestUri().toString());
-      String requestJson = Utility.getRequestPayload(requestContext.getEntityStream());
       String commonName = SecurityUtils.getCertCNFromSubject(sc.getUserPrincipal().getName());
-      if (!isClientAuthorized(commonName, requestContext.getMethod(), requestTarget, requestJson)) {
+      if (!isClientAuthorized(commonName, requestContext.getMethod(), requestTarget, RequestBody.of(requestContext))) {
         log.error(commonName + " is unauthorized to access " + requestTarget);
         throw new AuthException(commonName + " is unauthorized to access " + requestTarget);
       }
-      InputStream in = new ByteArrayInputStream(requestJson.getBytes(StandardCharsets.UTF_8));
-      requestContext.setEntityStream(in);
     }
   }
 
-  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, String requestJson) {
+  /**
+   * Decides if the client is allowed to send the request. The request body is only read from the network if the implementation asks for it.
+   */
+  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, RequestBody requestBody) {
     String serverCN = (String) configuration.getProperty("server_common_name");
     String[] serverFields = serverCN.split("\\.", 2);
     // serverFields contains: coreSystemName, cloudName.operator.arrowhead.eu
 
+    if (isCommonManagementTarget(requestTarget)) {
+      return isLocalSysop(clientCN);
+    }
     //All requests from the local cloud are allowed
     return SecurityUtils.isKeyStoreCNArrowheadValid(clientCN, serverFields[1]);
   }
+
+  /**
+   * Returns true if the request targets one of the management resources served by every core system (<tt>mgmt/circuitbreakers</tt> and
+   * <tt>mgmt/coresystems</tt>). These resources can only be used by the local System Operator, see {@link #isLocalSysop(String)}.
+   */
+  protected static boolean isCommonManagementTarget(String requestTarget) {
+    for (String path : COMMON_MGMT_PATHS) {
+      if (requestTarget.contains(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected boolean isLocalSysop(String clientCN) {
+    String serverCN = (String) configuration.getProperty("server_common_name");
+    return clientCN.equalsIgnoreCase("sysop." + serverCN.split("\\.", 2)[1]);
+  }
 }
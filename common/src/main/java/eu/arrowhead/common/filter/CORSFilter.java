@@ -7,6 +7,7 @@
 
 package eu.arrowhead.common.filter;
 
+import eu.arrowhead.common.misc.Deadline;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -18,7 +19,7 @@ public class CORSFilter implements ContainerResponseFilter {
   @Override
   public void filter(ContainerRequestContext request, ContainerResponseContext response) {
     response.getHeaders().add("Access-Control-Allow-Origin", "*");
-    response.getHeaders().add("Access-Control-Allow-Headers", "origin, content-type, accept, authorization");
+    response.getHeaders().add("Access-Control-Allow-Headers", "origin, content-type, accept, authorization, " + Deadline.HEADER);
     response.getHeaders().add("Access-Control-Allow-Credentials", "true");
     response.getHeaders().add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS, HEAD");
     response.getHeaders().add("Access-Control-Max-Age", 600);
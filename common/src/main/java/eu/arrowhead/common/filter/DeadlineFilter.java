@@ -0,0 +1,57 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.filter;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.misc.Deadline;
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.Provider;
+import org.apache.log4j.Logger;
+
+/**
+ * Starts the deadline of the request on the serving thread if the client sent a time budget in the {@link Deadline#HEADER} header, and rejects the
+ * request right away if the budget is already used up. The deadline is removed from the thread when the response is sent. Budgets which are not
+ * positive or longer than <tt>deadline_max_budget</tt> milliseconds (10 minutes by default) are ignored.
+ */
+@Provider
+@Priority(Priorities.HEADER_DECORATOR)
+public class DeadlineFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  private static final Logger log = Logger.getLogger(DeadlineFilter.class.getName());
+  //Budgets over this limit (in milliseconds) are ignored, like the malformed ones
+  private static final long MAX_BUDGET = Utility.getProp().getIntProperty("deadline_max_budget", 600000);
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    //Server threads are reused, a deadline left over from a previous request must not apply to this one
+    Deadline.clear();
+    String budget = requestContext.getHeaderString(Deadline.HEADER);
+    if (budget == null) {
+      return;
+    }
+
+    Long budgetMillis = Deadline.parseBudget(budget, MAX_BUDGET);
+    if (budgetMillis == null) {
+      log.warn("Ignoring invalid " + Deadline.HEADER + " header: " + budget);
+      return;
+    }
+    Deadline.start(budgetMillis);
+    Deadline.check(requestContext.getMethod() + " " + requestContext.getUriInfo().getPath());
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    Deadline.clear();
+  }
+
+}
@@ -8,9 +8,7 @@
 package eu.arrowhead.common.filter;
 
 import eu.arrowhead.common.Utility;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import eu.arrowhead.common.exception.ArrowheadException;
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
 import javax.ws.rs.container.ContainerRequestContext;
@@ -25,11 +23,15 @@ public class InboundDebugFilter implements ContainerRequestFilter {
   public void filter(ContainerRequestContext requestContext) {
     if (Boolean.valueOf(System.getProperty("debug_mode", "false"))) {
       System.out.println("New " + requestContext.getMethod() + " request at: " + requestContext.getUriInfo().getRequestUri().toString());
-      String prettyJson = Utility.getRequestPayload(requestContext.getEntityStream());
-      System.out.println(prettyJson);
-
-      InputStream in = new ByteArrayInputStream(prettyJson.getBytes(StandardCharsets.UTF_8));
-      requestContext.setEntityStream(in);
+      RequestBody requestBody = RequestBody.of(requestContext);
+      if (requestBody.getBytes().length > 0) {
+        //Only the printed copy is formatted, Jersey gets the payload as it was sent
+        try {
+          System.out.println(Utility.toPrettyJson(requestBody.asString(), null));
+        } catch (ArrowheadException e) {
+          System.out.println(requestBody.asString());
+        }
+      }
     }
   }
 }
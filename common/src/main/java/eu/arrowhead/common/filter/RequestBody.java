@@ -0,0 +1,83 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.filter;
+
+import eu.arrowhead.common.exception.ArrowheadException;
+import eu.arrowhead.common.json.JacksonJsonProviderAtRest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.ws.rs.container.ContainerRequestContext;
+
+/**
+ * Payload of an incoming request, shared by the request filters. The entity stream is only read when a filter actually needs the payload, at most
+ * once per request, and the same bytes are handed on to Jersey afterwards, without parsing and re-serializing them.
+ */
+public final class RequestBody {
+
+  private static final String PROPERTY_NAME = RequestBody.class.getName();
+
+  private final ContainerRequestContext requestContext;
+  private byte[] bytes;
+
+  private RequestBody(ContainerRequestContext requestContext) {
+    this.requestContext = requestContext;
+  }
+
+  /**
+   * Returns the payload of the request (the same instance for every filter processing the request).
+   */
+  public static RequestBody of(ContainerRequestContext requestContext) {
+    RequestBody body = (RequestBody) requestContext.getProperty(PROPERTY_NAME);
+    if (body == null) {
+      body = new RequestBody(requestContext);
+      requestContext.setProperty(PROPERTY_NAME, body);
+    }
+    return body;
+  }
+
+  public byte[] getBytes() {
+    if (bytes == null) {
+      bytes = requestContext.hasEntity() ? readFully(requestContext.getEntityStream()) : new byte[0];
+      requestContext.setEntityStream(new ByteArrayInputStream(bytes));
+    }
+    return bytes;
+  }
+
+  /**
+   * Parses the JSON payload into the given class.
+   */
+  public <T> T readAs(Class<T> parsedClass) {
+    try {
+      return JacksonJsonProviderAtRest.getMapper().readValue(getBytes(), parsedClass);
+    } catch (IOException e) {
+      throw new ArrowheadException("Jackson library threw exception during JSON parsing!", e);
+    }
+  }
+
+  public String asString() {
+    return new String(getBytes(), StandardCharsets.UTF_8);
+  }
+
+  private static byte[] readFully(InputStream in) {
+    try (InputStream entityStream = in) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = entityStream.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new ArrowheadException("IOException occurred while reading an incoming request payload", e);
+    }
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.filter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jaxrs.cfg.EndpointConfigBase;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterInjector;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterModifier;
+import com.fasterxml.jackson.jaxrs.smile.SmileMediaTypes;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Response format negotiation on top of the JSON-only resources. If the client prefers Smile (binary JSON, see <tt>JacksonSmileProviderAtRest</tt>)
+ * in its <tt>Accept</tt> header, the request is matched as a JSON request, and the JSON response entity is written as Smile instead. If the client
+ * accepts <tt>application/json; indent=false</tt>, the JSON response is written without indentation.
+ */
+@Provider
+@PreMatching
+public class WireFormatFilter implements ContainerRequestFilter, WriterInterceptor {
+
+  private static final String RESPONSE_FORMAT = "arrowhead.responseFormat";
+  private static final String SMILE = "smile";
+  private static final String COMPACT_JSON = "compactJson";
+
+  private static final ObjectWriterModifier compactModifier = new ObjectWriterModifier() {
+    @Override
+    public ObjectWriter modify(EndpointConfigBase<?> endpoint, MultivaluedMap<String, Object> responseHeaders, Object valueToWrite,
+                               ObjectWriter writer, JsonGenerator generator) {
+      //The provider already set up the generator for indentation at this point
+      generator.setPrettyPrinter(null);
+      return writer.without(SerializationFeature.INDENT_OUTPUT);
+    }
+  };
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    List<MediaType> acceptedTypes = requestContext.getAcceptableMediaTypes();
+    //The accepted types are sorted by preference, the first JSON-like type decides the format
+    for (MediaType type : acceptedTypes) {
+      if (isSmile(type)) {
+        requestContext.setProperty(RESPONSE_FORMAT, SMILE);
+        //The resources only produce JSON, so Smile is replaced with JSON for the resource matching
+        List<String> jsonTypes = new ArrayList<>();
+        for (MediaType acceptedType : acceptedTypes) {
+          jsonTypes.add(isSmile(acceptedType) ? new MediaType("application", "json", acceptedType.getParameters()).toString()
+                                              : acceptedType.toString());
+        }
+        requestContext.getHeaders().putSingle(HttpHeaders.ACCEPT, jsonTypes.stream().collect(Collectors.joining(", ")));
+        return;
+      }
+      if (type.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+        if ("false".equals(type.getParameters().get("indent"))) {
+          requestContext.setProperty(RESPONSE_FORMAT, COMPACT_JSON);
+        }
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+    Object format = context.getProperty(RESPONSE_FORMAT);
+    if (format != null && MediaType.APPLICATION_JSON_TYPE.isCompatible(context.getMediaType()) && isMappedByJackson(context.getType())) {
+      if (SMILE.equals(format)) {
+        context.setMediaType(SmileMediaTypes.APPLICATION_JACKSON_SMILE_TYPE);
+        context.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, SmileMediaTypes.APPLICATION_JACKSON_SMILE_TYPE);
+      } else {
+        context.setMediaType(MediaType.APPLICATION_JSON_TYPE);
+        context.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_TYPE);
+        //The modifier is picked up (and removed) by the JSON provider, on this thread
+        ObjectWriterInjector.set(compactModifier);
+        try {
+          context.proceed();
+        } finally {
+          ObjectWriterInjector.getAndClear();
+        }
+        return;
+      }
+    }
+    context.proceed();
+  }
+
+  private static boolean isSmile(MediaType type) {
+    return !type.isWildcardType() && !type.isWildcardSubtype() && type.isCompatible(SmileMediaTypes.APPLICATION_JACKSON_SMILE_TYPE);
+  }
+
+  //Strings and streams are written as they are, not by the Jackson providers
+  private static boolean isMappedByJackson(Class<?> type) {
+    return !(CharSequence.class.isAssignableFrom(type) || type == byte[].class || InputStream.class.isAssignableFrom(type)
+        || StreamingOutput.class.isAssignableFrom(type));
+  }
+
+}
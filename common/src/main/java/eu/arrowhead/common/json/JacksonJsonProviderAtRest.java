@@ -25,24 +25,39 @@ import javax.ws.rs.ext.Provider;
 @Produces(MediaType.APPLICATION_JSON)
 public class JacksonJsonProviderAtRest extends JacksonJaxbJsonProvider {
 
-  private static final ObjectMapper mapper = new ObjectMapper();
-
-  static {
-    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    mapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
-    mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-    mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
-    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    mapper.registerModule(new JavaTimeModule());
-    mapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(Include.ALWAYS, Include.NON_NULL));
-    mapper.setSerializationInclusion(Include.NON_NULL);
-    mapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE);
-    mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
-  }
+  private static final ObjectMapper mapper = configure(new ObjectMapper());
+  //Same as the default mapper, but without indentation, for machine-to-machine traffic
+  private static final ObjectMapper compactMapper = mapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
 
   public JacksonJsonProviderAtRest() {
+    this(mapper);
+  }
+
+  private JacksonJsonProviderAtRest(ObjectMapper objectMapper) {
     super();
-    setMapper(mapper);
+    setMapper(objectMapper);
+  }
+
+  /**
+   * Returns a provider instance which writes compact (non-indented) JSON.
+   */
+  public static JacksonJsonProviderAtRest compact() {
+    return new JacksonJsonProviderAtRest(compactMapper);
+  }
+
+  //Every Arrowhead ObjectMapper (JSON or binary) serializes the objects the same way
+  static ObjectMapper configure(ObjectMapper objectMapper) {
+    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    objectMapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+    objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    objectMapper.registerModule(new JavaTimeModule());
+    objectMapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(Include.ALWAYS, Include.NON_NULL));
+    objectMapper.setSerializationInclusion(Include.NON_NULL);
+    objectMapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE);
+    objectMapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+    return objectMapper;
   }
 
   public static ObjectMapper getMapper() {
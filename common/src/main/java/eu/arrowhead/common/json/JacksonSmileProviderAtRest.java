@@ -0,0 +1,36 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.jaxrs.smile.JacksonJaxbSmileProvider;
+import com.fasterxml.jackson.jaxrs.smile.SmileMediaTypes;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Reads and writes the binary JSON format of Jackson (Smile), with the same object mapping as {@link JacksonJsonProviderAtRest}. The core systems
+ * ask for Smile responses from each other, since they are smaller and faster to (de)serialize than JSON text.
+ */
+@Provider
+@Produces(SmileMediaTypes.APPLICATION_JACKSON_SMILE)
+@Consumes(SmileMediaTypes.APPLICATION_JACKSON_SMILE)
+public class JacksonSmileProviderAtRest extends JacksonJaxbSmileProvider {
+
+  private static final ObjectMapper mapper = JacksonJsonProviderAtRest.configure(new ObjectMapper(new SmileFactory()))
+                                                                   .disable(SerializationFeature.INDENT_OUTPUT);
+
+  public JacksonSmileProviderAtRest() {
+    super();
+    setMapper(mapper);
+  }
+
+}
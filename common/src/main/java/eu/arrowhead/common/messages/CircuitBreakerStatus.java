@@ -0,0 +1,81 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.messages;
+
+import java.time.Instant;
+
+public class CircuitBreakerStatus {
+
+  private String target;
+  private String state;
+  private int recordedCalls;
+  private int failedCalls;
+  private long rejectedCalls;
+  private Instant openedAt;
+
+  public CircuitBreakerStatus() {
+  }
+
+  public CircuitBreakerStatus(String target, String state, int recordedCalls, int failedCalls, long rejectedCalls, Instant openedAt) {
+    this.target = target;
+    this.state = state;
+    this.recordedCalls = recordedCalls;
+    this.failedCalls = failedCalls;
+    this.rejectedCalls = rejectedCalls;
+    this.openedAt = openedAt;
+  }
+
+  public String getTarget() {
+    return target;
+  }
+
+  public void setTarget(String target) {
+    this.target = target;
+  }
+
+  public String getState() {
+    return state;
+  }
+
+  public void setState(String state) {
+    this.state = state;
+  }
+
+  public int getRecordedCalls() {
+    return recordedCalls;
+  }
+
+  public void setRecordedCalls(int recordedCalls) {
+    this.recordedCalls = recordedCalls;
+  }
+
+  public int getFailedCalls() {
+    return failedCalls;
+  }
+
+  public void setFailedCalls(int failedCalls) {
+    this.failedCalls = failedCalls;
+  }
+
+  public long getRejectedCalls() {
+    return rejectedCalls;
+  }
+
+  public void setRejectedCalls(long rejectedCalls) {
+    this.rejectedCalls = rejectedCalls;
+  }
+
+  public Instant getOpenedAt() {
+    return openedAt;
+  }
+
+  public void setOpenedAt(Instant openedAt) {
+    this.openedAt = openedAt;
+  }
+
+}
@@ -7,6 +7,7 @@
 
 package eu.arrowhead.common.messages;
 
+import eu.arrowhead.common.exception.ErrorMessage;
 import java.util.ArrayList;
 import java.util.List;
 import javax.validation.Valid;
@@ -15,6 +16,8 @@ public class OrchestrationResponse {
 
   @Valid
   private List<OrchestrationForm> response = new ArrayList<>();
+  //Only used in the responses of batch orchestration requests, where each request of the batch can fail separately
+  private ErrorMessage error;
 
   public OrchestrationResponse() {
   }
@@ -31,4 +34,12 @@ public class OrchestrationResponse {
     this.response = response;
   }
 
+  public ErrorMessage getError() {
+    return error;
+  }
+
+  public void setError(ErrorMessage error) {
+    this.error = error;
+  }
+
 }
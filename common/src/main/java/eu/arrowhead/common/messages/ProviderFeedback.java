@@ -0,0 +1,51 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.messages;
+
+import eu.arrowhead.common.database.ArrowheadSystem;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Response time of a provider measured by a consumer, used by the Orchestrator to choose the faster providers (see the <i>responsetime</i>
+ * matchmaking strategy).
+ */
+public class ProviderFeedback {
+
+  @Valid
+  @NotNull
+  private ArrowheadSystem provider;
+  @Min(value = 0, message = "Response time can not be negative")
+  private long responseTime;
+
+  public ProviderFeedback() {
+  }
+
+  public ProviderFeedback(ArrowheadSystem provider, long responseTime) {
+    this.provider = provider;
+    this.responseTime = responseTime;
+  }
+
+  public ArrowheadSystem getProvider() {
+    return provider;
+  }
+
+  public void setProvider(ArrowheadSystem provider) {
+    this.provider = provider;
+  }
+
+  public long getResponseTime() {
+    return responseTime;
+  }
+
+  public void setResponseTime(long responseTime) {
+    this.responseTime = responseTime;
+  }
+
+}
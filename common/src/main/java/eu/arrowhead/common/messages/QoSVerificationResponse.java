@@ -7,14 +7,18 @@
 
 package eu.arrowhead.common.messages;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.json.ArrowheadSystemKeyDeserializer;
 import eu.arrowhead.common.messages.QoSVerifierResponse.RejectMotivationTypes;
 import java.util.HashMap;
 import java.util.Map;
 
 public class QoSVerificationResponse {
 
+  @JsonDeserialize(keyUsing = ArrowheadSystemKeyDeserializer.class)
   private Map<ArrowheadSystem, Boolean> response = new HashMap<>();
+  @JsonDeserialize(keyUsing = ArrowheadSystemKeyDeserializer.class)
   private Map<ArrowheadSystem, QoSVerifierResponse.RejectMotivationTypes> rejectMotivation = new HashMap<>();
 
   public QoSVerificationResponse() {
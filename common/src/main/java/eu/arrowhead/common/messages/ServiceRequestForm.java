@@ -28,7 +28,7 @@ public class ServiceRequestForm {
 
   private static final List<String> flagKeys = new ArrayList<>(Arrays.asList("triggerInterCloud", "externalServiceRequest", "enableInterCloud",
                                                                              "metadataSearch", "pingProviders", "overrideStore", "matchmaking",
-                                                                             "onlyPreferred", "enableQoS"));
+                                                                             "onlyPreferred", "enableQoS", "bypassCache"));
   @Valid
   @NotNull
   private ArrowheadSystem requesterSystem;
@@ -36,7 +36,7 @@ public class ServiceRequestForm {
   private ArrowheadCloud requesterCloud;
   @Valid
   private ArrowheadService requestedService;
-  @Size(max = 9, message = "There are only 9 orchestration flags, map size must not be bigger than 9")
+  @Size(max = 10, message = "There are only 10 orchestration flags, map size must not be bigger than 10")
   private Map<@SENotBlank String, Boolean> orchestrationFlags = new HashMap<>();
   @Valid
   private List<PreferredProvider> preferredProviders = new ArrayList<>();
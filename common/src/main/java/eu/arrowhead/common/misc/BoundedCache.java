@@ -0,0 +1,135 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+/**
+ * Thread-safe, size bounded key-value cache with least-recently-used eviction and an optional time-to-live for the entries. Keeps track of the
+ * number of cache hits and misses, so the cache efficiency can be monitored.
+ *
+ * @param <K> type of the cache keys
+ * @param <V> type of the cached values
+ */
+public class BoundedCache<K, V> {
+
+  private final int maxSize;
+  private final long defaultTtlMillis;
+  private final LinkedHashMap<K, CacheEntry<V>> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * @param maxSize the maximum number of entries, the least recently used entry is evicted when this number is exceeded
+   * @param defaultTtlMillis how long an entry stays valid after insertion, a non-positive value means the entries never expire
+   */
+  public BoundedCache(int maxSize, long defaultTtlMillis) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size must be at least 1!");
+    }
+    this.maxSize = maxSize;
+    this.defaultTtlMillis = defaultTtlMillis;
+    this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+        return size() > BoundedCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached value belonging to the key, or null if there is no such value, or it already expired.
+   */
+  public synchronized V get(K key) {
+    CacheEntry<V> entry = entries.get(key);
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    if (entry.isExpired(System.currentTimeMillis())) {
+      entries.remove(key);
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.value;
+  }
+
+  public void put(K key, V value) {
+    put(key, value, defaultTtlMillis);
+  }
+
+  /**
+   * Caches the value with a custom time-to-live instead of the default one. Null values are not cached.
+   */
+  public synchronized void put(K key, V value, long ttlMillis) {
+    if (key == null || value == null) {
+      return;
+    }
+    long expiresAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+    entries.put(key, new CacheEntry<>(value, expiresAt));
+  }
+
+  public synchronized void remove(K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Removes every entry where the key-value pair matches the given predicate.
+   */
+  public synchronized void removeIf(BiPredicate<K, V> predicate) {
+    Iterator<Map.Entry<K, CacheEntry<V>>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<K, CacheEntry<V>> entry = iterator.next();
+      if (predicate.test(entry.getKey(), entry.getValue().value)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  @Override
+  public String toString() {
+    return "BoundedCache{size=" + size() + ", maxSize=" + maxSize + ", hits=" + hits.get() + ", misses=" + misses.get() + "}";
+  }
+
+  private static class CacheEntry<V> {
+
+    private final V value;
+    private final long expiresAt;
+
+    CacheEntry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import eu.arrowhead.common.exception.ArrowheadException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk <tt>DatabaseManager</tt> operation (saveAll, mergeAll, deleteAll). Contains the items which were successfully persisted, and
+ * the items which failed, together with their position in the input collection and the reason of the failure.
+ *
+ * @param <T> the entity type of the bulk operation
+ */
+public class BulkOperationResult<T> {
+
+  private final List<T> succeeded = new ArrayList<>();
+  private final List<Failure<T>> failures = new ArrayList<>();
+
+  public void addSuccess(T item) {
+    succeeded.add(item);
+  }
+
+  public void addFailure(int index, T item, ArrowheadException error) {
+    failures.add(new Failure<>(index, item, error));
+  }
+
+  public List<T> getSucceeded() {
+    return Collections.unmodifiableList(succeeded);
+  }
+
+  public List<Failure<T>> getFailures() {
+    return Collections.unmodifiableList(failures);
+  }
+
+  public boolean hasFailures() {
+    return !failures.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "BulkOperationResult{succeeded=" + succeeded.size() + ", failed=" + failures.size() + "}";
+  }
+
+  public static class Failure<T> {
+
+    private final int index;
+    private final T item;
+    private final ArrowheadException error;
+
+    Failure(int index, T item, ArrowheadException error) {
+      this.index = index;
+      this.item = item;
+      this.error = error;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public T getItem() {
+      return item;
+    }
+
+    public ArrowheadException getError() {
+      return error;
+    }
+
+    @Override
+    public String toString() {
+      return "#" + index + " " + item + ": " + error.getMessage();
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import eu.arrowhead.common.messages.CircuitBreakerStatus;
+import java.time.Instant;
+import org.apache.log4j.Logger;
+
+/**
+ * Thread-safe circuit breaker guarding the HTTP requests sent to 1 target host. The outcome of the last <tt>windowSize</tt> requests is recorded,
+ * and if at least <tt>failureRateThreshold</tt> percent of them failed (with a minimum number of recorded requests), the breaker opens: requests
+ * are rejected right away for <tt>openDurationMillis</tt>, instead of waiting out the connect timeout one by one. After that, a single trial
+ * request is let through (half-open state), which closes the breaker if it succeeds, and opens it again if it fails.
+ */
+public class CircuitBreaker {
+
+  public enum State {CLOSED, OPEN, HALF_OPEN}
+
+  private static final Logger log = Logger.getLogger(CircuitBreaker.class.getName());
+
+  private final String target;
+  private final int minimumCalls;
+  private final int failureRateThreshold;
+  private final long openDurationMillis;
+  //Ring buffer of the recorded outcomes, true means a failed request
+  private final boolean[] outcomes;
+
+  private State state = State.CLOSED;
+  private int position;
+  private int recordedCalls;
+  private int failedCalls;
+  private long rejectedCalls;
+  private long openedAt;
+  private long trialStartedAt;
+
+  /**
+   * @param target the host (and port) guarded by the breaker
+   * @param windowSize the number of most recent requests the failure rate is calculated from
+   * @param minimumCalls the breaker does not open until at least this many requests are recorded
+   * @param failureRateThreshold the failure rate (in percent) at which the breaker opens
+   * @param openDurationMillis how long requests are rejected after the breaker opens
+   */
+  public CircuitBreaker(String target, int windowSize, int minimumCalls, int failureRateThreshold, long openDurationMillis) {
+    if (windowSize < 1 || minimumCalls < 1 || failureRateThreshold < 1 || failureRateThreshold > 100 || openDurationMillis < 0) {
+      throw new IllegalArgumentException("Invalid circuit breaker settings for " + target);
+    }
+    this.target = target;
+    this.minimumCalls = Math.min(minimumCalls, windowSize);
+    this.failureRateThreshold = failureRateThreshold;
+    this.openDurationMillis = openDurationMillis;
+    this.outcomes = new boolean[windowSize];
+  }
+
+  /**
+   * Returns true if a request can be sent to the target. Every permitted request has to be followed by a call to {@link #onSuccess()} or {@link
+   * #onFailure()}.
+   */
+  public synchronized boolean tryAcquire() {
+    long now = System.currentTimeMillis();
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (now - openedAt < openDurationMillis) {
+          rejectedCalls++;
+          return false;
+        }
+        state = State.HALF_OPEN;
+        trialStartedAt = now;
+        log.info("Circuit breaker of " + target + " is half-open, sending a trial request");
+        return true;
+      default:
+        //Only 1 trial request at a time, unless the previous one got lost somehow
+        if (now - trialStartedAt < openDurationMillis) {
+          rejectedCalls++;
+          return false;
+        }
+        trialStartedAt = now;
+        return true;
+    }
+  }
+
+  public synchronized void onSuccess() {
+    if (state == State.HALF_OPEN) {
+      clearWindow();
+      state = State.CLOSED;
+      log.info("Circuit breaker of " + target + " closed, the trial request succeeded");
+    } else if (state == State.CLOSED) {
+      record(false);
+    }
+  }
+
+  public synchronized void onFailure() {
+    if (state == State.HALF_OPEN) {
+      open();
+    } else if (state == State.CLOSED) {
+      record(true);
+      if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+        open();
+      }
+    }
+  }
+
+  /**
+   * Ends a permitted request without recording its outcome, because it tells nothing about the target (e.g. the caller gave up waiting).
+   */
+  public synchronized void release() {
+    if (state == State.HALF_OPEN) {
+      //The next request can be the trial
+      trialStartedAt = 0;
+    }
+  }
+
+  /**
+   * Closes the breaker and forgets the recorded outcomes.
+   */
+  public synchronized void reset() {
+    clearWindow();
+    state = State.CLOSED;
+    rejectedCalls = 0;
+  }
+
+  public synchronized boolean isOpen() {
+    return state == State.OPEN && System.currentTimeMillis() - openedAt < openDurationMillis;
+  }
+
+  public String getTarget() {
+    return target;
+  }
+
+  public synchronized CircuitBreakerStatus getStatus() {
+    Instant openedSince = state == State.CLOSED ? null : Instant.ofEpochMilli(openedAt);
+    return new CircuitBreakerStatus(target, state.name(), recordedCalls, failedCalls, rejectedCalls, openedSince);
+  }
+
+  private void record(boolean failed) {
+    if (recordedCalls == outcomes.length) {
+      if (outcomes[position]) {
+        failedCalls--;
+      }
+    } else {
+      recordedCalls++;
+    }
+    outcomes[position] = failed;
+    if (failed) {
+      failedCalls++;
+    }
+    position = (position + 1) % outcomes.length;
+  }
+
+  private void clearWindow() {
+    position = 0;
+    recordedCalls = 0;
+    failedCalls = 0;
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = System.currentTimeMillis();
+    log.error("Circuit breaker of " + target + " opened, requests are rejected for " + openDurationMillis + " ms");
+  }
+
+}
@@ -31,7 +31,8 @@ public enum CoreSystem {
           Arrays.asList("keystore", "keystorepass", "keypass", "truststore", "truststorepass", "trustpass", "master_arrowhead_cert"),
           Arrays.asList(CoreSystemService.GW_PROVIDER_SERVICE, CoreSystemService.GW_CONSUMER_SERVICE, CoreSystemService.GW_SESSION_MGMT)),
   ORCHESTRATOR(8440, 8441, ArrowheadMain.dbFields, ArrowheadMain.certFields, Collections.singletonList(CoreSystemService.ORCH_SERVICE)),
-  QOS(8450, 8451, Arrays.asList("db_user", "db_password", "db_address", "monitor_url"), ArrowheadMain.certFields, null),
+  QOS(8450, 8451, Arrays.asList("db_user", "db_password", "db_address", "monitor_url"), ArrowheadMain.certFields,
+      Arrays.asList(CoreSystemService.QOS_VERIFY_SERVICE, CoreSystemService.QOS_RESERVE_SERVICE)),
   SERVICE_REGISTRY_DNS(8442, 8443, null, ArrowheadMain.certFields, null),
   SERVICE_REGISTRY_SQL(8442, 8443, ArrowheadMain.dbFields, ArrowheadMain.certFields, null),
   SYSTEM_REGISTRY(8436, 8437, ArrowheadMain.dbFields, ArrowheadMain.certFields, Collections.singletonList(CoreSystemService.SYS_REG_SERVICE)),
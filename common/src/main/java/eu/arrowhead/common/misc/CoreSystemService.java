@@ -18,6 +18,8 @@ public enum CoreSystemService {
   GW_PROVIDER_SERVICE("ConnectToProvider", "gateway/connectToProvider"),
   GW_SESSION_MGMT("SessionManagement", "gateway/management"),
   ORCH_SERVICE("OrchestrationService", "orchestrator/orchestration"),
+  QOS_VERIFY_SERVICE("QoSVerify", "qos/verify"),
+  QOS_RESERVE_SERVICE("QoSReserve", "qos/reserve"),
   SYS_REG_SERVICE("PlaceHolder", "systemregistry/placeholder"),
   DEVICE_REG_SERVICE("Placeholder2", "deviceregistry/placeholder");
 
@@ -0,0 +1,144 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import eu.arrowhead.common.exception.UnavailableServerException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.ws.rs.core.Response.Status;
+
+/**
+ * Time budget of the request being served by the current thread. Clients can send the number of milliseconds they are willing to wait for the
+ * response in the {@link #HEADER} header. The core systems remember the resulting deadline while serving the request, send the remaining budget
+ * along with every request they make to other systems (through <tt>Utility.sendRequest</tt>), and stop working on the request once the deadline
+ * has passed. The budget is relative, so the clocks of the systems do not have to be synchronized.
+ */
+public final class Deadline {
+
+  public static final String HEADER = "X-Arrowhead-Deadline";
+
+  private static final ThreadLocal<Long> deadline = new ThreadLocal<>();
+
+  private Deadline() throws AssertionError {
+    throw new AssertionError("Arrowhead Common:Deadline is a non-instantiable class");
+  }
+
+  /**
+   * Sets the deadline of the current thread to <tt>budgetMillis</tt> milliseconds from now.
+   */
+  public static void start(long budgetMillis) {
+    long now = System.currentTimeMillis();
+    //A huge budget must not overflow into a deadline in the past
+    deadline.set(budgetMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + budgetMillis);
+  }
+
+  /**
+   * Parses the value of the {@link #HEADER} header. Returns null if it is not a number, or not between 1 and <tt>maxBudgetMillis</tt>
+   * milliseconds.
+   */
+  public static Long parseBudget(String value, long maxBudgetMillis) {
+    long budget;
+    try {
+      budget = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    return budget > 0 && budget <= maxBudgetMillis ? budget : null;
+  }
+
+  public static void clear() {
+    deadline.remove();
+  }
+
+  public static boolean isSet() {
+    return deadline.get() != null;
+  }
+
+  /**
+   * Returns the milliseconds left until the deadline of the current thread (negative if it already passed), or <tt>Long.MAX_VALUE</tt> if there is
+   * no deadline.
+   */
+  public static long remainingMillis() {
+    Long current = deadline.get();
+    return current == null ? Long.MAX_VALUE : current - System.currentTimeMillis();
+  }
+
+  /**
+   * Returns the deadline of the current thread in epoch milliseconds, or <tt>Long.MAX_VALUE</tt> if there is no deadline.
+   */
+  public static long expiresAt() {
+    Long current = deadline.get();
+    return current == null ? Long.MAX_VALUE : current;
+  }
+
+  /**
+   * Throws an {@link UnavailableServerException} (with 504 status code) if the deadline of the current thread has passed. Long running operations
+   * should call this between their steps, so no more work is done for a client which is not waiting for the result anymore.
+   */
+  public static void check(String operation) {
+    long remaining = remainingMillis();
+    if (remaining <= 0) {
+      throw new UnavailableServerException("Deadline exceeded by " + -remaining + " ms before " + operation, Status.GATEWAY_TIMEOUT.getStatusCode());
+    }
+  }
+
+  /**
+   * Runs the task on the current thread without its deadline, and restores the deadline afterwards. Used for work shared by several requests (see
+   * {@link SingleFlight}), which must not fail because the request starting it is running out of time.
+   */
+  public static <T> T runWithoutDeadline(Supplier<T> task) {
+    Long current = deadline.get();
+    if (current == null) {
+      return task.get();
+    }
+    deadline.remove();
+    try {
+      return task.get();
+    } finally {
+      deadline.set(current);
+    }
+  }
+
+  /**
+   * Wraps the task, so it runs with the deadline of the current thread, even if it is executed on a different thread.
+   */
+  public static <T> Supplier<T> propagate(Supplier<T> task) {
+    Long current = deadline.get();
+    if (current == null) {
+      return task;
+    }
+    return () -> runWithDeadline(current, task);
+  }
+
+  /**
+   * Wraps the task, so it runs with the deadline of the current thread, even if it is executed on a different thread. Used for the steps of an
+   * asynchronous chain, which are executed by the thread completing the previous step.
+   */
+  public static <T, R> Function<T, R> propagate(Function<T, R> task) {
+    Long current = deadline.get();
+    if (current == null) {
+      return task;
+    }
+    return input -> runWithDeadline(current, () -> task.apply(input));
+  }
+
+  private static <T> T runWithDeadline(Long expiresAt, Supplier<T> task) {
+    Long previous = deadline.get();
+    deadline.set(expiresAt);
+    try {
+      return task.get();
+    } finally {
+      if (previous == null) {
+        deadline.remove();
+      } else {
+        deadline.set(previous);
+      }
+    }
+  }
+
+}
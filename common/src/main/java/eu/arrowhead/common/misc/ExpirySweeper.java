@@ -0,0 +1,103 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+
+/**
+ * Base class of the background tasks removing expired entries from the database. Subclasses delete every expired entry with one set-based
+ * statement, and tell when the next entry is going to expire. Besides the periodic sweeps, an extra sweep is scheduled for that moment (if it is
+ * before the next periodic one), so entries with a short validity are removed in time, without starting a new thread for each of them. Every
+ * sweeper of the process shares the same scheduler thread.
+ */
+public abstract class ExpirySweeper {
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "expiry-sweeper");
+    thread.setDaemon(true);
+    return thread;
+  });
+  //Extra wake-up time after the expiry, to avoid edge cases
+  private static final long WAKE_UP_SLACK_MILLIS = 200;
+
+  private final Logger log = Logger.getLogger(getClass().getName());
+
+  private long periodMillis;
+  private Instant nextPeriodicSweep;
+  private Instant pendingWakeUp;
+  private ScheduledFuture<?> pendingWakeUpFuture;
+
+  /**
+   * Deletes every expired entry.
+   *
+   * @return the number of removed entries
+   */
+  protected abstract int removeExpiredEntries();
+
+  /**
+   * @return the time when the earliest non-expired entry expires, or null if no entry has an expiry time
+   */
+  protected abstract Instant getNextExpiry();
+
+  public synchronized void start(long initialDelayMillis, long periodMillis) {
+    this.periodMillis = periodMillis;
+    nextPeriodicSweep = Instant.now().plusMillis(initialDelayMillis);
+    scheduler.scheduleWithFixedDelay(this::periodicSweep, initialDelayMillis, periodMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Notifies the sweeper that an entry expires at the given time. If this is before the next scheduled sweep, an extra sweep is scheduled for
+   * the expiry time.
+   */
+  public synchronized void wakeUpAt(Instant expiry) {
+    if (expiry == null || nextPeriodicSweep == null || !expiry.isBefore(nextPeriodicSweep) || (pendingWakeUp != null && !expiry
+        .isBefore(pendingWakeUp))) {
+      return;
+    }
+    if (pendingWakeUpFuture != null) {
+      pendingWakeUpFuture.cancel(false);
+    }
+
+    long delay = Math.max(0, Duration.between(Instant.now(), expiry).toMillis()) + WAKE_UP_SLACK_MILLIS;
+    pendingWakeUp = expiry;
+    pendingWakeUpFuture = scheduler.schedule(this::extraSweep, delay, TimeUnit.MILLISECONDS);
+  }
+
+  private void periodicSweep() {
+    synchronized (this) {
+      nextPeriodicSweep = Instant.now().plusMillis(periodMillis);
+    }
+    sweep();
+  }
+
+  private void extraSweep() {
+    synchronized (this) {
+      pendingWakeUp = null;
+      pendingWakeUpFuture = null;
+    }
+    sweep();
+  }
+
+  //Exceptions must not escape, the scheduler would cancel the periodic sweeps otherwise
+  private void sweep() {
+    try {
+      int deleteCount = removeExpiredEntries();
+      log.debug("Removed " + deleteCount + " expired entries from the database at " + Instant.now());
+      wakeUpAt(getNextExpiry());
+    } catch (RuntimeException e) {
+      log.error("Expired entry removal failed: " + e.getMessage(), e);
+    }
+  }
+
+}
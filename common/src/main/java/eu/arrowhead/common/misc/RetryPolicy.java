@@ -0,0 +1,60 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tells how many times <tt>Utility.sendRequest</tt> tries to send a request when the target is unavailable, and how long it waits between the
+ * attempts. The wait time grows exponentially, and is randomized ("full jitter"), so the clients of a recovering server do not retry in sync.
+ */
+public final class RetryPolicy {
+
+  public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0);
+
+  private static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 200;
+  private static final long DEFAULT_MAX_BACKOFF_MILLIS = 5000;
+
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+
+  /**
+   * @param maxAttempts the maximum number of attempts, including the first one
+   * @param initialBackoffMillis upper bound of the wait time before the first retry, doubled for every following retry
+   * @param maxBackoffMillis upper bound of the wait time before any retry
+   */
+  public RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+    if (maxAttempts < 1 || initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+      throw new IllegalArgumentException("Invalid retry policy: " + maxAttempts + " attempts, " + initialBackoffMillis + "-" + maxBackoffMillis + " ms");
+    }
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  public static RetryPolicy withMaxAttempts(int maxAttempts) {
+    return new RetryPolicy(maxAttempts, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS);
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Returns a random wait time before the given retry (1 for the first retry).
+   */
+  public long getBackoffMillis(int retry) {
+    long ceiling = initialBackoffMillis << Math.min(retry - 1, 30);
+    if (ceiling < 0 || ceiling > maxBackoffMillis) {
+      ceiling = maxBackoffMillis;
+    }
+    return ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call with a given key is in progress, the other calls with the same key do not start a new call,
+ * but wait for the result of the one in progress. The results are not kept after the call completed, so this is not a cache, only the calls
+ * overlapping in time share their result (including the failure). The call is started without the {@link Deadline} of the calling thread, since its
+ * result is shared with callers having other deadlines, so each caller has to bound its own wait for the result (see
+ * <tt>Utility.getAsyncResult</tt>).
+ *
+ * @param <K> type of the keys identifying the identical calls
+ * @param <V> type of the results
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Starts the call, unless a call with the same key is already in progress, and returns the future of the call in progress. The call is started on
+   * the calling thread, if it blocks, this method blocks too, while the coalesced callers get the (not yet completed) future right away. The
+   * returned future is shared by every coalesced caller, so mutable results must not be modified.
+   */
+  public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+    CompletableFuture<V> result = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, result);
+    if (existing != null) {
+      return existing;
+    }
+
+    try {
+      Deadline.runWithoutDeadline(call).whenComplete((value, failure) -> {
+        //The key is released before the waiting callers are completed, so a caller reacting to the result starts a new call
+        inFlight.remove(key, result);
+        if (failure != null) {
+          result.completeExceptionally(failure);
+        } else {
+          result.complete(value);
+        }
+      });
+    } catch (Throwable t) {
+      //Errors too, otherwise the key would stay in progress forever, and every later caller would wait for a result that never comes
+      inFlight.remove(key, result);
+      result.completeExceptionally(t);
+    }
+    return result;
+  }
+
+}
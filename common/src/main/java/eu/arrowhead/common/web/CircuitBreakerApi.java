@@ -0,0 +1,43 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.web;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.exception.DataNotFoundException;
+import eu.arrowhead.common.messages.CircuitBreakerStatus;
+import java.util.List;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Shows the circuit breakers guarding the outgoing HTTP requests of the core system (1 for each target host), and allows closing them manually.
+ */
+@Path("mgmt/circuitbreakers")
+@Produces(MediaType.APPLICATION_JSON)
+public class CircuitBreakerApi {
+
+  @GET
+  public List<CircuitBreakerStatus> getCircuitBreakers() {
+    return Utility.getCircuitBreakerStatuses();
+  }
+
+  @DELETE
+  @Path("{target}")
+  public Response resetCircuitBreaker(@PathParam("target") String target) {
+    if (!Utility.resetCircuitBreaker(target)) {
+      throw new DataNotFoundException("There is no circuit breaker for " + target);
+    }
+    return Response.ok().build();
+  }
+
+}
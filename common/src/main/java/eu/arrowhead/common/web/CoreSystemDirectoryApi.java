@@ -0,0 +1,40 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.web;
+
+import eu.arrowhead.common.CoreSystemDirectory;
+import eu.arrowhead.common.CoreSystemDirectory.Endpoint;
+import java.util.Map;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Shows the addresses of the other core systems used by this core system, and allows refreshing them from the Service Registry (e.g. after a core
+ * system was moved to a different address).
+ */
+@Path("mgmt/coresystems")
+@Produces(MediaType.APPLICATION_JSON)
+public class CoreSystemDirectoryApi {
+
+  @GET
+  public Map<String, Endpoint> getCoreSystemEndpoints() {
+    return CoreSystemDirectory.getEndpoints();
+  }
+
+  @POST
+  @Path("refresh")
+  public Response refreshCoreSystemEndpoints() {
+    CoreSystemDirectory.refresh();
+    return Response.accepted().build();
+  }
+
+}
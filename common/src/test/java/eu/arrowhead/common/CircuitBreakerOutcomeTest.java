@@ -0,0 +1,134 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import eu.arrowhead.common.exception.ErrorMessage;
+import eu.arrowhead.common.exception.ExceptionType;
+import eu.arrowhead.common.json.JacksonJsonProviderAtRest;
+import eu.arrowhead.common.messages.CircuitBreakerStatus;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CircuitBreakerOutcomeTest {
+
+  //More than the default window of the breakers, so the breaker would open if the responses counted as failures
+  private static final int REQUESTS = 25;
+
+  private HttpServer server;
+  private String baseUri;
+
+  @Path("outcome")
+  @Produces(MediaType.APPLICATION_JSON)
+  public static class OutcomeResource {
+
+    @GET
+    @Path("relayed503")
+    public Response relayed503() {
+      return relayed(Status.SERVICE_UNAVAILABLE);
+    }
+
+    @GET
+    @Path("relayed504")
+    public Response relayed504() {
+      return relayed(Status.GATEWAY_TIMEOUT);
+    }
+
+    @GET
+    @Path("overloaded")
+    public Response overloaded() {
+      return Response.status(Status.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, 1).build();
+    }
+
+    @GET
+    @Path("bare")
+    public Response bare() {
+      return Response.status(Status.SERVICE_UNAVAILABLE).build();
+    }
+
+    private static Response relayed(Status status) {
+      ErrorMessage error = new ErrorMessage("A neighbor cloud is not available", status.getStatusCode(), ExceptionType.UNAVAILABLE, "test");
+      return Response.status(status).entity(error).build();
+    }
+
+  }
+
+  @Before
+  public void startServer() throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    baseUri = "http://127.0.0.1:" + port + "/";
+    ResourceConfig config = new ResourceConfig(OutcomeResource.class, JacksonJsonProviderAtRest.class);
+    server = GrizzlyHttpServerFactory.createHttpServer(URI.create(baseUri), config);
+  }
+
+  @After
+  public void stopServer() {
+    server.shutdownNow();
+  }
+
+  @Test
+  public void relayedErrorsDoNotOpenTheBreaker() {
+    sendFailingRequests("outcome/relayed503", REQUESTS);
+    sendFailingRequests("outcome/relayed504", REQUESTS);
+    assertEquals("CLOSED", getBreakerStatus().getState());
+    assertEquals(0, getBreakerStatus().getFailedCalls());
+  }
+
+  @Test
+  public void rejectionsWithRetryAfterDoNotOpenTheBreaker() {
+    sendFailingRequests("outcome/overloaded", REQUESTS);
+    assertEquals("CLOSED", getBreakerStatus().getState());
+  }
+
+  @Test
+  public void bareErrorsOpenTheBreaker() {
+    sendFailingRequests("outcome/bare", REQUESTS);
+    assertEquals("OPEN", getBreakerStatus().getState());
+  }
+
+  private void sendFailingRequests(String path, int count) {
+    for (int i = 0; i < count; i++) {
+      try {
+        Utility.sendRequest(baseUri + path, "GET", null);
+        fail("Error response was not turned into an exception");
+      } catch (RuntimeException e) {
+        //Expected, the error responses (and the rejections of an open breaker) are thrown as exceptions
+      }
+    }
+  }
+
+  private CircuitBreakerStatus getBreakerStatus() {
+    String target = baseUri.substring("http://".length(), baseUri.length() - 1);
+    for (CircuitBreakerStatus status : Utility.getCircuitBreakerStatuses()) {
+      if (status.getTarget().equals(target)) {
+        return status;
+      }
+    }
+    throw new AssertionError("No circuit breaker for " + target);
+  }
+
+}
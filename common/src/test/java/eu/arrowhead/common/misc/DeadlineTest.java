@@ -0,0 +1,116 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import eu.arrowhead.common.exception.UnavailableServerException;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Test;
+
+public class DeadlineTest {
+
+  private static final long MAX = 600000;
+
+  @After
+  public void clearDeadline() {
+    Deadline.clear();
+  }
+
+  @Test
+  public void parsesBudgetsInRange() {
+    assertEquals(Long.valueOf(1), Deadline.parseBudget("1", MAX));
+    assertEquals(Long.valueOf(2500), Deadline.parseBudget(" 2500 ", MAX));
+    assertEquals(Long.valueOf(MAX), Deadline.parseBudget(String.valueOf(MAX), MAX));
+  }
+
+  @Test
+  public void ignoresBudgetsOutOfRange() {
+    assertNull(Deadline.parseBudget("0", MAX));
+    assertNull(Deadline.parseBudget("-1", MAX));
+    assertNull(Deadline.parseBudget(String.valueOf(MAX + 1), MAX));
+    assertNull(Deadline.parseBudget(String.valueOf(Long.MAX_VALUE), MAX));
+  }
+
+  @Test
+  public void ignoresMalformedBudgets() {
+    assertNull(Deadline.parseBudget("", MAX));
+    assertNull(Deadline.parseBudget("abc", MAX));
+    assertNull(Deadline.parseBudget("1.5", MAX));
+    assertNull(Deadline.parseBudget("99999999999999999999", MAX));
+  }
+
+  @Test
+  public void hugeBudgetDoesNotOverflow() {
+    Deadline.start(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, Deadline.expiresAt());
+    assertTrue(Deadline.remainingMillis() > 0);
+    Deadline.check("test");
+  }
+
+  @Test
+  public void noDeadlineMeansUnlimited() {
+    assertFalse(Deadline.isSet());
+    assertEquals(Long.MAX_VALUE, Deadline.remainingMillis());
+    Deadline.check("test");
+  }
+
+  @Test
+  public void checkFailsOncePassed() throws InterruptedException {
+    Deadline.start(1);
+    Thread.sleep(5);
+    try {
+      Deadline.check("test");
+      fail("Passed deadline was not detected");
+    } catch (UnavailableServerException e) {
+      assertEquals(504, e.getErrorCode());
+    }
+  }
+
+  @Test
+  public void runWithoutDeadlineRestoresIt() {
+    Deadline.start(10000);
+    long expiresAt = Deadline.expiresAt();
+
+    assertEquals("done", Deadline.runWithoutDeadline(() -> Deadline.isSet() ? "set" : "done"));
+    assertEquals(expiresAt, Deadline.expiresAt());
+
+    try {
+      Deadline.runWithoutDeadline(() -> {
+        throw new IllegalStateException();
+      });
+      fail("Exception was swallowed");
+    } catch (IllegalStateException e) {
+      assertEquals(expiresAt, Deadline.expiresAt());
+    }
+  }
+
+  @Test
+  public void propagateCarriesTheDeadlineToAnotherThread() throws InterruptedException {
+    Deadline.start(10000);
+    long expiresAt = Deadline.expiresAt();
+    Supplier<Long> task = Deadline.propagate(Deadline::expiresAt);
+
+    long[] seen = new long[2];
+    Thread thread = new Thread(() -> {
+      seen[0] = task.get();
+      seen[1] = Deadline.expiresAt();
+    });
+    thread.start();
+    thread.join();
+
+    assertEquals(expiresAt, seen[0]);
+    assertEquals(Long.MAX_VALUE, seen[1]);
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.common.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+  private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+  @After
+  public void clearDeadline() {
+    Deadline.clear();
+  }
+
+  @Test
+  public void overlappingCallsShareTheResult() throws Exception {
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    AtomicInteger calls = new AtomicInteger();
+
+    CompletableFuture<String> first = flight.execute("key", () -> {
+      calls.incrementAndGet();
+      return pending;
+    });
+    CompletableFuture<String> second = flight.execute("key", () -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture("other");
+    });
+
+    assertSame(first, second);
+    assertEquals(1, calls.get());
+    pending.complete("value");
+    assertEquals("value", second.get());
+  }
+
+  @Test
+  public void differentKeysDoNotShare() {
+    CompletableFuture<String> first = flight.execute("a", CompletableFuture::new);
+    CompletableFuture<String> second = flight.execute("b", CompletableFuture::new);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void failureIsSharedAndReleasesTheKey() throws Exception {
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    CompletableFuture<String> first = flight.execute("key", () -> pending);
+    CompletableFuture<String> second = flight.execute("key", () -> CompletableFuture.completedFuture("other"));
+
+    IllegalStateException failure = new IllegalStateException("query failed");
+    pending.completeExceptionally(failure);
+    assertSame(failure, causeOf(first));
+    assertSame(failure, causeOf(second));
+
+    assertEquals("next", flight.execute("key", () -> CompletableFuture.completedFuture("next")).get());
+  }
+
+  @Test
+  public void exceptionThrownByTheCallReleasesTheKey() throws Exception {
+    IllegalStateException failure = new IllegalStateException("could not start");
+    CompletableFuture<String> result = flight.execute("key", () -> {
+      throw failure;
+    });
+
+    assertSame(failure, causeOf(result));
+    assertEquals("next", flight.execute("key", () -> CompletableFuture.completedFuture("next")).get());
+  }
+
+  @Test
+  public void errorThrownByTheCallReleasesTheKey() throws Exception {
+    StackOverflowError error = new StackOverflowError();
+    CompletableFuture<String> result = flight.execute("key", () -> {
+      throw error;
+    });
+
+    assertSame(error, causeOf(result));
+    assertEquals("next", flight.execute("key", () -> CompletableFuture.completedFuture("next")).get());
+  }
+
+  @Test
+  public void callRunsWithoutTheDeadlineOfTheCaller() throws Exception {
+    Deadline.start(1);
+    Thread.sleep(5);
+
+    CompletableFuture<String> result = flight.execute("key", () -> {
+      assertFalse(Deadline.isSet());
+      return CompletableFuture.completedFuture("value");
+    });
+
+    assertEquals("value", result.get());
+    assertTrue(Deadline.isSet());
+  }
+
+  private static Throwable causeOf(CompletableFuture<?> future) throws InterruptedException {
+    assertTrue(future.isCompletedExceptionally());
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      return e.getCause();
+    }
+    fail("Future completed normally");
+    return null;
+  }
+
+}
@@ -11,6 +11,7 @@ CREATE TABLE IF NOT EXISTS `event_filter` (
   `consumer_system_id` bigint(20) NOT NULL,
   PRIMARY KEY (`id`),
   UNIQUE KEY `UKbkos27fkducgbn6rxqty2k6n1` (`event_type`,`consumer_system_id`),
+  KEY `IDX_event_filter_end_date` (`end_date`),
   KEY `FK8k1vieqrr0cxw4x0ubocsrrpo` (`consumer_system_id`),
   CONSTRAINT `FK8k1vieqrr0cxw4x0ubocsrrpo` FOREIGN KEY (`consumer_system_id`) REFERENCES `arrowhead_system` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
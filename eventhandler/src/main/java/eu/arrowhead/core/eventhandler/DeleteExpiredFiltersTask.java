@@ -9,25 +9,32 @@ package eu.arrowhead.core.eventhandler;
 
 import eu.arrowhead.common.DatabaseManager;
 import eu.arrowhead.common.database.EventFilter;
+import eu.arrowhead.common.misc.ExpirySweeper;
+import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.List;
-import java.util.TimerTask;
-import org.apache.log4j.Logger;
+import java.util.Collections;
+import java.util.Map;
 
-public class DeleteExpiredFiltersTask extends TimerTask {
+public class DeleteExpiredFiltersTask extends ExpirySweeper {
 
   private static final DatabaseManager dm = DatabaseManager.getInstance();
-  private static final Logger log = Logger.getLogger(DeleteExpiredFiltersTask.class.getName());
 
   @Override
-  public void run() {
-    List<EventFilter> filterList = dm.getAll(EventFilter.class, null);
-    for (EventFilter filter : filterList) {
-      if (filter.getEndDate() != null && filter.getEndDate().isBefore(ZonedDateTime.now())) {
-        dm.delete(filter);
-        log.debug(filter.toString() + " removed do to expired end date.");
-      }
-    }
+  protected int removeExpiredEntries() {
+    Map<String, Object> parameters = Collections.singletonMap("now", ZonedDateTime.now());
+    //The bulk HQL delete does not touch the collection tables, so their rows have to be removed first
+    return dm.inTransaction(() -> {
+      dm.executeNativeUpdate("DELETE FROM event_filter_sources_list WHERE filter_id IN (SELECT id FROM event_filter WHERE end_date < :now)",
+                             parameters);
+      dm.executeNativeUpdate("DELETE FROM event_filter_metadata WHERE filter_id IN (SELECT id FROM event_filter WHERE end_date < :now)", parameters);
+      return dm.executeUpdate("DELETE FROM EventFilter WHERE endDate < :now", parameters);
+    });
+  }
+
+  @Override
+  protected Instant getNextExpiry() {
+    ZonedDateTime nextExpiry = dm.getMin(EventFilter.class, "endDate", null);
+    return nextExpiry == null ? null : nextExpiry.toInstant();
   }
 
 }
@@ -13,8 +13,6 @@ import eu.arrowhead.common.web.ArrowheadSystemApi;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 
 public class EventHandlerMain extends ArrowheadMain {
 
@@ -29,12 +27,10 @@ public class EventHandlerMain extends ArrowheadMain {
     String[] packages = {"eu.arrowhead.common.exception", "eu.arrowhead.common.json", "eu.arrowhead.common.filter", "eu.arrowhead.core.eventhandler"};
     init(CoreSystem.EVENT_HANDLER, args, classes, packages);
 
-    //if removing old filters (based on endDate field) is requested, start the TimerTask that provides it
+    //if removing old filters (based on endDate field) is requested, start the sweeper that provides it
     if (props.getBooleanProperty("remove_old_filters", false)) {
-      TimerTask pingTask = new DeleteExpiredFiltersTask();
-      Timer pingTimer = new Timer();
       int interval = props.getIntProperty("check_interval", 60);
-      pingTimer.schedule(pingTask, 60L * 1000L, (interval * 60L * 1000L));
+      new DeleteExpiredFiltersTask().start(60L * 1000L, interval * 60L * 1000L);
     }
 
     listenForInput();
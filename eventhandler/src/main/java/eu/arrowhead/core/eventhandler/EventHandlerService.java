@@ -12,7 +12,6 @@ import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.database.EventFilter;
 import eu.arrowhead.common.exception.ArrowheadException;
-import eu.arrowhead.common.messages.Event;
 import eu.arrowhead.common.messages.PublishEvent;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -22,7 +21,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Stream;
 import org.apache.log4j.Logger;
 
 final class EventHandlerService {
@@ -46,17 +44,6 @@ final class EventHandlerService {
     return filters;
   }
 
-  private static boolean sendRequest(String url, Event event) {
-    try {
-      Utility.sendRequest(url, "POST", event);
-    } catch (Exception e) {
-      log.error("Publishing event to " + url + " failed.");
-      e.printStackTrace();
-      return false;
-    }
-    return true;
-  }
-
   static Map<String, Boolean> propagateEvent(PublishEvent eventPublished) {
     // Get the event relevant filters from the DB
     List<EventFilter> filters = getMatchingEventFilters(eventPublished);
@@ -74,53 +61,65 @@ final class EventHandlerService {
       urls.add(url);
     }
 
+    //The events are sent asynchronously, on the bounded thread pool of the HTTP client
     Map<String, Boolean> result = new ConcurrentHashMap<>();
-    /*Note: ForkJoinPool.commonPool (used by CompletableFuture as default) has a default size equal to one less than the number of cores of your CPU.
-      For faster execution (when there is a large number of urls), use custom thread pool manager:
-      Executor myThreadPool = Executors.newFixedThreadPool(numberOfThreads);*/
-    Stream<CompletableFuture> stream = urls.stream().map(url -> CompletableFuture.supplyAsync(() -> sendRequest(url, eventPublished.getEvent()))
-                                                                                 .thenAcceptAsync(published -> result.put(url, published)));
-    CompletableFuture.allOf(stream.toArray(CompletableFuture[]::new)).join();
+    List<CompletableFuture<Void>> requests = new ArrayList<>();
+    for (String url : urls) {
+      requests.add(Utility.sendRequestAsync(url, "POST", eventPublished.getEvent()).handle((response, e) -> {
+        if (e != null) {
+          log.error("Publishing event to " + url + " failed: " + e.getMessage());
+          result.put(url, false);
+        } else {
+          response.close();
+          result.put(url, true);
+        }
+        return null;
+      }));
+    }
+    CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
     log.info("Event published to " + urls.size() + " subscribers.");
     return result;
   }
 
   static EventFilter saveEventFilter(EventFilter filter) {
-    restrictionMap.clear();
-    restrictionMap.put("systemName", filter.getConsumer().getSystemName());
-    restrictionMap.put("address", filter.getConsumer().getAddress());
-    restrictionMap.put("port", filter.getConsumer().getPort());
-    ArrowheadSystem consumer = dm.get(ArrowheadSystem.class, restrictionMap);
-    if (consumer == null) {
-      log.info("Consumer System " + filter.getConsumer().getSystemName() + " was not in the database, saving it now.");
-      consumer = dm.save(filter.getConsumer());
-    }
+    //The lookups and inserts share 1 database session and transaction, and a local restriction map, since this method can run concurrently
+    return dm.inTransaction(() -> {
+      Map<String, Object> restrictions = new HashMap<>();
+      restrictions.put("systemName", filter.getConsumer().getSystemName());
+      restrictions.put("address", filter.getConsumer().getAddress());
+      restrictions.put("port", filter.getConsumer().getPort());
+      ArrowheadSystem consumer = dm.get(ArrowheadSystem.class, restrictions);
+      if (consumer == null) {
+        log.info("Consumer System " + filter.getConsumer().getSystemName() + " was not in the database, saving it now.");
+        consumer = dm.save(filter.getConsumer());
+      }
 
-    restrictionMap.clear();
-    restrictionMap.put("eventType", filter.getEventType());
-    restrictionMap.put("consumer", consumer);
-    EventFilter retrievedFilter = dm.get(EventFilter.class, restrictionMap);
-    if (retrievedFilter == null) {
-      filter.setConsumer(consumer);
-
-      Set<ArrowheadSystem> sources = new HashSet<>();
-      for (ArrowheadSystem source : filter.getSources()) {
-        restrictionMap.clear();
-        restrictionMap.put("systemName", source.getSystemName());
-        restrictionMap.put("address", source.getAddress());
-        restrictionMap.put("port", source.getPort());
-        ArrowheadSystem retrievedSource = dm.get(ArrowheadSystem.class, restrictionMap);
-        if (retrievedSource == null) {
-          retrievedSource = dm.save(source);
+      restrictions.clear();
+      restrictions.put("eventType", filter.getEventType());
+      restrictions.put("consumer", consumer);
+      EventFilter retrievedFilter = dm.get(EventFilter.class, restrictions);
+      if (retrievedFilter == null) {
+        filter.setConsumer(consumer);
+
+        Set<ArrowheadSystem> sources = new HashSet<>();
+        for (ArrowheadSystem source : filter.getSources()) {
+          restrictions.clear();
+          restrictions.put("systemName", source.getSystemName());
+          restrictions.put("address", source.getAddress());
+          restrictions.put("port", source.getPort());
+          ArrowheadSystem retrievedSource = dm.get(ArrowheadSystem.class, restrictions);
+          if (retrievedSource == null) {
+            retrievedSource = dm.save(source);
+          }
+          sources.add(retrievedSource);
         }
-        sources.add(retrievedSource);
-      }
 
-      filter.setSources(sources);
-      return dm.save(filter);
-    }
+        filter.setSources(sources);
+        return dm.save(filter);
+      }
 
-    return null;
+      return null;
+    });
   }
 
   static int deleteEventFilter(String eventType, String consumerName) {
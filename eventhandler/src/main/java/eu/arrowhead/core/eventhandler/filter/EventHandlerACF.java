@@ -7,10 +7,10 @@
 
 package eu.arrowhead.core.eventhandler.filter;
 
-import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.EventFilter;
 import eu.arrowhead.common.exception.AuthException;
 import eu.arrowhead.common.filter.AccessControlFilter;
+import eu.arrowhead.common.filter.RequestBody;
 import eu.arrowhead.common.messages.PublishEvent;
 import eu.arrowhead.common.misc.SecurityUtils;
 import javax.annotation.Priority;
@@ -22,7 +22,7 @@ import javax.ws.rs.ext.Provider;
 public class EventHandlerACF extends AccessControlFilter {
 
   @Override
-  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, String requestJson) {
+  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, RequestBody requestBody) {
     if (!SecurityUtils.isKeyStoreCNArrowheadValid(clientCN)) {
       log.info(clientCN + " is not valid common name, access denied!");
       return false;
@@ -31,15 +31,20 @@ public class EventHandlerACF extends AccessControlFilter {
     String serverCN = (String) configuration.getProperty("server_common_name");
     String[] serverFields = serverCN.split("\\.", 2);
 
+    if (isCommonManagementTarget(requestTarget)) {
+      // Only the local System Operator can use the management resources common to every core system
+      return isLocalSysop(clientCN);
+    }
+
     String[] clientFields = clientCN.split("\\.", 2);
     if (requestTarget.contains("publish")) {
-      PublishEvent event = Utility.fromJson(requestJson, PublishEvent.class);
+      PublishEvent event = requestBody.readAs(PublishEvent.class);
       if (!clientFields[0].equalsIgnoreCase(event.getSource().getSystemName())) {
         log.error("Source system name and cert common name do not match! Event publishing denied!");
         throw new AuthException("Source system " + event.getSource().getSystemName() + " and cert common name (" + clientCN + ") do not match!");
       }
     } else if (requestTarget.endsWith("subscription")) {
-      EventFilter filter = Utility.fromJson(requestJson, EventFilter.class);
+      EventFilter filter = requestBody.readAs(EventFilter.class);
       if (!clientFields[0].equalsIgnoreCase(filter.getConsumer().getSystemName())) {
         log.error("Consumer system name and cert common name do not match! Event subscription/unsubscribe denied!");
         throw new AuthException("Consumer system " + filter.getConsumer().getSystemName() + " and cert common name (" + clientCN + ") do not match!");
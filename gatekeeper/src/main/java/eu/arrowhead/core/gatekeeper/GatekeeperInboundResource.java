@@ -131,7 +131,7 @@ public class GatekeeperInboundResource {
       if (!GatekeeperMain.USE_GATEWAY) {
         throw new ArrowheadException("The remote Gatekeeper is configured to use the Gateway Core System!");
       }
-      icnProposal.getRequesterSystem().setSystemName(GatekeeperMain.getGatewayProviderUri()[1]);
+      icnProposal.getRequesterSystem().setSystemName(GatekeeperMain.getGatewayProvider().getProvider().getSystemName());
     }
     ServiceRequestForm serviceRequestForm = new ServiceRequestForm.Builder(icnProposal.getRequesterSystem())
         .requesterCloud(icnProposal.getRequesterCloud()).requestedService(icnProposal.getRequestedService()).orchestrationFlags(orchestrationFlags)
@@ -172,13 +172,14 @@ public class GatekeeperInboundResource {
                                                                                 icnProposal.getGatewayPublicKey());
 
       // Sending request, parsing response
-      Response gatewayResponse = Utility.sendRequest(GatekeeperMain.getGatewayProviderUri()[0], "PUT", connectionRequest);
+      Response gatewayResponse = Utility.sendRequest(GatekeeperMain.getGatewayProvider().getUri(), "PUT", connectionRequest);
       ConnectToProviderResponse connectToProviderResponse = gatewayResponse.readEntity(ConnectToProviderResponse.class);
 
       GatewayConnectionInfo gatewayConnectionInfo = new GatewayConnectionInfo(chosenBroker.getAddress(), chosenBroker.getPort(),
                                                                               connectToProviderResponse.getQueueName(),
                                                                               connectToProviderResponse.getControlQueueName(),
-                                                                              GatekeeperMain.getGatewayProviderUri()[3]);
+                                                                              GatekeeperMain.getGatewayProvider().getProvider()
+                                                                                            .getAuthenticationInfo());
       // The AMQP broker can only create 1 channel at the moment, so the gatekeeper have to choose an orchestration form
       ICNEnd icnEnd = new ICNEnd(orchResponse.getResponse().get(0), gatewayConnectionInfo);
       log.info("ICNProposal: returning the first OrchestrationForm and the GatewayConnectionInfo to the requester Cloud.");
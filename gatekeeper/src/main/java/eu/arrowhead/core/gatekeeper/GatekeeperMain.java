@@ -8,6 +8,8 @@
 package eu.arrowhead.core.gatekeeper;
 
 import eu.arrowhead.common.ArrowheadMain;
+import eu.arrowhead.common.CoreSystemDirectory;
+import eu.arrowhead.common.CoreSystemDirectory.Endpoint;
 import eu.arrowhead.common.DatabaseManager;
 import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ArrowheadService;
@@ -17,11 +19,11 @@ import eu.arrowhead.common.exception.ArrowheadException;
 import eu.arrowhead.common.exception.AuthException;
 import eu.arrowhead.common.exception.ExceptionType;
 import eu.arrowhead.common.misc.CoreSystemService;
-import eu.arrowhead.common.misc.GetCoreSystemServicesTask;
-import eu.arrowhead.common.misc.NeedsCoreSystemService;
 import eu.arrowhead.common.misc.SecurityUtils;
 import eu.arrowhead.common.misc.TypeSafeProperties;
 import eu.arrowhead.common.web.ArrowheadCloudApi;
+import eu.arrowhead.common.web.CircuitBreakerApi;
+import eu.arrowhead.common.web.CoreSystemDirectoryApi;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -33,11 +35,7 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.ServiceConfigurationError;
-import java.util.Timer;
-import java.util.TimerTask;
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.UriBuilder;
@@ -52,9 +50,7 @@ import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 
-public class GatekeeperMain implements NeedsCoreSystemService {
-
-  public static TimerTask getServicesTask;
+public class GatekeeperMain {
 
   static boolean IS_SECURE;
   static boolean USE_GATEWAY;
@@ -68,17 +64,10 @@ public class GatekeeperMain implements NeedsCoreSystemService {
   private static String BASE64_PUBLIC_KEY;
   private static HttpServer inboundServer;
   private static HttpServer outboundServer;
-  private static String ORCHESTRATOR_URI;
-  private static String AUTH_CONTROL_URI;
-  private static String[] GATEWAY_CONSUMER_URI;
-  private static String[] GATEWAY_PROVIDER_URI;
 
   private static final TypeSafeProperties props;
   private static final Logger log = Logger.getLogger(GatekeeperMain.class.getName());
 
-  private static final String GET_CORE_SYSTEM_URLS_ERROR_MESSAGE = "The Gatekeeper core system has not acquireq the addresses of the "
-      + "Authorization, Orchestrator and Gateway core systems yet from the Service Registry. Wait 15 seconds and retry your request";
-
   static {
     props = Utility.getProp();
     PropertyConfigurator.configure(props);
@@ -86,16 +75,6 @@ public class GatekeeperMain implements NeedsCoreSystemService {
     TIMEOUT = props.getIntProperty("timeout", 30000);
   }
 
-  private GatekeeperMain() {
-    List<String> serviceDefs = new ArrayList<>(Arrays.asList(CoreSystemService.AUTH_CONTROL_SERVICE.getServiceDef(),
-                                                             CoreSystemService.GW_CONSUMER_SERVICE.getServiceDef(),
-                                                             CoreSystemService.GW_PROVIDER_SERVICE.getServiceDef(),
-                                                             CoreSystemService.ORCH_SERVICE.getServiceDef()));
-    getServicesTask = new GetCoreSystemServicesTask(this, serviceDefs);
-    Timer timer = new Timer();
-    timer.schedule(getServicesTask, 15L * 1000L, 60L * 60L * 1000L); //15 sec delay, 1 hour period
-  }
-
   public static void main(String[] args) throws IOException {
     System.out.println("Working directory: " + System.getProperty("user.dir"));
     DatabaseManager.init();
@@ -147,7 +126,8 @@ public class GatekeeperMain implements NeedsCoreSystemService {
       useSRService(true);
     }
     Utility.setServiceRegistryUri(SERVICE_REGISTRY_URI);
-    new GatekeeperMain();
+    CoreSystemDirectory.require(CoreSystemService.AUTH_CONTROL_SERVICE, CoreSystemService.GW_CONSUMER_SERVICE,
+                                CoreSystemService.GW_PROVIDER_SERVICE, CoreSystemService.ORCH_SERVICE);
 
     if (daemon) {
       System.out.println("In daemon mode, process will terminate for TERM signal...");
@@ -172,7 +152,8 @@ public class GatekeeperMain implements NeedsCoreSystemService {
     if (inbound) {
       config.registerClasses(GatekeeperInboundResource.class, ArrowheadCloudApi.class);
     } else {
-      config.registerClasses(GatekeeperApi.class, GatekeeperOutboundResource.class, ArrowheadCloudApi.class);
+      config.registerClasses(GatekeeperApi.class, GatekeeperOutboundResource.class, ArrowheadCloudApi.class, CircuitBreakerApi.class,
+                             CoreSystemDirectoryApi.class);
     }
     config.packages("eu.arrowhead.common.exception", "eu.arrowhead.common.json", "eu.arrowhead.common.filter", "eu.arrowhead.core.gatekeeper.filter");
     config.packages("io.swagger.v3.jaxrs2.integration.resources");
@@ -201,7 +182,8 @@ public class GatekeeperMain implements NeedsCoreSystemService {
     if (inbound) {
       config.registerClasses(GatekeeperInboundResource.class, ArrowheadCloudApi.class);
     } else {
-      config.registerClasses(GatekeeperApi.class, GatekeeperOutboundResource.class, ArrowheadCloudApi.class);
+      config.registerClasses(GatekeeperApi.class, GatekeeperOutboundResource.class, ArrowheadCloudApi.class, CircuitBreakerApi.class,
+                             CoreSystemDirectoryApi.class);
     }
     config.packages("eu.arrowhead.common.exception", "eu.arrowhead.common.json", "eu.arrowhead.common.filter", "eu.arrowhead.core.gatekeeper.filter");
     config.packages("io.swagger.v3.jaxrs2.integration.resources");
@@ -325,29 +307,6 @@ public class GatekeeperMain implements NeedsCoreSystemService {
     }
   }
 
-  @Override
-  public void getCoreSystemServiceURIs(Map<String, String[]> uriMap) {
-    for (Entry<String, String[]> entry : uriMap.entrySet()) {
-      switch (entry.getKey()) {
-        case "AuthorizationControl":
-          AUTH_CONTROL_URI = entry.getValue()[0];
-          break;
-        case "ConnectToConsumer":
-          GATEWAY_CONSUMER_URI = entry.getValue();
-          break;
-        case "ConnectToProvider":
-          GATEWAY_PROVIDER_URI = entry.getValue();
-          break;
-        case "OrchestrationService":
-          ORCHESTRATOR_URI = entry.getValue()[0];
-          break;
-        default:
-          break;
-      }
-    }
-    System.out.println("Core system URLs acquired/updated.");
-  }
-
   private static String getServerCN(String certPath, String certPass, boolean inbound) {
     KeyStore keyStore = SecurityUtils.loadKeyStore(certPath, certPass);
     X509Certificate serverCert = SecurityUtils.getFirstCertFromKeyStore(keyStore);
@@ -385,30 +344,18 @@ public class GatekeeperMain implements NeedsCoreSystemService {
   }
 
   static String getOrchestratorUri() {
-    if (ORCHESTRATOR_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
-    }
-    return ORCHESTRATOR_URI;
+    return CoreSystemDirectory.getUri(CoreSystemService.ORCH_SERVICE);
   }
 
   static String getAuthControlUri() {
-    if (AUTH_CONTROL_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
-    }
-    return AUTH_CONTROL_URI;
+    return CoreSystemDirectory.getUri(CoreSystemService.AUTH_CONTROL_SERVICE);
   }
 
-  static String[] getGatewayConsumerUri() {
-    if (GATEWAY_CONSUMER_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
-    }
-    return GATEWAY_CONSUMER_URI;
+  static Endpoint getGatewayConsumer() {
+    return CoreSystemDirectory.get(CoreSystemService.GW_CONSUMER_SERVICE);
   }
 
-  static String[] getGatewayProviderUri() {
-    if (GATEWAY_PROVIDER_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
-    }
-    return GATEWAY_PROVIDER_URI;
+  static Endpoint getGatewayProvider() {
+    return CoreSystemDirectory.get(CoreSystemService.GW_PROVIDER_SERVICE);
   }
 }
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -93,14 +94,22 @@ public class GatekeeperOutboundResource {
     }
     log.info("Sending GSD poll request to " + cloudURIs.size() + " clouds.");
 
-    // Finalizing the URIs, process the responses
+    // Finalizing the URIs, and sending out the GSD polls in parallel
+    List<String> pollURIs = new ArrayList<>();
+    List<CompletableFuture<Response>> polls = new ArrayList<>();
+    for (String uri : cloudURIs) {
+      uri = UriBuilder.fromPath(uri).path("gsd_poll").toString();
+      pollURIs.add(uri);
+      polls.add(Utility.sendRequestAsync(uri, "PUT", gsdPoll, GatekeeperMain.outboundClientContext, GatekeeperMain.TIMEOUT));
+    }
+
+    // Process the responses
     List<GSDAnswer> gsdAnswerList = new ArrayList<>();
     Response response;
     int i = 0;
-    for (String uri : cloudURIs) {
-      uri = UriBuilder.fromPath(uri).path("gsd_poll").toString();
+    for (String uri : pollURIs) {
       try {
-        response = Utility.sendRequest(uri, "PUT", gsdPoll, GatekeeperMain.outboundClientContext);
+        response = Utility.getAsyncResult(polls.get(i));
       }
       // We skip those that did not respond positively, add the rest to the result list
       catch (ArrowheadException ex) {
@@ -156,7 +165,7 @@ public class GatekeeperOutboundResource {
       Map<String, Object> restrictionMap = new HashMap<>();
       restrictionMap.put("secure", GatekeeperMain.IS_SECURE);
       icnProposal.setPreferredBrokers(dm.getAll(Broker.class, restrictionMap));
-      icnProposal.setGatewayPublicKey(GatekeeperMain.getGatewayConsumerUri()[3]);
+      icnProposal.setGatewayPublicKey(GatekeeperMain.getGatewayConsumer().getProvider().getAuthenticationInfo());
     }
 
     String icnUri = Utility.getUri(requestForm.getTargetCloud().getAddress(), requestForm.getTargetCloud().getPort(),
@@ -188,14 +197,15 @@ public class GatekeeperOutboundResource {
 
     // Sending the gateway request and parsing the response
     Response gatewayResponse = Utility
-        .sendRequest(GatekeeperMain.getGatewayConsumerUri()[0], "PUT", connectionRequest, GatekeeperMain.outboundServerContext);
+        .sendRequest(GatekeeperMain.getGatewayConsumer().getUri(), "PUT", connectionRequest, GatekeeperMain.outboundServerContext);
     ConnectToConsumerResponse connectToConsumerResponse = gatewayResponse.readEntity(ConnectToConsumerResponse.class);
 
+    ArrowheadSystem gatewayProvider = GatekeeperMain.getGatewayConsumer().getProvider();
     ArrowheadSystem gatewaySystem = new ArrowheadSystem();
-    gatewaySystem.setSystemName(GatekeeperMain.getGatewayConsumerUri()[1]);
-    gatewaySystem.setAddress(GatekeeperMain.getGatewayConsumerUri()[2]);
+    gatewaySystem.setSystemName(gatewayProvider.getSystemName());
+    gatewaySystem.setAddress(gatewayProvider.getAddress());
     gatewaySystem.setPort(connectToConsumerResponse.getServerSocketPort());
-    gatewaySystem.setAuthenticationInfo(GatekeeperMain.getGatewayConsumerUri()[3]);
+    gatewaySystem.setAuthenticationInfo(gatewayProvider.getAuthenticationInfo());
     icnEnd.getOrchestrationForm().setProvider(gatewaySystem);
     List<OrchestrationForm> orchResponse = new ArrayList<>();
     orchResponse.add(icnEnd.getOrchestrationForm());
@@ -8,6 +8,7 @@
 package eu.arrowhead.core.gateway.filter;
 
 import eu.arrowhead.common.filter.AccessControlFilter;
+import eu.arrowhead.common.filter.RequestBody;
 import eu.arrowhead.common.misc.SecurityUtils;
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
@@ -18,7 +19,7 @@ import javax.ws.rs.ext.Provider;
 public class GatewayACF extends AccessControlFilter {
 
   @Override
-  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, String requestJson) {
+  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, RequestBody requestBody) {
     if (!SecurityUtils.isKeyStoreCNArrowheadValid(clientCN)) {
       log.info(clientCN + " is not valid common name, access denied!");
       return false;
@@ -27,6 +28,11 @@ public class GatewayACF extends AccessControlFilter {
     String serverCN = (String) configuration.getProperty("server_common_name");
     String[] serverFields = serverCN.split("\\.", 2);
 
+    if (isCommonManagementTarget(requestTarget)) {
+      // Only the local System Operator can use the management resources common to every core system
+      return isLocalSysop(clientCN);
+    }
+
     if (requestTarget.contains("mgmt")) {
       // Only the local System Operator can use the API methods
       return clientCN.equalsIgnoreCase("sysop." + serverFields[1]);
@@ -0,0 +1,167 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.OrchestrationForm;
+import eu.arrowhead.common.messages.OrchestrationResponse;
+import eu.arrowhead.common.messages.PreferredProvider;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.misc.BoundedCache;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import eu.arrowhead.core.orchestrator.matchmaking.MatchmakingStrategies;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.log4j.Logger;
+
+/**
+ * Cache of the dynamic orchestration results. Consumers tend to request the same orchestration again every few seconds, and the result only changes
+ * when the Service Registry or the authorization rules change, so it is reused for <tt>orch_cache_ttl</tt> seconds, or until the registration of a
+ * returned provider (or a returned token) expires, if that comes sooner. Requests with the <i>bypassCache</i> flag always go through the whole
+ * orchestration process, and refresh the cached result. Results of the non-deterministic matchmaking strategies (e.g. round-robin) are not cached,
+ * since that would keep returning the same provider.
+ */
+public final class OrchestrationCache {
+
+  private static final Logger log = Logger.getLogger(OrchestrationCache.class.getName());
+  private static final BoundedCache<List<Object>, OrchestrationResponse> cache;
+  private static final long ttlMillis;
+
+  static {
+    TypeSafeProperties props = Utility.getProp();
+    int cacheSize = props.getIntProperty("orch_cache_size", 1000);
+    ttlMillis = props.getIntProperty("orch_cache_ttl", 10) * 1000L;
+    cache = cacheSize > 0 && ttlMillis > 0 ? new BoundedCache<>(cacheSize, ttlMillis) : null;
+  }
+
+  private OrchestrationCache() throws AssertionError {
+    throw new AssertionError("OrchestrationCache is a non-instantiable class");
+  }
+
+  /**
+   * Returns the cached result of the orchestration request, or null if there is none (or the request can not be served from the cache).
+   */
+  static OrchestrationResponse get(ServiceRequestForm srf) {
+    if (!isCacheable(srf) || srf.getOrchestrationFlags().get("bypassCache")) {
+      return null;
+    }
+    OrchestrationResponse cached = cache.get(toKey(srf));
+    return cached == null ? null : copyOf(cached);
+  }
+
+  /**
+   * Caches the result of the orchestration request.
+   *
+   * @param srList the Service Registry entries of the providers in the response
+   */
+  static void put(ServiceRequestForm srf, OrchestrationResponse response, List<ServiceRegistryEntry> srList) {
+    if (!isCacheable(srf)) {
+      return;
+    }
+
+    long ttl = ttlMillis;
+    LocalDateTime now = LocalDateTime.now();
+    for (ServiceRegistryEntry entry : srList) {
+      if (entry.getEndOfValidity() != null) {
+        ttl = Math.min(ttl, Duration.between(now, entry.getEndOfValidity()).toMillis());
+      }
+    }
+    if (OrchestratorDriver.TOKEN_DURATION > 0) {
+      ttl = Math.min(ttl, OrchestratorDriver.TOKEN_DURATION);
+    }
+    if (ttl > 0) {
+      cache.put(toKey(srf), copyOf(response), ttl);
+    }
+  }
+
+  /**
+   * Returns the size and the hit/miss counters of the cache.
+   */
+  public static Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<>();
+    if (cache != null) {
+      statistics.put("size", (long) cache.size());
+      statistics.put("hits", cache.getHits());
+      statistics.put("misses", cache.getMisses());
+    }
+    return statistics;
+  }
+
+  public static void clear() {
+    if (cache != null) {
+      cache.clear();
+      log.info("Orchestration cache cleared");
+    }
+  }
+
+  /* The cached response is a private copy, and every hit gets its own copy of it, so the callers can modify their response (and the objects in it)
+     without changing the cached one, or the response of another request */
+  static OrchestrationResponse copyOf(OrchestrationResponse response) {
+    List<OrchestrationForm> forms = new ArrayList<>();
+    for (OrchestrationForm form : response.getResponse()) {
+      forms.add(new OrchestrationForm(copyOf(form.getService()), copyOf(form.getProvider()), form.getServiceURI(), form.getInstruction(),
+                                      form.getAuthorizationToken(), form.getSignature(),
+                                      form.getWarnings() == null ? null : new ArrayList<>(form.getWarnings())));
+    }
+    OrchestrationResponse copy = new OrchestrationResponse(forms);
+    copy.setError(response.getError());
+    return copy;
+  }
+
+  private static ArrowheadService copyOf(ArrowheadService service) {
+    if (service == null) {
+      return null;
+    }
+    ArrowheadService copy = new ArrowheadService(service.getServiceDefinition(),
+                                                 service.getInterfaces() == null ? null : new HashSet<>(service.getInterfaces()),
+                                                 service.getServiceMetadata() == null ? null : new HashMap<>(service.getServiceMetadata()));
+    copy.setId(service.getId());
+    return copy;
+  }
+
+  private static ArrowheadSystem copyOf(ArrowheadSystem system) {
+    if (system == null) {
+      return null;
+    }
+    ArrowheadSystem copy = new ArrowheadSystem(system);
+    copy.setId(system.getId());
+    return copy;
+  }
+
+  //QoS reservations have side effects, so those requests always go through the whole process
+  private static boolean isCacheable(ServiceRequestForm srf) {
+    Map<String, Boolean> flags = srf.getOrchestrationFlags();
+    return cache != null && !flags.get("enableQoS") && (!flags.get("matchmaking") || MatchmakingStrategies.forRequest(srf).isDeterministic());
+  }
+
+  private static List<Object> toKey(ServiceRequestForm srf) {
+    ArrowheadService service = srf.getRequestedService();
+    Map<String, Boolean> flags = new TreeMap<>(srf.getOrchestrationFlags());
+    flags.remove("bypassCache");
+    List<Object> preferredProviders = new ArrayList<>();
+    for (PreferredProvider provider : srf.getPreferredProviders()) {
+      preferredProviders.add(Arrays.asList(provider.getProviderSystem(), provider.getProviderCloud()));
+    }
+    return Arrays.asList(srf.getRequesterSystem(), srf.getRequesterCloud(), service.getServiceDefinition(), new TreeSet<>(service.getInterfaces()),
+                         new TreeMap<>(service.getServiceMetadata()), flags, preferredProviders,
+                         String.valueOf(srf.getCommands() == null ? null : srf.getCommands().get(MatchmakingStrategies.COMMAND_KEY)));
+  }
+
+}
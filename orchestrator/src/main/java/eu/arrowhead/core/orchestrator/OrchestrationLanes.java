@@ -0,0 +1,194 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.exception.ErrorMessage;
+import eu.arrowhead.common.exception.ExceptionType;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.misc.Deadline;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.apache.log4j.Logger;
+
+/**
+ * Runs the orchestrations on separate, bounded thread pools (lanes) by orchestration mode, instead of the threads of the web-server, so the slow
+ * inter-cloud orchestrations (which wait for other clouds, up to tens of seconds) can not hold up the quick Store orchestrations. When the threads
+ * and the queue of a lane are all taken, the new requests of that lane are rejected right away with <tt>503 Service Unavailable</tt> and a
+ * <tt>Retry-After</tt> header, while the other lanes keep serving their requests.
+ * <p>
+ * The size of the lanes is set by the <tt>orch_lane_[store|dynamic|intercloud]_threads</tt> and <tt>orch_lane_[store|dynamic|intercloud]_queue</tt>
+ * config keys, 0 threads means the orchestrations of the lane run on the web-server thread, without a limit.
+ */
+public final class OrchestrationLanes {
+
+  public enum Lane {
+    //Orchestration Store based orchestrations
+    STORE(16, 256),
+    //Dynamic orchestrations, and the requests of other clouds (served the same way)
+    DYNAMIC(16, 128),
+    //Orchestrations triggering the inter-cloud negotiations with other clouds
+    INTERCLOUD(8, 32);
+
+    private final int defaultThreads;
+    private final int defaultQueueSize;
+
+    Lane(int defaultThreads, int defaultQueueSize) {
+      this.defaultThreads = defaultThreads;
+      this.defaultQueueSize = defaultQueueSize;
+    }
+
+    /**
+     * Returns the lane of the orchestration mode chosen by the orchestration flags of the request. The request does not have to be validated yet
+     * (the forms of a batch are validated one by one, on the lane), so missing flags are taken as false.
+     */
+    public static Lane of(ServiceRequestForm srf) {
+      Map<String, Boolean> flags = srf.getOrchestrationFlags();
+      if (isSet(flags, "triggerInterCloud")) {
+        return INTERCLOUD;
+      }
+      return isSet(flags, "externalServiceRequest") || isSet(flags, "overrideStore") ? DYNAMIC : STORE;
+    }
+
+    private static boolean isSet(Map<String, Boolean> flags, String flag) {
+      return flags != null && Boolean.TRUE.equals(flags.get(flag));
+    }
+
+    /**
+     * Returns the lane of the slowest orchestration mode in the batch. Null requests are left out, they fail the validation on the lane.
+     */
+    public static Lane of(List<ServiceRequestForm> srfs) {
+      Lane lane = STORE;
+      for (ServiceRequestForm srf : srfs) {
+        if (srf == null) {
+          continue;
+        }
+        Lane requestLane = of(srf);
+        if (requestLane.ordinal() > lane.ordinal()) {
+          lane = requestLane;
+        }
+      }
+      return lane;
+    }
+
+    private String getName() {
+      return name().toLowerCase();
+    }
+  }
+
+  private static final Logger log = Logger.getLogger(OrchestrationLanes.class.getName());
+  private static final TypeSafeProperties props = Utility.getProp();
+  private static final int RETRY_AFTER = props.getIntProperty("orch_lane_retry_after", 1);
+  private static final Map<Lane, ThreadPoolExecutor> executors = new EnumMap<>(Lane.class);
+  private static final Map<Lane, AtomicLong> rejectedCounts = new EnumMap<>(Lane.class);
+
+  static {
+    for (Lane lane : Lane.values()) {
+      int threads = props.getIntProperty("orch_lane_" + lane.getName() + "_threads", lane.defaultThreads);
+      int queueSize = props.getIntProperty("orch_lane_" + lane.getName() + "_queue", lane.defaultQueueSize);
+      if (threads > 0) {
+        executors.put(lane, createExecutor(lane, threads, queueSize));
+      }
+      rejectedCounts.put(lane, new AtomicLong());
+    }
+  }
+
+  private OrchestrationLanes() throws AssertionError {
+    throw new AssertionError("OrchestrationLanes is a non-instantiable class");
+  }
+
+  private static ThreadPoolExecutor createExecutor(Lane lane, int threads, int queueSize) {
+    AtomicInteger threadCount = new AtomicInteger();
+    BlockingQueue<Runnable> queue = queueSize > 0 ? new LinkedBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, queue, runnable -> {
+      Thread thread = new Thread(runnable, "orchestration-" + lane.getName() + "-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Runs the orchestration on the thread pool of the lane, and resumes the suspended request with its result (or exception). The deadline of the
+   * request is carried over to the thread of the lane, and the orchestration is not started if the deadline passed while it was waiting in the
+   * queue.
+   *
+   * @param origin the URI of the request, for the error message of the rejected requests
+   */
+  public static void submit(Lane lane, AsyncResponse asyncResponse, String origin, Supplier<Response> orchestration) {
+    Supplier<Response> task = Deadline.propagate(() -> {
+      Deadline.check("starting the " + lane.getName() + " orchestration");
+      return orchestration.get();
+    });
+    Runnable resumingTask = () -> {
+      try {
+        asyncResponse.resume(task.get());
+      } catch (Throwable t) {
+        //The exception mappers create the error response, like for the synchronous requests
+        asyncResponse.resume(t);
+      }
+    };
+
+    ThreadPoolExecutor executor = executors.get(lane);
+    if (executor == null) {
+      resumingTask.run();
+      return;
+    }
+    try {
+      executor.execute(resumingTask);
+    } catch (RejectedExecutionException e) {
+      long rejected = rejectedCounts.get(lane).incrementAndGet();
+      //Only every 100th rejection is logged, the log would be flooded during an overload
+      if (rejected % 100 == 1) {
+        log.warn("The " + lane.getName() + " orchestration lane is full, request rejected (" + rejected + " rejected so far)");
+      }
+      String message = "The Orchestrator is overloaded with " + lane.getName() + " orchestrations, retry the request later.";
+      ErrorMessage error = new ErrorMessage(message, Status.SERVICE_UNAVAILABLE.getStatusCode(), ExceptionType.UNAVAILABLE, origin);
+      //Thanks to the Retry-After header, the circuit breakers of the clients do not count this as a failure of the whole Orchestrator host
+      asyncResponse.resume(Response.status(Status.SERVICE_UNAVAILABLE).entity(error).header(HttpHeaders.RETRY_AFTER, RETRY_AFTER).build());
+    }
+  }
+
+  /**
+   * Returns the size, the number of running and queued orchestrations, and the number of completed and rejected orchestrations of every lane.
+   */
+  public static Map<String, Map<String, Long>> getStatistics() {
+    Map<String, Map<String, Long>> statistics = new LinkedHashMap<>();
+    for (Lane lane : Lane.values()) {
+      Map<String, Long> laneStatistics = new LinkedHashMap<>();
+      ThreadPoolExecutor executor = executors.get(lane);
+      if (executor != null) {
+        laneStatistics.put("threads", (long) executor.getMaximumPoolSize());
+        laneStatistics.put("active", (long) executor.getActiveCount());
+        laneStatistics.put("queued", (long) executor.getQueue().size());
+        laneStatistics.put("completed", executor.getCompletedTaskCount());
+      }
+      laneStatistics.put("rejected", rejectedCounts.get(lane).get());
+      statistics.put(lane.getName(), laneStatistics);
+    }
+    return statistics;
+  }
+
+}
@@ -13,7 +13,9 @@ import eu.arrowhead.common.database.ArrowheadService;
 import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.database.OrchestrationStore;
 import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.exception.ArrowheadException;
 import eu.arrowhead.common.exception.DataNotFoundException;
+import eu.arrowhead.common.exception.UnavailableServerException;
 import eu.arrowhead.common.messages.GSDAnswer;
 import eu.arrowhead.common.messages.GSDRequestForm;
 import eu.arrowhead.common.messages.GSDResult;
@@ -24,19 +26,32 @@ import eu.arrowhead.common.messages.IntraCloudAuthResponse;
 import eu.arrowhead.common.messages.OrchestrationForm;
 import eu.arrowhead.common.messages.OrchestrationResponse;
 import eu.arrowhead.common.messages.PreferredProvider;
+import eu.arrowhead.common.messages.QoSReservationResponse;
+import eu.arrowhead.common.messages.QoSReserve;
+import eu.arrowhead.common.messages.QoSVerificationResponse;
+import eu.arrowhead.common.messages.QoSVerify;
 import eu.arrowhead.common.messages.ServiceQueryForm;
 import eu.arrowhead.common.messages.ServiceQueryResult;
 import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.messages.TokenData;
 import eu.arrowhead.common.messages.TokenGenHelper;
 import eu.arrowhead.common.messages.TokenGenerationRequest;
 import eu.arrowhead.common.messages.TokenGenerationResponse;
+import eu.arrowhead.common.misc.SingleFlight;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import eu.arrowhead.core.orchestrator.matchmaking.MatchmakingStrategy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriBuilder;
@@ -50,7 +65,17 @@ import org.apache.log4j.Logger;
  */
 final class OrchestratorDriver {
 
+  //Validity of the generated ArrowheadTokens in milliseconds, 0 means the tokens do not expire
+  static final int TOKEN_DURATION = 0;
+
   private static final Logger log = Logger.getLogger(OrchestratorService.class.getName());
+  /* The Service Registry query does not depend on the consumer, so the identical queries of concurrent orchestrations (e.g. when a lot of consumers
+     restart at the same time) share 1 query. The shared query is sent without the deadline of the orchestration which started it. */
+  private static final SingleFlight<List<Object>, List<ServiceRegistryEntry>> srQueries = new SingleFlight<>();
+  private static final TypeSafeProperties props = Utility.getProp();
+  //Time limit of the QoS Manager requests in milliseconds, and whether the orchestration goes on without QoS when the QoS Manager is unavailable
+  private static final long QOS_TIMEOUT = props.getIntProperty("orch_qos_timeout", 2000);
+  private static final boolean QOS_FALLBACK = props.getBooleanProperty("orch_qos_fallback", true);
 
   private OrchestratorDriver() throws AssertionError {
     throw new AssertionError("OrchestratorDriver is a non-instantiable class");
@@ -70,14 +95,43 @@ final class OrchestratorDriver {
    * @throws DataNotFoundException if the Service Registry response list is empty
    */
   static List<ServiceRegistryEntry> queryServiceRegistry(ArrowheadService service, boolean metadataSearch, boolean pingProviders) {
-    // Compiling the URI and the request payload
-    String srUri = UriBuilder.fromPath(OrchestratorMain.SR_BASE_URI).path("query").toString();
-    ServiceQueryForm queryForm = new ServiceQueryForm(service, pingProviders, metadataSearch);
+    //The shared query is sent asynchronously, so every caller (including the one starting it) only waits for it until its own deadline
+    return Utility.getAsyncResult(queryServiceRegistryAsync(service, metadataSearch, pingProviders));
+  }
+
+  /**
+   * Asynchronous version of {@link #queryServiceRegistry(ArrowheadService, boolean, boolean)}, the returned future fails with the same exceptions.
+   * The returned list can be modified by the caller.
+   */
+  static CompletableFuture<List<ServiceRegistryEntry>> queryServiceRegistryAsync(ArrowheadService service, boolean metadataSearch,
+                                                                                  boolean pingProviders) {
+    return srQueries.execute(toServiceQueryKey(service, metadataSearch, pingProviders), () -> Utility
+        .sendRequestAsync(getServiceRegistryQueryUri(), "PUT", new ServiceQueryForm(service, pingProviders, metadataSearch))
+        .thenApply(srResponse -> parseServiceQueryResult(service, srResponse))).thenApply(ArrayList::new);
+  }
 
-    // Sending the request, parsing the returned result
-    Response srResponse = Utility.sendRequest(srUri, "PUT", queryForm);
-    ServiceQueryResult serviceQueryResult = srResponse.readEntity(ServiceQueryResult.class);
+  /**
+   * Returns the key identifying the identical Service Registry queries: the parts of the requested service and the flags the query depends on.
+   */
+  static List<Object> toServiceQueryKey(ArrowheadService service, boolean metadataSearch, boolean pingProviders) {
+    return Arrays.asList(service.getServiceDefinition(), new TreeSet<>(service.getInterfaces()), new TreeMap<>(service.getServiceMetadata()),
+                         metadataSearch, pingProviders);
+  }
+
+  private static String getServiceRegistryQueryUri() {
+    return UriBuilder.fromPath(OrchestratorMain.SR_BASE_URI).path("query").toString();
+  }
 
+  private static List<ServiceRegistryEntry> parseServiceQueryResult(ArrowheadService service, Response srResponse) {
+    return filterServiceQueryResult(service, srResponse.readEntity(ServiceQueryResult.class));
+  }
+
+  /**
+   * Removes the non-valid entries, and the entries without a common interface with the requested service, from the Service Registry response.
+   *
+   * @throws DataNotFoundException if no entry is left
+   */
+  static List<ServiceRegistryEntry> filterServiceQueryResult(ArrowheadService service, ServiceQueryResult serviceQueryResult) {
     // If there are non-valid entries in the Service Registry response, we filter those out
     List<ServiceRegistryEntry> temp = new ArrayList<>();
     for (ServiceRegistryEntry entry : serviceQueryResult.getServiceQueryData()) {
@@ -85,7 +139,7 @@ final class OrchestratorDriver {
         temp.add(entry);
       }
       //NOTE this should be done on the SR side I think
-      if (!StoreService.hasMatchingInterfaces(service, entry.getProvidedService())) {
+      if (!StoreIndex.hasMatchingInterfaces(service, entry.getProvidedService())) {
         temp.add(entry);
       }
     }
@@ -116,12 +170,25 @@ final class OrchestratorDriver {
    */
 
   static Set<ArrowheadSystem> queryAuthorization(ArrowheadSystem consumer, ArrowheadService service, Set<ArrowheadSystem> providerSet) {
-    // Compiling the URI and the request payload
-    String uri = UriBuilder.fromPath(OrchestratorMain.getAuthControlUri()).path("intracloud").toString();
-    IntraCloudAuthRequest request = new IntraCloudAuthRequest(consumer, providerSet, service);
+    Response response = Utility.sendRequest(getAuthorizationQueryUri(), "PUT", new IntraCloudAuthRequest(consumer, providerSet, service));
+    return parseAuthorizationResult(response);
+  }
+
+  /**
+   * Asynchronous version of {@link #queryAuthorization(ArrowheadSystem, ArrowheadService, Set)}, the returned future fails with the same
+   * exceptions.
+   */
+  static CompletableFuture<Set<ArrowheadSystem>> queryAuthorizationAsync(ArrowheadSystem consumer, ArrowheadService service,
+                                                                        Set<ArrowheadSystem> providerSet) {
+    return Utility.sendRequestAsync(getAuthorizationQueryUri(), "PUT", new IntraCloudAuthRequest(consumer, providerSet, service))
+                  .thenApply(OrchestratorDriver::parseAuthorizationResult);
+  }
 
-    // Sending the request, parsing the returned result
-    Response response = Utility.sendRequest(uri, "PUT", request);
+  private static String getAuthorizationQueryUri() {
+    return UriBuilder.fromPath(OrchestratorMain.getAuthControlUri()).path("intracloud").toString();
+  }
+
+  private static Set<ArrowheadSystem> parseAuthorizationResult(Response response) {
     IntraCloudAuthResponse authResponse = response.readEntity(IntraCloudAuthResponse.class);
     Set<ArrowheadSystem> authorizedSystems = new HashSet<>();
     // Set view of HashMap ensures there are no duplicates between the keys (systems)
@@ -176,53 +243,138 @@ final class OrchestratorDriver {
     return preferredList;
   }
 
-  static List<ServiceRegistryEntry> doQoSVerification(List<ServiceRegistryEntry> srList) {
-    //placeholder for actual implementation
-    return srList;
+  /**
+   * Asks the QoS Manager whether the requested QoS (<tt>requestedQoS</tt> of the <tt>ServiceRequestForm</tt>) can be provided between the
+   * consumer and the providers, and removes the providers where it can not. All the providers are verified in 1 request to the QoS Manager.
+   * <p>
+   * If the QoS Manager is not available (or does not answer in time) and the <tt>orch_qos_fallback</tt> config key is true, the list is returned
+   * unverified, otherwise the orchestration fails.
+   *
+   * @param srList The list of <tt>ServiceRegistryEntry</tt>s still being considered
+   * @param srf The <tt>ServiceRequestForm</tt> sent in by the requester <tt>ArrowheadSystem</tt>
+   *
+   * @return the entries of the providers which can provide the requested QoS
+   *
+   * @throws DataNotFoundException if none of the providers can provide the requested QoS
+   */
+  static List<ServiceRegistryEntry> doQoSVerification(List<ServiceRegistryEntry> srList, ServiceRequestForm srf) {
+    List<ArrowheadSystem> providers = new ArrayList<>();
+    for (ServiceRegistryEntry entry : srList) {
+      if (!providers.contains(entry.getProvider())) {
+        providers.add(entry.getProvider());
+      }
+    }
+    QoSVerify qosVerify = new QoSVerify(srf.getRequesterSystem(), srf.getRequestedService(), providers, srf.getRequestedQoS(), srf.getCommands());
+
+    QoSVerificationResponse verification;
+    try {
+      Response response = Utility.getAsyncResult(Utility.sendRequestAsync(OrchestratorMain.getQoSVerifyUri(), "PUT", qosVerify, null, QOS_TIMEOUT));
+      verification = response.readEntity(QoSVerificationResponse.class);
+    } catch (UnavailableServerException e) {
+      if (!QOS_FALLBACK) {
+        throw e;
+      }
+      log.warn("doQoSVerification: QoS Manager unavailable, the providers are not verified: " + e.getMessage());
+      return srList;
+    }
+
+    List<ServiceRegistryEntry> verifiedList = new ArrayList<>();
+    for (ServiceRegistryEntry entry : srList) {
+      // Providers without a verdict (e.g. not on a network managed by the QoS Manager) can not guarantee the QoS either
+      if (Boolean.TRUE.equals(verification.getResponse().get(entry.getProvider()))) {
+        verifiedList.add(entry);
+      } else {
+        log.debug("doQoSVerification: " + entry.getProvider().getSystemName() + " rejected, motivation: " + verification.getRejectMotivation()
+                                                                                                                         .get(entry.getProvider()));
+      }
+    }
+    if (verifiedList.isEmpty()) {
+      log.error("doQoSVerification DataNotFoundException");
+      throw new DataNotFoundException("None of the provider Systems can provide the requested QoS.", Status.NOT_FOUND.getStatusCode());
+    }
+
+    log.info("doQoSVerification returns with " + verifiedList.size() + " ServiceRegistryEntries.");
+    return verifiedList;
   }
 
   /**
    * As the last step of the local orchestration process (if requested with the <i>matchmaking</i> orchestration flag) we pick out 1 provider from the
-   * remaining list. Providers preferred by the consumer have higher priority. Custom matchmaking algorithm can be implemented here, as of now it just
-   * returns the first (preferred) provider from the list. <p> If the <i>onlyPreferred</i> orchestration flag is set to true, then it is guaranteed
-   * there will be at least 1 preferred provider to choose from, since this method is called after {@link #removeNonPreferred(List, Set)}, where a
+   * remaining list. Providers preferred by the consumer have higher priority: if there are preferred providers in the list, the strategy chooses
+   * from those. <p> If the <i>onlyPreferred</i> orchestration flag is set to true, then it is guaranteed there will be at least 1 preferred provider
+   * to choose from, since this method is called after {@link #removeNonPreferred(List, Set)}, where a
    * {@link eu.arrowhead.common.exception.DataNotFoundException} is thrown if no preferred provider was found.
    *
    * @param srList The list of <tt>ServiceRegistryEntry</tt>s still being considered
    * @param preferredLocalProviders The set of <tt>ArrowheadSystem</tt>s in this Local Cloud preferred by the requester system
+   * @param strategy The matchmaking strategy choosing between the (preferred) providers
+   * @param srf The <tt>ServiceRequestForm</tt> sent in by the requester <tt>ArrowheadSystem</tt>
    *
    * @return the chosen ServiceRegistryEntry object, containing the necessary <tt>ArrowheadSystem</tt> and <tt>String</tt> serviceURI information to
    *     contact the provider
    */
-  static ServiceRegistryEntry intraCloudMatchmaking(List<ServiceRegistryEntry> srList, Set<ArrowheadSystem> preferredLocalProviders) {
-    // If there are no preferred providers, just return the first ServiceRegistryEntry
-    if (preferredLocalProviders.isEmpty()) {
-      log.info("intraCloudMatchmaking: no preferred local providers given, returning first ServiceRegistryEntry");
-      return srList.get(0);
-    } else { // Otherwise try to find a preferred provider first
-      for (ArrowheadSystem system : preferredLocalProviders) {
-        for (ServiceRegistryEntry entry : srList) {
-          if (system.equals(entry.getProvider())) {
-            log.info("intraCloudMatchmaking: returning the first ServiceRegistryEntry found with preferred provider");
-            return entry;
-          }
-        }
+  static ServiceRegistryEntry intraCloudMatchmaking(List<ServiceRegistryEntry> srList, Set<ArrowheadSystem> preferredLocalProviders,
+                                                    MatchmakingStrategy strategy, ServiceRequestForm srf) {
+    List<ServiceRegistryEntry> candidates = new ArrayList<>();
+    for (ServiceRegistryEntry entry : srList) {
+      if (preferredLocalProviders.contains(entry.getProvider())) {
+        candidates.add(entry);
       }
-      log.info("intraCloudMatchmaking: no match was found between preferred providers, returning the first ServiceRegistryEntry");
-      // And only return the first ServiceRegistryEntry, when no preferred provider was found
-      return srList.get(0);
     }
+    if (candidates.isEmpty()) {
+      log.info("intraCloudMatchmaking: no preferred provider in the list, choosing from all the " + srList.size() + " providers");
+      candidates = srList;
+    } else {
+      log.info("intraCloudMatchmaking: choosing from " + candidates.size() + " preferred providers");
+    }
+    return strategy.choose(candidates, srf);
   }
 
-  static List<ServiceRegistryEntry> doQosReservation(List<ServiceRegistryEntry> srList) {
-    //placeholder for actual implementation
-    return srList;
+  /**
+   * Matchmaking with QoS reservation: the chosen provider is reserved at the QoS Manager, and if the reservation fails, the matchmaking chooses
+   * again from the rest of the providers. Only the chosen provider is reserved, so there is 1 reservation request per orchestration, unless it
+   * fails.
+   * <p>
+   * If the QoS Manager is not available (or does not answer in time) and the <tt>orch_qos_fallback</tt> config key is true, the chosen provider
+   * is returned without reservation, otherwise the orchestration fails.
+   *
+   * @throws DataNotFoundException if the reservation failed on all the providers
+   * @see #intraCloudMatchmaking(List, Set, MatchmakingStrategy, ServiceRequestForm)
+   */
+  static ServiceRegistryEntry doQoSReservation(List<ServiceRegistryEntry> srList, Set<ArrowheadSystem> preferredLocalProviders,
+                                               MatchmakingStrategy strategy, ServiceRequestForm srf) {
+    List<ServiceRegistryEntry> candidates = new ArrayList<>(srList);
+    while (!candidates.isEmpty()) {
+      ServiceRegistryEntry entry = intraCloudMatchmaking(candidates, preferredLocalProviders, strategy, srf);
+      QoSReserve qosReserve = new QoSReserve(entry.getProvider(), srf.getRequesterSystem(), srf.getRequestedService(), srf.getRequestedQoS(),
+                                             srf.getCommands());
+      try {
+        Response response = Utility.getAsyncResult(
+            Utility.sendRequestAsync(OrchestratorMain.getQoSReserveUri(), "PUT", qosReserve, null, QOS_TIMEOUT));
+        if (response.readEntity(QoSReservationResponse.class).isSuccessfulReservation()) {
+          log.info("doQoSReservation: QoS reserved for " + entry.getProvider().getSystemName());
+          return entry;
+        }
+        log.warn("doQoSReservation: QoS reservation refused for " + entry.getProvider().getSystemName());
+      } catch (UnavailableServerException e) {
+        if (!QOS_FALLBACK) {
+          throw e;
+        }
+        log.warn("doQoSReservation: QoS Manager unavailable, " + entry.getProvider().getSystemName() + " is not reserved: " + e.getMessage());
+        return entry;
+      } catch (ArrowheadException e) {
+        log.warn("doQoSReservation: QoS reservation failed for " + entry.getProvider().getSystemName() + ": " + e.getMessage());
+      }
+      candidates.removeIf(candidate -> candidate.getProvider().equals(entry.getProvider()));
+    }
+
+    log.error("doQoSReservation DataNotFoundException");
+    throw new DataNotFoundException("The requested QoS could not be reserved on any of the provider Systems.", Status.NOT_FOUND.getStatusCode());
   }
 
   /**
-   * Queries the Orchestration Store database table for a consumer <tt>ArrowheadSystem</tt>. The Orchestration Store holds <i>hardwired</i>
-   * <tt>ArrowheadService</tt>s between consumer and provider <tt>ArrowheadSystem</tt>s. The provider system can be local or part of another cloud.
-   * For more information see {@link eu.arrowhead.common.database.OrchestrationStore}.
+   * Queries the Orchestration Store (its in-memory index, see {@link StoreService}) for a consumer <tt>ArrowheadSystem</tt>. The Orchestration Store
+   * holds <i>hardwired</i> <tt>ArrowheadService</tt>s between consumer and provider <tt>ArrowheadSystem</tt>s. The provider system can be local or
+   * part of another cloud. For more information see {@link eu.arrowhead.common.database.OrchestrationStore}.
    *
    * @param consumer The <tt>ArrowheadSystem</tt> object representing the consumer system (mandatory)
    * @param service The <tt>ArrowheadService</tt> object representing the service to be consumed (optional)
@@ -232,36 +384,17 @@ final class OrchestratorDriver {
    * @throws DataNotFoundException if the Store query yielded no results
    */
   static List<OrchestrationStore> queryOrchestrationStore(ArrowheadSystem consumer, ArrowheadService service) {
-    List<OrchestrationStore> retrievedList;
-
-    //If the service is null, we return all the default store entries.
-    if (service == null) {
-      retrievedList = StoreService.getDefaultStoreEntries(consumer);
-    }
-    //If not, we return all the Orchestration Store entries specified by the consumer and the service.
-    else {
-      retrievedList = StoreService.getStoreEntries(consumer, service);
-    }
+    /* If the service is null, we return all the default store entries. If not, we return all the Orchestration Store entries specified by the
+       consumer and the service. The index only contains valid entries, sorted by priority. */
+    List<OrchestrationStore> retrievedList = StoreService.getOrchestrationEntries(consumer, service);
 
     if (retrievedList.isEmpty()) {
       log.error("queryOrchestrationStore DataNotFoundException");
       throw new DataNotFoundException("No Orchestration Store entries were found for consumer " + consumer.getSystemName(),
                                       Status.NOT_FOUND.getStatusCode());
-    } else {
-      // Removing non-valid Store entries from the results
-      List<OrchestrationStore> temp = new ArrayList<>();
-      for (OrchestrationStore entry : retrievedList) {
-        if (!Utility.isBeanValid(entry)) {
-          temp.add(entry);
-        }
-      }
-      retrievedList.removeAll(temp);
-
-      // Sorting the store entries based on their int priority field
-      Collections.sort(retrievedList);
-      log.info("queryOrchestrationStore returns " + retrievedList.size() + " orchestration store entries matching the criteria");
-      return retrievedList;
     }
+    log.info("queryOrchestrationStore returns " + retrievedList.size() + " orchestration store entries matching the criteria");
+    return retrievedList;
   }
 
   /**
@@ -284,29 +417,50 @@ final class OrchestratorDriver {
 
     // If true, the Orchestration Store was queried for default entries, meaning the service is different for each store entry
     if (srf.getRequestedService() == null) {
+      /* The entries are grouped by consumer and service, and each group needs 1 SR and 1 Auth query. All the queries are sent at once (on the
+         bounded thread pool of the HTTP client), and then the results are processed one by one. */
+      Map<List<Object>, List<OrchestrationStore>> entriesByService = new LinkedHashMap<>();
       for (OrchestrationStore entry : entryList) {
-        try {
-          // Querying the Service Registry for the current service
-          List<ServiceRegistryEntry> serviceList = OrchestratorDriver
-              .queryServiceRegistry(entry.getService(), orchestrationFlags.get("metadataSearch"), orchestrationFlags.get("pingProviders"));
-          // Compiling the systems that provide the current service + filtering service list based on providers (to set port and metadata later)
-          for (ServiceRegistryEntry srEntry : serviceList) {
-            providerSystemsFromSR.add(srEntry.getProvider());
-            if (srEntry.getProvider().equals(entry.getProviderSystem())) {
-              srList.add(srEntry);
-            }
-          }
+        ArrowheadService service = entry.getService();
+        List<Object> key = Arrays.asList(entry.getConsumer(), service.getServiceDefinition(), new HashSet<>(service.getInterfaces()),
+                                         new HashMap<>(service.getServiceMetadata()));
+        entriesByService.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+      }
+
+      Map<List<Object>, CompletableFuture<List<ServiceRegistryEntry>>> srQueries = new HashMap<>();
+      Map<List<Object>, CompletableFuture<Set<ArrowheadSystem>>> authQueries = new HashMap<>();
+      for (Map.Entry<List<Object>, List<OrchestrationStore>> group : entriesByService.entrySet()) {
+        OrchestrationStore first = group.getValue().get(0);
+        Set<ArrowheadSystem> providerSystems = new HashSet<>();
+        for (OrchestrationStore entry : group.getValue()) {
+          providerSystems.add(entry.getProviderSystem());
+        }
+        srQueries.put(group.getKey(), OrchestratorDriver
+            .queryServiceRegistryAsync(first.getService(), orchestrationFlags.get("metadataSearch"), orchestrationFlags.get("pingProviders")));
+        authQueries.put(group.getKey(), OrchestratorDriver.queryAuthorizationAsync(first.getConsumer(), first.getService(), providerSystems));
+      }
 
-          // Querying the Authorization to see if the provider system is authorized for this servicing or not
-          providerSystemsFromAuth = OrchestratorDriver
-              .queryAuthorization(entry.getConsumer(), entry.getService(), Collections.singleton(entry.getProviderSystem()));
+      for (Map.Entry<List<Object>, List<OrchestrationStore>> group : entriesByService.entrySet()) {
+        // An empty SR or Auth response (DataNotFoundException) means none of the entries of the group passed the cross-check
+        List<ServiceRegistryEntry> serviceList = getCrossCheckResult(srQueries.get(group.getKey()), Collections.emptyList());
+        providerSystemsFromAuth = getCrossCheckResult(authQueries.get(group.getKey()), Collections.emptySet());
+        providerSystemsFromSR.clear();
+        for (ServiceRegistryEntry srEntry : serviceList) {
+          providerSystemsFromSR.add(srEntry.getProvider());
+        }
 
+        for (OrchestrationStore entry : group.getValue()) {
           // Remove the Store entry from the list, if the SR or Auth crosscheck fails
           if (!providerSystemsFromSR.contains(entry.getProviderSystem()) || !providerSystemsFromAuth.contains(entry.getProviderSystem())) {
             toRemove.add(entry);
+            continue;
+          }
+          // Keeping the SR entries of the provider (to set port and metadata later)
+          for (ServiceRegistryEntry srEntry : serviceList) {
+            if (srEntry.getProvider().equals(entry.getProviderSystem())) {
+              srList.add(srEntry);
+            }
           }
-        } catch (DataNotFoundException e) {
-          toRemove.add(entry);
         }
       }
       entryList.removeAll(toRemove);
@@ -370,6 +524,14 @@ final class OrchestratorDriver {
     return entryList;
   }
 
+  private static <T> T getCrossCheckResult(CompletableFuture<T> query, T emptyResult) {
+    try {
+      return Utility.getAsyncResult(query);
+    } catch (DataNotFoundException e) {
+      return emptyResult;
+    }
+  }
+
   /**
    * Initiates the Global Service Discovery process by sending a request to the Gatekeeper Core System.
    *
@@ -524,7 +686,8 @@ final class OrchestratorDriver {
   /**
    * Requests <tt>ArrowheadToken</tt> generation from the Authorization Core System for <tt>ArrowheadService</tt>s, where the metadata contains the
    * "security-token" key-pair. The consumer <tt>ArrowheadSystem</tt>s will use these credentials to contact the provider <tt>ArrowheadSystem</tt>s
-   * (if the providers are operating in a secure manner).
+   * (if the providers are operating in a secure manner). The tokens of the different services are requested concurrently, and the still valid tokens
+   * generated for earlier orchestrations are reused (see {@link TokenCache}).
    *
    * @param srf The <tt>ServiceRequestForm</tt> sent in by the requester <tt>ArrowheadSystem</tt>. 3 different fields of it is used in this method.
    * @param ofList The <tt>OrchestrationForm</tt> list the Orchestrator will send back.
@@ -532,26 +695,47 @@ final class OrchestratorDriver {
    * @return the same <tt>OrchestrationForm</tt> list supplemented with the generated <tt>ArrowheadToken</tt>s for providers
    */
   static List<OrchestrationForm> generateAuthTokens(ServiceRequestForm srf, List<OrchestrationForm> ofList) {
-    int tokenCount = 0;
+    ArrowheadSystem consumer = srf.getRequesterSystem();
+    ArrowheadCloud consumerCloud = srf.getRequesterCloud();
+    List<TokenData> tokens = new ArrayList<>();
     /* Getting a list of service - providers pairs, where the service contains the security - token metadata. This ensures that token generation is
        invoked the minimum amount of times */
     List<TokenGenHelper> tokenGenHelpers = TokenGenHelper.convertOfList(ofList);
+    List<CompletableFuture<Response>> tokenRequests = new ArrayList<>();
+    long generatedAt = System.currentTimeMillis();
     for (TokenGenHelper helper : tokenGenHelpers) {
-      // Compiling the request payload
-      TokenGenerationRequest tokenRequest = new TokenGenerationRequest(srf.getRequesterSystem(), srf.getRequesterCloud(), helper.getProviders(),
-                                                                       helper.getService(), 0);
-      // Sending the token generation request, parsing the response
-      Response authResponse = Utility.sendRequest(OrchestratorMain.getTokenGenUri(), "PUT", tokenRequest);
-      TokenGenerationResponse tokenResponse = authResponse.readEntity(TokenGenerationResponse.class);
+      // Still valid tokens from earlier orchestrations are reused
+      List<ArrowheadSystem> providers = new ArrayList<>();
+      for (ArrowheadSystem provider : helper.getProviders()) {
+        TokenData cachedToken = TokenCache.get(consumer, consumerCloud, provider, helper.getService());
+        if (cachedToken != null) {
+          tokens.add(cachedToken);
+        } else {
+          providers.add(provider);
+        }
+      }
+      if (providers.isEmpty()) {
+        continue;
+      }
+
+      // Compiling the request payload, the requests of the different services are sent concurrently
+      TokenGenerationRequest tokenRequest = new TokenGenerationRequest(consumer, consumerCloud, providers, helper.getService(), TOKEN_DURATION);
+      tokenRequests.add(Utility.sendRequestAsync(OrchestratorMain.getTokenGenUri(), "PUT", tokenRequest));
+    }
 
+    int cachedCount = tokens.size();
+    for (CompletableFuture<Response> tokenRequest : tokenRequests) {
+      // Parsing the responses
+      TokenGenerationResponse tokenResponse = Utility.getAsyncResult(tokenRequest).readEntity(TokenGenerationResponse.class);
       if (tokenResponse != null && tokenResponse.getTokenData() != null && tokenResponse.getTokenData().size() > 0) {
-        TokenGenHelper.updateFormsWithTokens(ofList, tokenResponse.getTokenData());
-        tokenCount = tokenResponse.getTokenData().size();
+        tokens.addAll(tokenResponse.getTokenData());
+        TokenCache.put(consumer, consumerCloud, tokenResponse.getTokenData(), generatedAt, TOKEN_DURATION);
       }
     }
 
-    if (tokenCount > 0) {
-      log.info("generateAuthTokens successfully returns with " + tokenCount + " tokens");
+    if (tokens.size() > 0) {
+      TokenGenHelper.updateFormsWithTokens(ofList, tokens);
+      log.info("generateAuthTokens successfully returns with " + tokens.size() + " tokens (" + cachedCount + " from the cache)");
     }
     return ofList;
   }
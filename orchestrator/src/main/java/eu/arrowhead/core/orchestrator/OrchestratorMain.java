@@ -8,33 +8,19 @@
 package eu.arrowhead.core.orchestrator;
 
 import eu.arrowhead.common.ArrowheadMain;
-import eu.arrowhead.common.exception.ArrowheadException;
+import eu.arrowhead.common.CoreSystemDirectory;
 import eu.arrowhead.common.misc.CoreSystem;
 import eu.arrowhead.common.misc.CoreSystemService;
-import eu.arrowhead.common.misc.GetCoreSystemServicesTask;
-import eu.arrowhead.common.misc.NeedsCoreSystemService;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
+import eu.arrowhead.core.orchestrator.matchmaking.MatchmakingStrategies;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 
 
-public class OrchestratorMain extends ArrowheadMain implements NeedsCoreSystemService {
-
-  public static TimerTask getServicesTask;
+public class OrchestratorMain extends ArrowheadMain {
 
   static boolean USE_GATEKEEPER = true;
   static String SR_BASE_URI;
-  private static String AUTH_CONTROL_URI;
-  private static String TOKEN_GEN_URI;
-  private static String GSD_SERVICE_URI;
-  private static String ICN_SERVICE_URI;
-  private static final String GET_CORE_SYSTEM_URLS_ERROR_MESSAGE = "The Orchestrator core system has not acquired the addresses of the "
-      + "Authorization and Gatekeeper core systems yet from the Service Registry. Wait 15 seconds and retry your request";
+
+  private static volatile boolean qosRequired;
 
   private OrchestratorMain(String[] args) {
     String[] packages = {"eu.arrowhead.common", "eu.arrowhead.core.orchestrator"};
@@ -59,69 +45,55 @@ public class OrchestratorMain extends ArrowheadMain implements NeedsCoreSystemSe
     }
     SR_BASE_URI = srBaseUri;
 
-    List<String> serviceDefs = new ArrayList<>(
-        Arrays.asList(CoreSystemService.AUTH_CONTROL_SERVICE.getServiceDef(), CoreSystemService.TOKEN_GEN_SERVICE.getServiceDef()));
+    CoreSystemDirectory.require(CoreSystemService.AUTH_CONTROL_SERVICE, CoreSystemService.TOKEN_GEN_SERVICE);
     if (USE_GATEKEEPER) {
-      serviceDefs.addAll(Arrays.asList(CoreSystemService.GSD_SERVICE.getServiceDef(), CoreSystemService.ICN_SERVICE.getServiceDef()));
+      CoreSystemDirectory.require(CoreSystemService.GSD_SERVICE, CoreSystemService.ICN_SERVICE);
+    }
+    if (props.getBooleanProperty("orch_qos_enabled", false)) {
+      requireQoSServices();
     }
-    getServicesTask = new GetCoreSystemServicesTask(this, serviceDefs);
-    Timer timer = new Timer();
-    //TODO period to default.conf here + gatekeeper
-    timer.schedule(getServicesTask, 15L * 1000L, 60L * 60L * 1000L); //15 sec delay, 1 hour period
+    //Fails the startup if the configured matchmaking strategy does not exist
+    MatchmakingStrategies.getDefaultStrategy();
+    StoreService.refresh();
 
     listenForInput();
   }
 
-  //NOTE if a service def is changed, it needs to be modified here too!
-  //TODO find a way to make the switch/case work without the hardcoded strings
-  @Override
-  public void getCoreSystemServiceURIs(Map<String, String[]> uriMap) {
-    for (Entry<String, String[]> entry : uriMap.entrySet()) {
-      switch (entry.getKey()) {
-        case "AuthorizationControl":
-          AUTH_CONTROL_URI = entry.getValue()[0];
-          break;
-        case "TokenGeneration":
-          TOKEN_GEN_URI = entry.getValue()[0];
-          break;
-        case "GlobalServiceDiscovery":
-          GSD_SERVICE_URI = entry.getValue()[0];
-          break;
-        case "InterCloudNegotiations":
-          ICN_SERVICE_URI = entry.getValue()[0];
-          break;
-        default:
-          break;
-      }
-    }
-    System.out.println("Core system URLs acquired/updated.");
-  }
-
   static String getAuthControlUri() {
-    if (AUTH_CONTROL_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
-    }
-    return AUTH_CONTROL_URI;
+    return CoreSystemDirectory.getUri(CoreSystemService.AUTH_CONTROL_SERVICE);
   }
 
   static String getTokenGenUri() {
-    if (TOKEN_GEN_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
-    }
-    return TOKEN_GEN_URI;
+    return CoreSystemDirectory.getUri(CoreSystemService.TOKEN_GEN_SERVICE);
   }
 
   static String getGsdServiceUri() {
-    if (GSD_SERVICE_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
-    }
-    return GSD_SERVICE_URI;
+    return CoreSystemDirectory.getUri(CoreSystemService.GSD_SERVICE);
   }
 
   static String getIcnServiceUri() {
-    if (ICN_SERVICE_URI == null) {
-      throw new ArrowheadException(GET_CORE_SYSTEM_URLS_ERROR_MESSAGE, 500);
+    return CoreSystemDirectory.getUri(CoreSystemService.ICN_SERVICE);
+  }
+
+  static String getQoSVerifyUri() {
+    return getQoSServiceUri(CoreSystemService.QOS_VERIFY_SERVICE);
+  }
+
+  static String getQoSReserveUri() {
+    return getQoSServiceUri(CoreSystemService.QOS_RESERVE_SERVICE);
+  }
+
+  private static String getQoSServiceUri(CoreSystemService service) {
+    /* Without orch_qos_enabled, the QoS Manager services are only looked up by the first orchestration requesting QoS, which waits for the lookup
+       (see CoreSystemDirectory.get) */
+    if (!qosRequired) {
+      requireQoSServices();
     }
-    return ICN_SERVICE_URI;
+    return CoreSystemDirectory.getUri(service);
+  }
+
+  private static void requireQoSServices() {
+    qosRequired = true;
+    CoreSystemDirectory.require(CoreSystemService.QOS_VERIFY_SERVICE, CoreSystemService.QOS_RESERVE_SERVICE);
   }
 }
@@ -7,10 +7,16 @@
 
 package eu.arrowhead.core.orchestrator;
 
+import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.exception.BadPayloadException;
 import eu.arrowhead.common.messages.OrchestrationResponse;
+import eu.arrowhead.common.messages.ProviderFeedback;
 import eu.arrowhead.common.messages.ServiceRequestForm;
 import eu.arrowhead.common.web.ArrowheadSystemApi;
+import eu.arrowhead.core.orchestrator.OrchestrationLanes.Lane;
+import eu.arrowhead.core.orchestrator.matchmaking.ProviderStatistics;
+import java.util.List;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -18,9 +24,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
 import org.apache.log4j.Logger;
 
 /**
@@ -32,6 +42,7 @@ import org.apache.log4j.Logger;
 public class OrchestratorResource {
 
   private static final Logger log = Logger.getLogger(OrchestratorResource.class.getName());
+  private static final int MAX_BATCH_SIZE = Utility.getProp().getIntProperty("orch_batch_max_size", 100);
 
   /**
    * Simple test method to see if the http server where this resource is registered works or not.
@@ -45,14 +56,23 @@ public class OrchestratorResource {
 
   /**
    * This method initiates the correct orchestration process determined by orchestration flags in the <tt>ServiceRequestForm</tt>. The returned
-   * response (can) consists a list of endpoints where the requester System can consume the requested Service.
+   * response (can) consists a list of endpoints where the requester System can consume the requested Service. The orchestration runs in the lane
+   * of its orchestration mode (see {@link OrchestrationLanes}).
    *
    * @return OrchestrationResponse
    */
   @POST
-  public Response orchestrationProcess(@Valid ServiceRequestForm srf) {
+  public void orchestrationProcess(@Valid ServiceRequestForm srf, @Suspended AsyncResponse asyncResponse, @Context UriInfo uriInfo) {
     srf.validateCrossParameterConstraints();
 
+    OrchestrationLanes.submit(Lane.of(srf), asyncResponse, uriInfo.getAbsolutePath().toString(),
+                              () -> Response.status(Status.OK).entity(orchestrate(srf)).build());
+  }
+
+  /**
+   * Runs the orchestration process determined by the orchestration flags of the (already validated) request on the current thread.
+   */
+  public static OrchestrationResponse orchestrate(ServiceRequestForm srf) {
     OrchestrationResponse orchResponse;
     if (srf.getOrchestrationFlags().get("externalServiceRequest")) {
       log.info("Received an externalServiceRequest.");
@@ -69,7 +89,38 @@ public class OrchestratorResource {
     }
 
     log.info("The orchestration process returned with " + orchResponse.getResponse().size() + " orchestration forms.");
-    return Response.status(Status.OK).entity(orchResponse).build();
+    return orchResponse;
+  }
+
+  /**
+   * Serves a list of orchestration requests at once, see {@link OrchestratorService#batchOrchestration(List)}. External service requests are not
+   * allowed in a batch.
+   *
+   * @return the list of <tt>OrchestrationResponse</tt>s, in the order of the requests (failed requests only have the <i>error</i> field set)
+   */
+  @POST
+  @Path("batch")
+  public void batchOrchestrationProcess(List<ServiceRequestForm> srfs, @Suspended AsyncResponse asyncResponse, @Context UriInfo uriInfo) {
+    if (srfs.size() > MAX_BATCH_SIZE) {
+      throw new BadPayloadException("A batch can contain at most " + MAX_BATCH_SIZE + " orchestration requests.", Status.BAD_REQUEST.getStatusCode());
+    }
+    log.info("Received a batch orchestration request with " + srfs.size() + " orchestration requests.");
+
+    OrchestrationLanes.submit(Lane.of(srfs), asyncResponse, uriInfo.getAbsolutePath().toString(), () -> {
+      List<OrchestrationResponse> orchResponses = OrchestratorService.batchOrchestration(srfs);
+      return Response.status(Status.OK).entity(orchResponses).build();
+    });
+  }
+
+  /**
+   * Consumers can report the response times of the providers they got from the orchestration, to help the <i>responsetime</i> matchmaking strategy
+   * choose the faster providers.
+   */
+  @POST
+  @Path("feedback")
+  public Response providerFeedback(@Valid ProviderFeedback feedback) {
+    ProviderStatistics.record(feedback.getProvider(), feedback.getResponseTime());
+    return Response.ok().build();
   }
 
   /**
@@ -77,16 +128,18 @@ public class OrchestratorResource {
    */
   @GET
   @Path("{systemId}")
-  public Response storeOrchestrationProcess(@PathParam("systemId") long systemId) {
-    ArrowheadSystem requesterSystem = new ArrowheadSystemApi().getSystem(systemId);
-    log.info("Received a GET Store orchestration from: " + requesterSystem.getSystemName());
+  public void storeOrchestrationProcess(@PathParam("systemId") long systemId, @Suspended AsyncResponse asyncResponse, @Context UriInfo uriInfo) {
+    OrchestrationLanes.submit(Lane.STORE, asyncResponse, uriInfo.getAbsolutePath().toString(), () -> {
+      ArrowheadSystem requesterSystem = new ArrowheadSystemApi().getSystem(systemId);
+      log.info("Received a GET Store orchestration from: " + requesterSystem.getSystemName());
 
-    ServiceRequestForm srf = new ServiceRequestForm.Builder(requesterSystem).build();
-    srf.validateCrossParameterConstraints();
-    OrchestrationResponse orchResponse = OrchestratorService.orchestrationFromStore(srf);
+      ServiceRequestForm srf = new ServiceRequestForm.Builder(requesterSystem).build();
+      srf.validateCrossParameterConstraints();
+      OrchestrationResponse orchResponse = OrchestratorService.orchestrationFromStore(srf);
 
-    log.info("Default store orchestration returned with " + orchResponse.getResponse().size() + " orchestration forms.");
-    return Response.status(Status.OK).entity(orchResponse).build();
+      log.info("Default store orchestration returned with " + orchResponse.getResponse().size() + " orchestration forms.");
+      return Response.status(Status.OK).entity(orchResponse).build();
+    });
   }
 
 }
@@ -7,12 +7,16 @@
 
 package eu.arrowhead.core.orchestrator;
 
+import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ArrowheadCloud;
 import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.database.OrchestrationStore;
 import eu.arrowhead.common.database.ServiceRegistryEntry;
 import eu.arrowhead.common.exception.ArrowheadException;
+import eu.arrowhead.common.exception.ArrowheadExceptionMapper;
+import eu.arrowhead.common.exception.BadPayloadException;
 import eu.arrowhead.common.exception.DataNotFoundException;
+import eu.arrowhead.common.exception.ErrorMessage;
 import eu.arrowhead.common.messages.GSDResult;
 import eu.arrowhead.common.messages.ICNResult;
 import eu.arrowhead.common.messages.OrchestrationForm;
@@ -20,14 +24,20 @@ import eu.arrowhead.common.messages.OrchestrationResponse;
 import eu.arrowhead.common.messages.OrchestratorWarnings;
 import eu.arrowhead.common.messages.PreferredProvider;
 import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.misc.Deadline;
+import eu.arrowhead.core.orchestrator.matchmaking.MatchmakingStrategies;
+import eu.arrowhead.core.orchestrator.matchmaking.MatchmakingStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.validation.Validation;
+import javax.validation.Validator;
 import javax.ws.rs.core.Response.Status;
 import org.apache.log4j.Logger;
 
@@ -49,24 +59,36 @@ final class OrchestratorService {
   /**
    * Represents the regular orchestration process where the requester <tt>ArrowheadSystem</tt> is in the local Cloud. In this process the
    * <i>Orchestration Store</i> is ignored, and the Orchestrator first tries to find a provider for the requested service in the local Cloud. If that
-   * fails but the <i>enableInterCloud</i> flag is set to true, the Orchestrator tries to find a provider in other Clouds.
+   * fails but the <i>enableInterCloud</i> flag is set to true, the Orchestrator tries to find a provider in other Clouds. The results of the
+   * Intra-Cloud orchestration are cached (see {@link OrchestrationCache}).
    *
    * @throws DataNotFoundException if no local provider <tt>ArrowheadSystem</tt> is found and <i>enableInterCloud</i> is false
    */
   static OrchestrationResponse dynamicOrchestration(ServiceRequestForm srf) {
-    Map<String, Boolean> orchestrationFlags = srf.getOrchestrationFlags();
+    OrchestrationResponse cachedResponse = getCachedResponse(srf);
+    return cachedResponse != null ? cachedResponse : dynamicOrchestration(srf, new ProviderLookup());
+  }
+
+  private static OrchestrationResponse getCachedResponse(ServiceRequestForm srf) {
+    OrchestrationResponse cachedResponse = OrchestrationCache.get(srf);
+    if (cachedResponse != null) {
+      log.info("dynamicOrchestration returns a cached result with " + cachedResponse.getResponse().size() + " service providers");
+    }
+    return cachedResponse;
+  }
 
+  private static OrchestrationResponse dynamicOrchestration(ServiceRequestForm srf, ProviderLookup lookup) {
+    Map<String, Boolean> orchestrationFlags = srf.getOrchestrationFlags();
     try {
       // Querying the Service Registry
-      List<ServiceRegistryEntry> srList = OrchestratorDriver
-          .queryServiceRegistry(srf.getRequestedService(), orchestrationFlags.get("metadataSearch"), orchestrationFlags.get("pingProviders"));
+      List<ServiceRegistryEntry> srList = lookup.queryServiceRegistry(srf);
 
       // Cross-checking the SR response with the Authorization
       Set<ArrowheadSystem> providerSystems = new HashSet<>();
       for (ServiceRegistryEntry entry : srList) {
         providerSystems.add(entry.getProvider());
       }
-      providerSystems = OrchestratorDriver.queryAuthorization(srf.getRequesterSystem(), srf.getRequestedService(), providerSystems);
+      providerSystems = lookup.queryAuthorization(srf, providerSystems);
 
       /*
        * The Authorization cross-check only returns the provider systems where the requester system is authorized to consume the service. We filter
@@ -96,26 +118,30 @@ final class OrchestratorService {
         srList = OrchestratorDriver.removeNonPreferred(srList, providerSystems);
       }
 
-      //placeholder step
+      // If QoS is requested, the providers which can not provide it are removed (all the providers are verified in 1 request)
       if (orchestrationFlags.get("enableQoS")) {
-        srList = OrchestratorDriver.doQoSVerification(srList);
+        srList = OrchestratorDriver.doQoSVerification(srList, srf);
       }
 
       // If matchmaking is requested, we pick out 1 ServiceRegistryEntry entity from the list. Preferred Systems (2nd arg) have higher priority
       if (orchestrationFlags.get("matchmaking")) {
-        ServiceRegistryEntry entry = OrchestratorDriver.intraCloudMatchmaking(srList, providerSystems);
+        MatchmakingStrategy strategy = MatchmakingStrategies.forRequest(srf);
+        // With QoS, only the chosen provider is reserved (QoS is not reserved without matchmaking, the consumer gets the verified providers)
+        ServiceRegistryEntry entry;
+        if (orchestrationFlags.get("enableQoS")) {
+          entry = OrchestratorDriver.doQoSReservation(srList, providerSystems, strategy, srf);
+        } else {
+          entry = OrchestratorDriver.intraCloudMatchmaking(srList, providerSystems, strategy, srf);
+        }
         srList.clear();
         srList.add(entry);
       }
 
-      //placeholder step
-      if (orchestrationFlags.get("enableQoS")) {
-        srList = OrchestratorDriver.doQosReservation(srList);
-      }
-
       // All the filtering is done, need to compile the response
       log.info("dynamicOrchestration finished with " + srList.size() + " service providers");
-      return compileOrchestrationResponse(srList, srf, null);
+      OrchestrationResponse response = compileOrchestrationResponse(srList, srf, null);
+      OrchestrationCache.put(srf, response, srList);
+      return response;
     }
     /*
      * If the Intra-Cloud orchestration fails somewhere (SR, Auth, filtering, matchmaking) we catch the exception, because Inter-Cloud
@@ -144,6 +170,73 @@ final class OrchestratorService {
     return triggerInterCloud(srf);
   }
 
+  /**
+   * Serves several orchestration requests of local consumers at once (e.g. all the services a system needs at startup). The Service Registry and
+   * Authorization queries of the dynamic orchestration requests are all started before processing the first request, and requests for the same
+   * service share the same queries. The requests are validated and processed independently: the response of an invalid or failed request only
+   * contains the error.
+   *
+   * @return the orchestration responses, in the same order as the requests
+   */
+  static List<OrchestrationResponse> batchOrchestration(List<ServiceRequestForm> srfs) {
+    ProviderLookup lookup = new ProviderLookup();
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    OrchestrationResponse[] responses = new OrchestrationResponse[srfs.size()];
+    for (int i = 0; i < srfs.size(); i++) {
+      ServiceRequestForm srf = srfs.get(i);
+      try {
+        //The requests are validated one by one, so an invalid request only fails itself, and not the whole batch
+        Utility.validateBean(validator, srf);
+        srf.validateCrossParameterConstraints();
+        if (isDynamicOrchestration(srf)) {
+          responses[i] = getCachedResponse(srf);
+          if (responses[i] == null) {
+            lookup.prefetch(srf);
+          }
+        }
+      } catch (ArrowheadException e) {
+        responses[i] = toErrorResponse(e);
+      }
+    }
+
+    for (int i = 0; i < srfs.size(); i++) {
+      if (responses[i] != null) {
+        continue;
+      }
+      ServiceRequestForm srf = srfs.get(i);
+      try {
+        if (srf.getOrchestrationFlags().get("externalServiceRequest")) {
+          throw new BadPayloadException("External service requests can not be sent in a batch.", Status.BAD_REQUEST.getStatusCode());
+        } else if (srf.getOrchestrationFlags().get("triggerInterCloud")) {
+          responses[i] = triggerInterCloud(srf);
+        } else if (!srf.getOrchestrationFlags().get("overrideStore")) {
+          responses[i] = orchestrationFromStore(srf);
+        } else {
+          responses[i] = dynamicOrchestration(srf, lookup);
+        }
+      } catch (ArrowheadException e) {
+        log.info("Orchestration request " + i + " of the batch failed: " + e.getMessage());
+        responses[i] = toErrorResponse(e);
+      }
+    }
+
+    log.info("batchOrchestration finished with " + srfs.size() + " orchestration responses");
+    return Arrays.asList(responses);
+  }
+
+  private static boolean isDynamicOrchestration(ServiceRequestForm srf) {
+    Map<String, Boolean> orchestrationFlags = srf.getOrchestrationFlags();
+    return orchestrationFlags.get("overrideStore") && !orchestrationFlags.get("externalServiceRequest") && !orchestrationFlags
+        .get("triggerInterCloud");
+  }
+
+  private static OrchestrationResponse toErrorResponse(ArrowheadException e) {
+    int errorCode = e.getErrorCode() != 0 ? e.getErrorCode() : ArrowheadExceptionMapper.getDefaultErrorCode(e.getExceptionType());
+    OrchestrationResponse response = new OrchestrationResponse();
+    response.setError(new ErrorMessage(e.getMessage(), errorCode, e.getExceptionType(), e.getOrigin()));
+    return response;
+  }
+
   /**
    * Represents the orchestration process where the <i>Orchestration Store</i> database is used to see if there is a provider for the requester
    * <tt>ArrowheadSystem</tt>. The <i>Orchestration Store</i> contains preset orchestration information, which should not change in runtime.
@@ -173,6 +266,8 @@ final class OrchestratorService {
     // In case of non-default store orchestration (service is fixed), we go one by one on the entries until we find one operational
     else {
       for (OrchestrationStore entry : entryList) {
+        // The failures of the ICN process are swallowed below, so the loop has to stop by itself when the requester is not waiting anymore
+        Deadline.check("trying the next Orchestration Store entry");
         // If the entry is intra-cloud, we can return with it, since it already passed the SR/Auth cross-checking
         if (entry.getProviderCloud() == null) {
           ServiceRegistryEntry service = new ServiceRegistryEntry(entry.getService(), entry.getProviderSystem(), entry.getServiceURI());
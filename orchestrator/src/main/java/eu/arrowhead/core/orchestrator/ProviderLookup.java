@@ -0,0 +1,101 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.misc.Deadline;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Service Registry and Authorization queries of the dynamic orchestration process. The queries are sent when they are needed, unless they were
+ * started in advance with {@link #prefetch(ServiceRequestForm)}: a batch orchestration starts the queries of all its requests at once, and the
+ * requests asking for the same service (and the same consumer, in case of the Authorization) share the same queries.
+ */
+final class ProviderLookup {
+
+  private final Map<List<Object>, CompletableFuture<List<ServiceRegistryEntry>>> srQueries = new HashMap<>();
+  private final Map<List<Object>, CompletableFuture<Set<ArrowheadSystem>>> authQueries = new HashMap<>();
+
+  /**
+   * Starts the Service Registry query of the request, and the Authorization query right after it, without waiting for the results.
+   */
+  void prefetch(ServiceRequestForm srf) {
+    ArrowheadService service = srf.getRequestedService();
+    Map<String, Boolean> flags = srf.getOrchestrationFlags();
+    List<Object> srKey = toServiceKey(srf);
+    CompletableFuture<List<ServiceRegistryEntry>> srQuery = srQueries.computeIfAbsent(
+        srKey, key -> OrchestratorDriver.queryServiceRegistryAsync(service, flags.get("metadataSearch"), flags.get("pingProviders")));
+
+    ArrowheadSystem consumer = srf.getRequesterSystem();
+    authQueries.computeIfAbsent(Arrays.asList(consumer, srKey), key -> chainAuthQuery(
+        srQuery, providers -> OrchestratorDriver.queryAuthorizationAsync(consumer, service, providers)));
+  }
+
+  /**
+   * Chains the Authorization query after the Service Registry query. The Authorization query is sent from the thread completing the SR query, so
+   * the deadline of the request is wrapped into it here, on the request thread.
+   */
+  static CompletableFuture<Set<ArrowheadSystem>> chainAuthQuery(CompletableFuture<List<ServiceRegistryEntry>> srQuery,
+                                                                 Function<Set<ArrowheadSystem>, CompletableFuture<Set<ArrowheadSystem>>> query) {
+    Function<Set<ArrowheadSystem>, CompletableFuture<Set<ArrowheadSystem>>> authQuery = Deadline.propagate(query);
+    return srQuery.thenCompose(srList -> authQuery.apply(getProviders(srList)));
+  }
+
+  /**
+   * Returns the providers of the requested service from the Service Registry (see {@link OrchestratorDriver#queryServiceRegistry(ArrowheadService,
+   * boolean, boolean)}). The returned list can be modified by the caller.
+   */
+  List<ServiceRegistryEntry> queryServiceRegistry(ServiceRequestForm srf) {
+    CompletableFuture<List<ServiceRegistryEntry>> query = srQueries.get(toServiceKey(srf));
+    if (query == null) {
+      Map<String, Boolean> flags = srf.getOrchestrationFlags();
+      return OrchestratorDriver.queryServiceRegistry(srf.getRequestedService(), flags.get("metadataSearch"), flags.get("pingProviders"));
+    }
+    return new ArrayList<>(Utility.getAsyncResult(query));
+  }
+
+  /**
+   * Returns the providers the requester is authorized to consume the requested service from (see
+   * {@link OrchestratorDriver#queryAuthorization(ArrowheadSystem, ArrowheadService, Set)}). The returned set can be modified by the caller.
+   *
+   * @param providerSet the providers returned by {@link #queryServiceRegistry(ServiceRequestForm)} for the same request
+   */
+  Set<ArrowheadSystem> queryAuthorization(ServiceRequestForm srf, Set<ArrowheadSystem> providerSet) {
+    CompletableFuture<Set<ArrowheadSystem>> query = authQueries.get(Arrays.asList(srf.getRequesterSystem(), toServiceKey(srf)));
+    if (query == null) {
+      return OrchestratorDriver.queryAuthorization(srf.getRequesterSystem(), srf.getRequestedService(), providerSet);
+    }
+    return new HashSet<>(Utility.getAsyncResult(query));
+  }
+
+  private static Set<ArrowheadSystem> getProviders(List<ServiceRegistryEntry> srList) {
+    Set<ArrowheadSystem> providers = new HashSet<>();
+    for (ServiceRegistryEntry entry : srList) {
+      providers.add(entry.getProvider());
+    }
+    return providers;
+  }
+
+  private static List<Object> toServiceKey(ServiceRequestForm srf) {
+    Map<String, Boolean> flags = srf.getOrchestrationFlags();
+    return OrchestratorDriver.toServiceQueryKey(srf.getRequestedService(), flags.get("metadataSearch"), flags.get("pingProviders"));
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.OrchestrationStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.log4j.Logger;
+
+/**
+ * The valid Store entries sorted by priority: the default entries by consumer, and all the entries by consumer and service definition. The index is
+ * immutable, {@link StoreService} replaces it as a whole when the Store is reloaded. The names are compared case-insensitively, like the database
+ * queries the index replaced did.
+ */
+final class StoreIndex {
+
+  private static final Logger log = Logger.getLogger(StoreIndex.class.getName());
+
+  private final Map<List<Object>, List<OrchestrationStore>> defaultEntries = new HashMap<>();
+  private final Map<List<Object>, List<OrchestrationStore>> serviceEntries = new HashMap<>();
+
+  StoreIndex(List<OrchestrationStore> store) {
+    Collections.sort(store);
+    for (OrchestrationStore entry : store) {
+      if (!Utility.isBeanValid(entry)) {
+        log.warn("Orchestration Store entry " + entry.getId() + " is not valid, it is left out from the orchestration");
+        continue;
+      }
+      if (entry.isDefaultEntry()) {
+        defaultEntries.computeIfAbsent(toKey(entry.getConsumer(), null), key -> new ArrayList<>()).add(entry);
+      }
+      serviceEntries.computeIfAbsent(toKey(entry.getConsumer(), entry.getService()), key -> new ArrayList<>()).add(entry);
+    }
+  }
+
+  /**
+   * Returns the default entries of the consumer if the service is null, or the entries of the consumer for the service otherwise, sorted by
+   * priority. The returned list and entries can be modified by the caller, they are copies of the indexed entries.
+   */
+  List<OrchestrationStore> getEntries(ArrowheadSystem consumer, ArrowheadService service) {
+    List<OrchestrationStore> entries = new ArrayList<>();
+    if (service == null) {
+      for (OrchestrationStore entry : defaultEntries.getOrDefault(toKey(consumer, null), Collections.emptyList())) {
+        entries.add(copyOf(entry));
+      }
+      return entries;
+    }
+
+    for (OrchestrationStore entry : serviceEntries.getOrDefault(toKey(consumer, service), Collections.emptyList())) {
+      if (entry.getService().getInterfaces().isEmpty() || hasMatchingInterfaces(entry.getService(), service)) {
+        entries.add(copyOf(entry));
+      }
+    }
+    return entries;
+  }
+
+  private static List<Object> toKey(ArrowheadSystem consumer, ArrowheadService service) {
+    return Arrays.asList(toLowerCase(consumer.getSystemName()), toLowerCase(consumer.getAddress()), consumer.getPort(),
+                         service == null ? null : toLowerCase(service.getServiceDefinition()));
+  }
+
+  private static String toLowerCase(String name) {
+    return name == null ? null : name.toLowerCase();
+  }
+
+  //The orchestration replaces the service and provider of the entries with the Service Registry data, which must not change the indexed entries
+  private static OrchestrationStore copyOf(OrchestrationStore entry) {
+    OrchestrationStore copy = new OrchestrationStore(entry.getService(), entry.getConsumer(), entry.getProviderSystem(), entry.getProviderCloud(),
+                                                     entry.getPriority(), entry.isDefaultEntry(), entry.getName(), entry.getLastUpdated(),
+                                                     entry.getInstruction(), entry.getAttributes(), entry.getServiceURI());
+    copy.setId(entry.getId());
+    return copy;
+  }
+
+  @SuppressWarnings("BooleanMethodIsAlwaysInverted")
+  static boolean hasMatchingInterfaces(ArrowheadService savedService, ArrowheadService givenService) {
+    if (givenService.getInterfaces().isEmpty()) {
+      return savedService.getInterfaces().isEmpty();
+    }
+    for (String givenInterface : givenService.getInterfaces()) {
+      for (String savedInterface : savedService.getInterfaces()) {
+        if (givenInterface.equalsIgnoreCase(savedInterface)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
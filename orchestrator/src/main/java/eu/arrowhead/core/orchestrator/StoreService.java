@@ -8,29 +8,83 @@
 package eu.arrowhead.core.orchestrator;
 
 import eu.arrowhead.common.DatabaseManager;
+import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ArrowheadService;
 import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.database.OrchestrationStore;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+
+/**
+ * Queries of the Orchestration Store. The orchestration process reads the Store from an in-memory index of the valid entries (see {@link
+ * #getOrchestrationEntries(ArrowheadSystem, ArrowheadService)}), since the Store should not change in runtime. The index is reloaded after every
+ * change made through the Store management API, and every <tt>orch_store_refresh_interval</tt> seconds, to pick up the changes made in other ways
+ * (e.g. renaming a system, or another Orchestrator using the same database).
+ */
 public final class StoreService {
 
-
+  private static final Logger log = Logger.getLogger(StoreService.class.getName());
   private static final DatabaseManager dm = DatabaseManager.getInstance();
-  private static final HashMap<String, Object> restrictionMap = new HashMap<>();
+  private static final long REFRESH_INTERVAL = Utility.getProp().getIntProperty("orch_store_refresh_interval", 60);
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "store-index-refresh");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static volatile StoreIndex index;
+
+  private StoreService() throws AssertionError {
+    throw new AssertionError("StoreService is a non-instantiable class");
+  }
+
+  /**
+   * Loads the Store index from the database (again), and schedules the periodic reloads at the first call.
+   */
+  public static synchronized void refresh() {
+    boolean firstLoad = index == null;
+    index = new StoreIndex(dm.getAll(OrchestrationStore.class, new HashMap<>()));
+    log.debug("Orchestration Store index reloaded");
+    if (firstLoad && REFRESH_INTERVAL > 0) {
+      scheduler.scheduleWithFixedDelay(StoreService::scheduledRefresh, REFRESH_INTERVAL, REFRESH_INTERVAL, TimeUnit.SECONDS);
+    }
+  }
+
+  private static void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      log.error("Orchestration Store index reload failed, keeping the previous index: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the valid Store entries for the orchestration, sorted by priority: the default entries of the consumer if the service is null, or the
+   * entries of the consumer for the service otherwise. The returned list and entries can be modified by the caller, they are copies of the indexed
+   * entries.
+   */
+  static List<OrchestrationStore> getOrchestrationEntries(ArrowheadSystem consumer, ArrowheadService service) {
+    if (index == null) {
+      refresh();
+    }
+    return index.getEntries(consumer, service);
+  }
 
   /**
    * This method returns the active Orchestration Store entries for a consumer.
    */
   public static List<OrchestrationStore> getDefaultStoreEntries(ArrowheadSystem consumer) {
-    restrictionMap.clear();
     ArrowheadSystem savedConsumer = getConsumerSystem(consumer);
     if (savedConsumer == null) {
       return new ArrayList<>();
     }
 
+    HashMap<String, Object> restrictionMap = new HashMap<>();
     restrictionMap.put("consumer", savedConsumer);
     restrictionMap.put("defaultEntry", true);
     return dm.getAll(OrchestrationStore.class, restrictionMap);
@@ -40,7 +94,6 @@ public final class StoreService {
    * This method returns a list of Orchestration Store entries specified by the consumer system and the requested service.
    */
   public static List<OrchestrationStore> getStoreEntries(ArrowheadSystem consumer, ArrowheadService service) {
-    restrictionMap.clear();
     ArrowheadSystem savedConsumer = getConsumerSystem(consumer);
     ArrowheadService savedService = getRequestedService(service.getServiceDefinition());
     if (savedConsumer == null || savedService == null) {
@@ -48,26 +101,30 @@ public final class StoreService {
     }
 
     if (!savedService.getInterfaces().isEmpty()) {
-      if (!hasMatchingInterfaces(savedService, service)) {
+      if (!StoreIndex.hasMatchingInterfaces(savedService, service)) {
         return new ArrayList<>();
       }
     }
 
+    HashMap<String, Object> restrictionMap = new HashMap<>();
     restrictionMap.put("consumer", savedConsumer);
     restrictionMap.put("service", savedService);
     return dm.getAll(OrchestrationStore.class, restrictionMap);
   }
 
   public static List<OrchestrationStore> getStoreEntries(ArrowheadService service) {
-    restrictionMap.clear();
     ArrowheadService savedService = getRequestedService(service.getServiceDefinition());
+    if (savedService == null) {
+      return new ArrayList<>();
+    }
 
     if (!savedService.getInterfaces().isEmpty()) {
-      if (!hasMatchingInterfaces(savedService, service)) {
+      if (!StoreIndex.hasMatchingInterfaces(savedService, service)) {
         return new ArrayList<>();
       }
     }
 
+    HashMap<String, Object> restrictionMap = new HashMap<>();
     restrictionMap.put("service", savedService);
     return dm.getAll(OrchestrationStore.class, restrictionMap);
   }
@@ -92,28 +149,12 @@ public final class StoreService {
     return dm.get(ArrowheadService.class, rm);
   }
 
-  @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-  static boolean hasMatchingInterfaces(ArrowheadService savedService, ArrowheadService givenService) {
-    if (givenService.getInterfaces().isEmpty()) {
-      return savedService.getInterfaces().isEmpty();
-    }
-    for (String givenInterface : givenService.getInterfaces()) {
-      for (String savedInterface : savedService.getInterfaces()) {
-        if (givenInterface.equalsIgnoreCase(savedInterface)) {
-          return true;
-        }
-      }
-    }
-    return false;
-  }
-
   /**
    * This method returns all the entries of the Orchestration Store.
    */
   @SuppressWarnings("unused")
   public static List<OrchestrationStore> getAllStoreEntries() {
-    restrictionMap.clear();
-    return dm.getAll(OrchestrationStore.class, restrictionMap);
+    return dm.getAll(OrchestrationStore.class, new HashMap<>());
   }
 
 }
@@ -0,0 +1,81 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.database.ArrowheadCloud;
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.messages.TokenData;
+import eu.arrowhead.common.misc.BoundedCache;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import org.apache.log4j.Logger;
+
+/**
+ * Cache of the <tt>ArrowheadToken</tt>s generated by the Authorization Core System, keyed by the consumer (and its cloud), the provider and the
+ * service. The tokens are encrypted with the public key of the provider, so their expiry (<tt>RawTokenInfo.e</tt>) can not be read here, it is
+ * calculated the same way the Authorization calculates it: generation time + requested duration. A cached token is only handed out during the first
+ * half of its validity, so the consumer still has time to use it. Tokens without time limit are cached for <tt>orch_token_cache_ttl</tt> seconds.
+ */
+final class TokenCache {
+
+  private static final Logger log = Logger.getLogger(TokenCache.class.getName());
+  private static final BoundedCache<List<Object>, TokenData> cache;
+  private static final long ttlMillis;
+
+  static {
+    TypeSafeProperties props = Utility.getProp();
+    int cacheSize = props.getIntProperty("orch_token_cache_size", 10000);
+    ttlMillis = props.getIntProperty("orch_token_cache_ttl", 600) * 1000L;
+    cache = cacheSize > 0 && ttlMillis > 0 ? new BoundedCache<>(cacheSize, ttlMillis) : null;
+  }
+
+  private TokenCache() throws AssertionError {
+    throw new AssertionError("TokenCache is a non-instantiable class");
+  }
+
+  /**
+   * Returns the cached token of the provider for the consumer, or null if there is no valid one.
+   */
+  static TokenData get(ArrowheadSystem consumer, ArrowheadCloud consumerCloud, ArrowheadSystem provider, ArrowheadService service) {
+    return cache == null ? null : cache.get(toKey(consumer, consumerCloud, provider, service));
+  }
+
+  /**
+   * Caches the generated tokens.
+   *
+   * @param generatedAt the time the token generation was requested at (in milliseconds since the epoch)
+   * @param duration the requested validity of the tokens (in milliseconds, 0 means no time limit)
+   */
+  static void put(ArrowheadSystem consumer, ArrowheadCloud consumerCloud, List<TokenData> tokens, long generatedAt, long duration) {
+    if (cache == null) {
+      return;
+    }
+
+    long ttl = ttlMillis;
+    if (duration > 0) {
+      ttl = Math.min(ttl, generatedAt + duration / 2 - System.currentTimeMillis());
+    }
+    if (ttl <= 0) {
+      return;
+    }
+    for (TokenData token : tokens) {
+      cache.put(toKey(consumer, consumerCloud, token.getSystem(), token.getService()), token, ttl);
+    }
+    log.debug(tokens.size() + " tokens cached for " + ttl + " ms");
+  }
+
+  //The token contains the service definition and the first interface of the service
+  private static List<Object> toKey(ArrowheadSystem consumer, ArrowheadCloud consumerCloud, ArrowheadSystem provider, ArrowheadService service) {
+    return Arrays.asList(consumer, consumerCloud, provider, service.getServiceDefinition(), new TreeSet<>(service.getInterfaces()));
+  }
+
+}
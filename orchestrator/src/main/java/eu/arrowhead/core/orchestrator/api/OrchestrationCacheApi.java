@@ -0,0 +1,37 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.api;
+
+import eu.arrowhead.core.orchestrator.OrchestrationCache;
+import java.util.Map;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Shows the hit/miss statistics of the dynamic orchestration result cache, and allows emptying it (e.g. after changing authorization rules).
+ */
+@Path("orchestrator/mgmt/cache")
+@Produces(MediaType.APPLICATION_JSON)
+public class OrchestrationCacheApi {
+
+  @GET
+  public Map<String, Long> getCacheStatistics() {
+    return OrchestrationCache.getStatistics();
+  }
+
+  @DELETE
+  public Response clearCache() {
+    OrchestrationCache.clear();
+    return Response.ok().build();
+  }
+
+}
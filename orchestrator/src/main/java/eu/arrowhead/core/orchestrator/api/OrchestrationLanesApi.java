@@ -0,0 +1,29 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.api;
+
+import eu.arrowhead.core.orchestrator.OrchestrationLanes;
+import java.util.Map;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Shows the load of the orchestration lanes: the running, queued, completed and rejected (because the lane was full) orchestrations.
+ */
+@Path("orchestrator/mgmt/lanes")
+@Produces(MediaType.APPLICATION_JSON)
+public class OrchestrationLanesApi {
+
+  @GET
+  public Map<String, Map<String, Long>> getLaneStatistics() {
+    return OrchestrationLanes.getStatistics();
+  }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.api;
+
+import eu.arrowhead.core.orchestrator.matchmaking.ProviderStatistics;
+import java.util.Map;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Shows the average response times (in milliseconds) of the providers tracked by the <i>responsetime</i> matchmaking strategy.
+ */
+@Path("orchestrator/mgmt/providers")
+@Produces(MediaType.APPLICATION_JSON)
+public class ProviderStatisticsApi {
+
+  @GET
+  public Map<String, Double> getProviderStatistics() {
+    return ProviderStatistics.getAverages();
+  }
+
+}
@@ -15,12 +15,15 @@ import eu.arrowhead.common.database.OrchestrationStore;
 import eu.arrowhead.common.exception.BadPayloadException;
 import eu.arrowhead.common.exception.DataNotFoundException;
 import eu.arrowhead.common.messages.OrchestrationStoreQuery;
+import eu.arrowhead.common.misc.BulkOperationResult;
 import eu.arrowhead.core.orchestrator.StoreService;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -145,7 +148,8 @@ public class StoreApi {
 
   @POST
   public List<OrchestrationStore> addStoreEntries(@Valid List<OrchestrationStore> storeEntries) {
-    List<OrchestrationStore> store = new ArrayList<>();
+    List<OrchestrationStore> newEntries = new ArrayList<>();
+    Set<String> newEntryKeys = new HashSet<>();
     for (OrchestrationStore entry : storeEntries) {
       entry.validateCrossParameterConstraints();
       restrictionMap.clear();
@@ -190,17 +194,25 @@ public class StoreApi {
       restrictionMap.put("priority", entry.getPriority());
       restrictionMap.put("defaultEntry", entry.isDefaultEntry());
       OrchestrationStore storeEntry = dm.get(OrchestrationStore.class, restrictionMap);
-      if (storeEntry == null) {
+      // The unique key is also checked against the new entries of this request, since those are only saved at the end
+      String entryKey = consumer.getId() + "-" + service.getId() + "-" + entry.getPriority() + "-" + entry.isDefaultEntry();
+      if (storeEntry == null && newEntryKeys.add(entryKey)) {
         // Merge the service metadata map to the store attributes map, duplicate keys are handled with concatenated values
         entry.getService().getServiceMetadata().forEach((k, v) -> entry.getAttributes().merge(k, v, (v1, v2) -> String.join(", ", v1, v2)));
         // Create the new Store Entry with the transactional objects
         storeEntry = new OrchestrationStore(service, consumer, providerSystem, providerCloud, entry.getPriority(), entry.isDefaultEntry(),
                                             entry.getName(), LocalDateTime.now(), entry.getInstruction(), entry.getAttributes(), null);
-        storeEntry = dm.save(storeEntry);
-        store.add(storeEntry);
+        newEntries.add(storeEntry);
       }
     }
 
+    BulkOperationResult<OrchestrationStore> result = dm.saveAll(newEntries);
+    if (result.hasFailures()) {
+      log.error("addStoreEntries: " + result.getFailures().size() + " entries could not be saved: " + result.getFailures());
+    }
+    List<OrchestrationStore> store = new ArrayList<>(result.getSucceeded());
+    StoreService.refresh();
+
     log.info("addStoreEntries successfully returns. List size: " + store.size());
     return store;
   }
@@ -227,6 +239,7 @@ public class StoreApi {
     } else {
       entry.setDefaultEntry(!entry.isDefaultEntry());
       dm.merge(entry);
+      StoreService.refresh();
       log.info("toggleIsDefault succesfully returns.");
       return Response.ok(entry).build();
     }
@@ -263,6 +276,7 @@ public class StoreApi {
       storeEntry.setInstruction(payload.getInstruction());
       storeEntry.setAttributes(payload.getAttributes());
       storeEntry = dm.merge(storeEntry);
+      StoreService.refresh();
 
       log.info("updateEntry successfully returns.");
       return Response.status(Status.ACCEPTED).entity(storeEntry).build();
@@ -284,6 +298,7 @@ public class StoreApi {
       return Response.noContent().build();
     } else {
       dm.delete(entry);
+      StoreService.refresh();
       log.info("deleteEntry successfully returns.");
       return Response.ok().build();
     }
@@ -312,6 +327,7 @@ public class StoreApi {
       for (OrchestrationStore entry : store) {
         dm.delete(entry);
       }
+      StoreService.refresh();
 
       log.info("deleteEntries successfully returns.");
       return Response.ok().build();
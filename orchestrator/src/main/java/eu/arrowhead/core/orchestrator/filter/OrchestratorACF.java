@@ -7,9 +7,9 @@
 
 package eu.arrowhead.core.orchestrator.filter;
 
-import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.exception.AuthException;
 import eu.arrowhead.common.filter.AccessControlFilter;
+import eu.arrowhead.common.filter.RequestBody;
 import eu.arrowhead.common.messages.ServiceRequestForm;
 import eu.arrowhead.common.misc.SecurityUtils;
 import javax.annotation.Priority;
@@ -21,7 +21,7 @@ import javax.ws.rs.ext.Provider;
 public class OrchestratorACF extends AccessControlFilter {
 
   @Override
-  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, String requestJson) {
+  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, RequestBody requestBody) {
     if (!SecurityUtils.isKeyStoreCNArrowheadValid(clientCN)) {
       log.info(clientCN + " is not valid common name, access denied!");
       return false;
@@ -30,32 +30,46 @@ public class OrchestratorACF extends AccessControlFilter {
     String serverCN = (String) configuration.getProperty("server_common_name");
     String[] serverFields = serverCN.split("\\.", 2);
 
+    if (isCommonManagementTarget(requestTarget)) {
+      // Only the local System Operator can use the management resources common to every core system
+      return isLocalSysop(clientCN);
+    }
+
     String[] clientFields = clientCN.split("\\.", 2);
     if (requestTarget.contains("mgmt")) {
       // Only the local System Operator can use these methods
       return clientCN.equalsIgnoreCase("sysop." + serverFields[1]);
-    } else if (requestTarget.contains("store")) {
+    } else if (requestTarget.contains("store") || requestTarget.contains("feedback")) {
       // Only requests from the local cloud are allowed
       return serverFields[1].equalsIgnoreCase(clientFields[1]);
+    } else if (requestTarget.contains("batch")) {
+      // Same as below, every request in the batch has to come from the client system
+      for (ServiceRequestForm srf : requestBody.readAs(ServiceRequestForm[].class)) {
+        checkRequesterSystem(srf, clientCN);
+      }
+      return serverFields[1].equalsIgnoreCase(clientFields[1]);
     } else {
-      ServiceRequestForm srf = Utility.fromJson(requestJson, ServiceRequestForm.class);
+      ServiceRequestForm srf = requestBody.readAs(ServiceRequestForm.class);
 
       // If this is an external service request, only the local Gatekeeper can send this method
       if (srf.getOrchestrationFlags().get("externalServiceRequest")) {
         return clientFields[0].equalsIgnoreCase("gatekeeper") && serverFields[1].equalsIgnoreCase(clientFields[1]);
       } else {
         // Otherwise all request from the local cloud are allowed
-        String consumerName = srf.getRequesterSystem().getSystemName().replaceAll("_", "");
-        if (!consumerName.equalsIgnoreCase(clientFields[0])) {
-          // BUT the requester system has to be the same as the first part of the common name
-          log.error("Requester system name and cert common name do not match!");
-          throw new AuthException(
-              "Requester system " + srf.getRequesterSystem().getSystemName() + " and cert common name (" + clientCN + ") do not match!");
-        }
-
+        checkRequesterSystem(srf, clientCN);
         return serverFields[1].equalsIgnoreCase(clientFields[1]);
       }
     }
   }
 
+  private void checkRequesterSystem(ServiceRequestForm srf, String clientCN) {
+    String consumerName = srf.getRequesterSystem().getSystemName().replaceAll("_", "");
+    if (!consumerName.equalsIgnoreCase(clientCN.split("\\.", 2)[0])) {
+      // BUT the requester system has to be the same as the first part of the common name
+      log.error("Requester system name and cert common name do not match!");
+      throw new AuthException(
+          "Requester system " + srf.getRequesterSystem().getSystemName() + " and cert common name (" + clientCN + ") do not match!");
+    }
+  }
+
 }
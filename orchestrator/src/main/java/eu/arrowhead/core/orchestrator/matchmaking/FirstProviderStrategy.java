@@ -0,0 +1,29 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.matchmaking;
+
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import java.util.List;
+
+/**
+ * Always chooses the first candidate, in the order of the Service Registry response.
+ */
+final class FirstProviderStrategy implements MatchmakingStrategy {
+
+  @Override
+  public ServiceRegistryEntry choose(List<ServiceRegistryEntry> candidates, ServiceRequestForm srf) {
+    return candidates.get(0);
+  }
+
+  @Override
+  public boolean isDeterministic() {
+    return true;
+  }
+
+}
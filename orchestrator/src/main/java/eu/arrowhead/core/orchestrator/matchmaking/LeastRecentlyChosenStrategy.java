@@ -0,0 +1,43 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.matchmaking;
+
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.misc.BoundedCache;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the candidate which was not chosen for the longest time (or never), regardless of the requested service, so the consumers are spread
+ * evenly among the providers even when the providers offer several services.
+ */
+final class LeastRecentlyChosenStrategy implements MatchmakingStrategy {
+
+  //Providers not chosen for an hour are as good as never chosen
+  private final BoundedCache<ArrowheadSystem, Long> lastChosen = new BoundedCache<>(10000, TimeUnit.HOURS.toMillis(1));
+  private long counter;
+
+  @Override
+  public synchronized ServiceRegistryEntry choose(List<ServiceRegistryEntry> candidates, ServiceRequestForm srf) {
+    ServiceRegistryEntry chosen = null;
+    long chosenAt = Long.MAX_VALUE;
+    for (ServiceRegistryEntry entry : candidates) {
+      Long last = lastChosen.get(entry.getProvider());
+      long candidateChosenAt = last == null ? -1 : last;
+      if (candidateChosenAt < chosenAt) {
+        chosen = entry;
+        chosenAt = candidateChosenAt;
+      }
+    }
+    lastChosen.put(chosen.getProvider(), ++counter);
+    return chosen;
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.matchmaking;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.exception.BadPayloadException;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.ws.rs.core.Response.Status;
+
+/**
+ * The available matchmaking strategies by name. The built-in strategies are:
+ * <ul>
+ * <li><i>first</i>: the first provider from the Service Registry response (the original behaviour)</li>
+ * <li><i>roundrobin</i>: the providers of a service in turns</li>
+ * <li><i>leastrecent</i>: the provider not chosen for the longest time</li>
+ * <li><i>responsetime</i>: a random provider, weighted by the average response times (see {@link ProviderStatistics})</li>
+ * </ul>
+ * The default strategy is set by the <tt>orch_matchmaking_strategy</tt> config property, and a request can choose another one with the
+ * <i>matchmakingStrategy</i> entry of its <tt>commands</tt> map (the orchestration flags can only be true or false).
+ */
+public final class MatchmakingStrategies {
+
+  public static final String COMMAND_KEY = "matchmakingStrategy";
+
+  private static final Map<String, MatchmakingStrategy> strategies = new ConcurrentHashMap<>();
+  private static final MatchmakingStrategy defaultStrategy;
+
+  static {
+    register("first", new FirstProviderStrategy());
+    register("roundrobin", new RoundRobinStrategy());
+    register("leastrecent", new LeastRecentlyChosenStrategy());
+    register("responsetime", new ResponseTimeStrategy());
+    defaultStrategy = loadDefaultStrategy(Utility.getProp().getProperty("orch_matchmaking_strategy", "first"));
+  }
+
+  private MatchmakingStrategies() throws AssertionError {
+    throw new AssertionError("MatchmakingStrategies is a non-instantiable class");
+  }
+
+  /**
+   * Makes a custom strategy available for the requests (and the config), replacing the strategy registered with the same name earlier.
+   */
+  public static void register(String name, MatchmakingStrategy strategy) {
+    strategies.put(name.toLowerCase(), strategy);
+  }
+
+  public static MatchmakingStrategy getDefaultStrategy() {
+    return defaultStrategy;
+  }
+
+  /**
+   * Returns the matchmaking strategy requested by the orchestration request, or the default strategy if the request does not choose one.
+   *
+   * @throws BadPayloadException if the requested strategy does not exist
+   */
+  public static MatchmakingStrategy forRequest(ServiceRequestForm srf) {
+    String name = srf.getCommands() == null ? null : srf.getCommands().get(COMMAND_KEY);
+    if (name == null) {
+      return defaultStrategy;
+    }
+    MatchmakingStrategy strategy = strategies.get(name.toLowerCase());
+    if (strategy == null) {
+      throw new BadPayloadException("Unknown matchmaking strategy: " + name + ", the available ones: " + strategies.keySet(),
+                                    Status.BAD_REQUEST.getStatusCode());
+    }
+    return strategy;
+  }
+
+  private static MatchmakingStrategy loadDefaultStrategy(String name) {
+    MatchmakingStrategy strategy = strategies.get(name.toLowerCase());
+    if (strategy != null) {
+      return strategy;
+    }
+    //Only the config can load classes, the requests can only choose from the registered strategies
+    try {
+      strategy = Class.forName(name).asSubclass(MatchmakingStrategy.class).getConstructor().newInstance();
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      throw new ServiceConfigurationError("orch_matchmaking_strategy is neither a built-in strategy " + strategies.keySet() + ", nor a "
+                                              + "MatchmakingStrategy class: " + name, e);
+    }
+    register(name, strategy);
+    return strategy;
+  }
+
+}
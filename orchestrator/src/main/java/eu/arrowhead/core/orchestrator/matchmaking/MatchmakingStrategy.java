@@ -0,0 +1,40 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.matchmaking;
+
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import java.util.List;
+
+/**
+ * Picks the provider of the requested service for the consumer, when the <i>matchmaking</i> orchestration flag is set. Implementations are called
+ * concurrently, and have to be thread-safe. Custom strategies can be added with {@link MatchmakingStrategies#register(String, MatchmakingStrategy)},
+ * or by setting the <tt>orch_matchmaking_strategy</tt> config property to the fully qualified name of the implementing class (which needs a public
+ * no-argument constructor).
+ */
+public interface MatchmakingStrategy {
+
+  /**
+   * Chooses 1 provider from the candidates.
+   *
+   * @param candidates the Service Registry entries of the authorized (and preferred, if there are preferred ones) providers, never empty
+   * @param srf the orchestration request
+   *
+   * @return one of the candidates
+   */
+  ServiceRegistryEntry choose(List<ServiceRegistryEntry> candidates, ServiceRequestForm srf);
+
+  /**
+   * Returns true if the strategy always chooses the same provider from the same candidates. The orchestration results are only cached for
+   * deterministic strategies, otherwise the cache would keep returning the same provider.
+   */
+  default boolean isDeterministic() {
+    return false;
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.matchmaking;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.misc.TypeSafeProperties;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+
+/**
+ * Exponentially weighted moving average of the response times of the providers, used by the <i>responsetime</i> matchmaking strategy. The response
+ * times are reported by the consumers (see {@link #record(ArrowheadSystem, long)}), and forgotten if no new feedback arrives for a while. Providers
+ * without recent consumer feedback are probed every <tt>orch_health_probe_interval</tt> seconds instead, by opening a TCP connection to them (with
+ * a <tt>orch_health_probe_timeout</tt> milliseconds timeout). Connection times are much shorter than the response times reported by the consumers,
+ * so the probes only tell whether the provider is reachable, and are kept apart from the feedback. Only the providers recently considered by the
+ * strategy are tracked.
+ */
+public final class ProviderStatistics {
+
+  private static final Logger log = Logger.getLogger(ProviderStatistics.class.getName());
+  private static final TypeSafeProperties props = Utility.getProp();
+  private static final long PROBE_INTERVAL = TimeUnit.SECONDS.toMillis(props.getIntProperty("orch_health_probe_interval", 30));
+  private static final int PROBE_TIMEOUT = props.getIntProperty("orch_health_probe_timeout", 1000);
+  //Weight of the newest measurement in the average
+  private static final double ALPHA = 0.3;
+  private static final long STALE_AFTER = TimeUnit.MINUTES.toMillis(10);
+  private static final int MAX_PROVIDERS = 10000;
+
+  private static final Map<ArrowheadSystem, Statistics> statistics = new ConcurrentHashMap<>();
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "provider-health-probe");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  static {
+    if (PROBE_INTERVAL > 0) {
+      scheduler.scheduleWithFixedDelay(ProviderStatistics::probeProviders, PROBE_INTERVAL, PROBE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private ProviderStatistics() throws AssertionError {
+    throw new AssertionError("ProviderStatistics is a non-instantiable class");
+  }
+
+  private static final class Statistics {
+
+    private double average = -1;
+    private long lastFeedback;
+    private volatile long lastConsidered = System.currentTimeMillis();
+    private volatile boolean reachable = true;
+
+    synchronized void add(double responseTime, long now) {
+      //A stale average says nothing about the provider anymore, the new feedback starts a new one
+      average = average < 0 || isStale(now) ? responseTime : ALPHA * responseTime + (1 - ALPHA) * average;
+      lastFeedback = now;
+    }
+
+    synchronized double getAverage(long now) {
+      return isStale(now) ? -1 : average;
+    }
+
+    synchronized boolean isStale(long now) {
+      return now - lastFeedback > STALE_AFTER;
+    }
+
+  }
+
+  /**
+   * Records a response time of the provider measured by a consumer.
+   */
+  public static void record(ArrowheadSystem provider, long responseTimeMillis) {
+    Statistics providerStatistics = getStatistics(provider);
+    if (providerStatistics != null) {
+      providerStatistics.reachable = true;
+      providerStatistics.add(responseTimeMillis, System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Returns the average response time of the provider reported by the consumers in milliseconds, or -1 if there is no recent feedback.
+   */
+  static double getResponseTime(ArrowheadSystem provider) {
+    Statistics providerStatistics = statistics.get(provider);
+    return providerStatistics == null ? -1 : providerStatistics.getAverage(System.currentTimeMillis());
+  }
+
+  /**
+   * Returns false if the last health probe of the provider failed, and no consumer feedback arrived since then.
+   */
+  static boolean isReachable(ArrowheadSystem provider) {
+    Statistics providerStatistics = statistics.get(provider);
+    return providerStatistics == null || providerStatistics.reachable;
+  }
+
+  /**
+   * Starts (or keeps) tracking the providers, the ones not considered for a while are dropped.
+   */
+  static void track(Collection<ArrowheadSystem> providers) {
+    long now = System.currentTimeMillis();
+    for (ArrowheadSystem provider : providers) {
+      Statistics providerStatistics = getStatistics(provider);
+      if (providerStatistics != null) {
+        providerStatistics.lastConsidered = now;
+      }
+    }
+  }
+
+  /**
+   * Returns the average response times of the tracked providers reported by the consumers (-1 if there is no recent feedback), for monitoring.
+   */
+  public static Map<String, Double> getAverages() {
+    long now = System.currentTimeMillis();
+    Map<String, Double> averages = new LinkedHashMap<>();
+    for (Map.Entry<ArrowheadSystem, Statistics> entry : statistics.entrySet()) {
+      ArrowheadSystem provider = entry.getKey();
+      averages.put(provider.getSystemName() + "@" + provider.getAddress() + ":" + provider.getPort(), entry.getValue().getAverage(now));
+    }
+    return averages;
+  }
+
+  private static Statistics getStatistics(ArrowheadSystem provider) {
+    Statistics providerStatistics = statistics.get(provider);
+    if (providerStatistics == null && statistics.size() < MAX_PROVIDERS) {
+      ArrowheadSystem key = new ArrowheadSystem(provider.getSystemName(), provider.getAddress(), provider.getPort(), null);
+      providerStatistics = statistics.computeIfAbsent(key, system -> new Statistics());
+    }
+    return providerStatistics;
+  }
+
+  private static void probeProviders() {
+    long now = System.currentTimeMillis();
+    statistics.values().removeIf(providerStatistics -> now - providerStatistics.lastConsidered > STALE_AFTER);
+    for (Map.Entry<ArrowheadSystem, Statistics> entry : statistics.entrySet()) {
+      if (entry.getValue().isStale(now)) {
+        entry.getValue().reachable = probe(entry.getKey());
+      }
+    }
+  }
+
+  private static boolean probe(ArrowheadSystem provider) {
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(provider.getAddress(), provider.getPort()), PROBE_TIMEOUT);
+      return true;
+    } catch (IOException | IllegalArgumentException e) {
+      log.debug("Health probe of " + provider.getSystemName() + " failed: " + e.getMessage());
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.matchmaking;
+
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses a random candidate, with a probability inversely proportional to the average response time of the provider reported by the consumers (see
+ * {@link ProviderStatistics}), so faster providers get proportionally more consumers, but the slower ones are not starved. Providers without recent
+ * feedback get the average weight of the others. Providers failing their health probe are only chosen if none of the candidates are reachable.
+ */
+final class ResponseTimeStrategy implements MatchmakingStrategy {
+
+  //Response times below this are measurement noise, and should not get a huge weight
+  private static final double MIN_RESPONSE_TIME = 1.0;
+
+  @Override
+  public ServiceRegistryEntry choose(List<ServiceRegistryEntry> candidates, ServiceRequestForm srf) {
+    List<ArrowheadSystem> providers = new ArrayList<>();
+    for (ServiceRegistryEntry entry : candidates) {
+      providers.add(entry.getProvider());
+    }
+    ProviderStatistics.track(providers);
+
+    boolean[] reachable = new boolean[candidates.size()];
+    boolean anyReachable = false;
+    for (int i = 0; i < reachable.length; i++) {
+      reachable[i] = ProviderStatistics.isReachable(providers.get(i));
+      anyReachable |= reachable[i];
+    }
+
+    double[] weights = new double[candidates.size()];
+    double knownWeightSum = 0;
+    int knownCount = 0;
+    for (int i = 0; i < weights.length; i++) {
+      double responseTime = ProviderStatistics.getResponseTime(providers.get(i));
+      if (responseTime >= 0) {
+        weights[i] = 1 / Math.max(responseTime, MIN_RESPONSE_TIME);
+        knownWeightSum += weights[i];
+        knownCount++;
+      }
+    }
+    double defaultWeight = knownCount == 0 ? 1 : knownWeightSum / knownCount;
+
+    double weightSum = 0;
+    for (int i = 0; i < weights.length; i++) {
+      if (anyReachable && !reachable[i]) {
+        weights[i] = 0;
+      } else if (weights[i] == 0) {
+        weights[i] = defaultWeight;
+      }
+      weightSum += weights[i];
+    }
+
+    double random = ThreadLocalRandom.current().nextDouble(weightSum);
+    int chosen = 0;
+    for (int i = 0; i < weights.length; i++) {
+      if (weights[i] > 0) {
+        //Rounding errors can leave a tiny remainder, the last candidate with a weight gets that
+        chosen = i;
+        random -= weights[i];
+        if (random < 0) {
+          break;
+        }
+      }
+    }
+    return candidates.get(chosen);
+  }
+
+}
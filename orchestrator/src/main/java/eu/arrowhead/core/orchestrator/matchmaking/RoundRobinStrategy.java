@@ -0,0 +1,48 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator.matchmaking;
+
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.common.misc.BoundedCache;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the candidates of a service in turns. The candidates are sorted first, so the order does not depend on the order of the Service Registry
+ * response. Only the turns of the most recently requested services are remembered, the others start again from the first candidate.
+ */
+final class RoundRobinStrategy implements MatchmakingStrategy {
+
+  private static final Comparator<ServiceRegistryEntry> BY_PROVIDER = Comparator.comparing(entry -> entry.getProvider().toString());
+  private static final int MAX_SERVICES = 10000;
+
+  //Next turn by service definition, the definitions come from the requesters, so the number of remembered turns is bounded
+  private final BoundedCache<String, AtomicInteger> turns = new BoundedCache<>(MAX_SERVICES, 0);
+
+  @Override
+  public ServiceRegistryEntry choose(List<ServiceRegistryEntry> candidates, ServiceRequestForm srf) {
+    List<ServiceRegistryEntry> sorted = new ArrayList<>(candidates);
+    sorted.sort(BY_PROVIDER);
+    return sorted.get(Math.floorMod(getTurn(srf.getRequestedService().getServiceDefinition()).getAndIncrement(), sorted.size()));
+  }
+
+  private AtomicInteger getTurn(String serviceDefinition) {
+    synchronized (turns) {
+      AtomicInteger turn = turns.get(serviceDefinition);
+      if (turn == null) {
+        turn = new AtomicInteger();
+        turns.put(serviceDefinition, turn);
+      }
+      return turn;
+    }
+  }
+
+}
@@ -12,9 +12,10 @@ import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.json.support.OrchestrationResponseSupport;
 import eu.arrowhead.common.json.support.PreferredProviderSupport;
 import eu.arrowhead.common.json.support.ServiceRequestFormSupport;
-import eu.arrowhead.common.messages.OrchestrationResponse;
 import eu.arrowhead.common.messages.PreferredProvider;
 import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.core.orchestrator.OrchestrationLanes;
+import eu.arrowhead.core.orchestrator.OrchestrationLanes.Lane;
 import eu.arrowhead.core.orchestrator.OrchestratorResource;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,8 +23,13 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
 
 @Path("orchestrator/orchestration/support")
 @Consumes(MediaType.APPLICATION_JSON)
@@ -31,7 +37,7 @@ import javax.ws.rs.core.Response;
 public class OldOrchResource {
 
   @POST
-  public Response supportOrchestrationProcess(ServiceRequestFormSupport srfSupport) {
+  public void supportOrchestrationProcess(ServiceRequestFormSupport srfSupport, @Suspended AsyncResponse asyncResponse, @Context UriInfo uriInfo) {
     ArrowheadSystem system = new ArrowheadSystem(srfSupport.getRequesterSystem());
     ArrowheadService service = new ArrowheadService(srfSupport.getRequestedService());
     List<PreferredProvider> preferredProviders = new ArrayList<>();
@@ -42,10 +48,12 @@ public class OldOrchResource {
                                                                    .orchestrationFlags(srfSupport.getOrchestrationFlags())
                                                                    .preferredProviders(preferredProviders).build();
 
-    OrchestratorResource orchResource = new OrchestratorResource();
-    Response response = orchResource.orchestrationProcess(srf);
-    OrchestrationResponseSupport orchResponseSupport = new OrchestrationResponseSupport((OrchestrationResponse) response.getEntity());
-    return Response.status(response.getStatus()).entity(orchResponseSupport).build();
+    srf.validateCrossParameterConstraints();
+
+    OrchestrationLanes.submit(Lane.of(srf), asyncResponse, uriInfo.getAbsolutePath().toString(), () -> {
+      OrchestrationResponseSupport orchResponseSupport = new OrchestrationResponseSupport(OrchestratorResource.orchestrate(srf));
+      return Response.status(Status.OK).entity(orchResponseSupport).build();
+    });
   }
 
 }
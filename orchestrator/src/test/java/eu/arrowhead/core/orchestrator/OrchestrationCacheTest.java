@@ -0,0 +1,91 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.messages.OrchestrationForm;
+import eu.arrowhead.common.messages.OrchestrationResponse;
+import eu.arrowhead.common.messages.OrchestratorWarnings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import org.junit.Test;
+
+public class OrchestrationCacheTest {
+
+  @Test
+  public void copyHasTheSameContent() {
+    OrchestrationResponse original = response();
+    OrchestrationResponse copy = OrchestrationCache.copyOf(original);
+
+    OrchestrationForm form = original.getResponse().get(0);
+    OrchestrationForm copiedForm = copy.getResponse().get(0);
+    assertNotSame(original.getResponse(), copy.getResponse());
+    assertNotSame(form, copiedForm);
+    assertEquals(form.getService(), copiedForm.getService());
+    assertEquals(form.getService().getId(), copiedForm.getService().getId());
+    assertEquals(form.getService().getServiceMetadata(), copiedForm.getService().getServiceMetadata());
+    assertEquals(form.getProvider(), copiedForm.getProvider());
+    assertEquals(form.getProvider().getId(), copiedForm.getProvider().getId());
+    assertEquals(form.getServiceURI(), copiedForm.getServiceURI());
+    assertEquals(form.getAuthorizationToken(), copiedForm.getAuthorizationToken());
+    assertEquals(form.getWarnings(), copiedForm.getWarnings());
+  }
+
+  @Test
+  public void modifyingTheCopyLeavesTheOriginal() {
+    OrchestrationResponse original = response();
+    OrchestrationResponse copy = OrchestrationCache.copyOf(original);
+
+    OrchestrationForm copiedForm = copy.getResponse().get(0);
+    copiedForm.setServiceURI("changed");
+    copiedForm.setAuthorizationToken(null);
+    copiedForm.getWarnings().clear();
+    copiedForm.getService().getInterfaces().add("XML");
+    copiedForm.getService().getServiceMetadata().put("security", "none");
+    copiedForm.getProvider().setAddress("10.0.0.9");
+    copy.getResponse().clear();
+
+    OrchestrationForm form = original.getResponse().get(0);
+    assertEquals(1, original.getResponse().size());
+    assertEquals("temperature/celsius", form.getServiceURI());
+    assertEquals("token", form.getAuthorizationToken());
+    assertEquals(1, form.getWarnings().size());
+    assertEquals(Collections.singleton("JSON"), form.getService().getInterfaces());
+    assertEquals(1, form.getService().getServiceMetadata().size());
+    assertEquals("10.0.0.2", form.getProvider().getAddress());
+  }
+
+  @Test
+  public void copiesMissingParts() {
+    OrchestrationForm form = new OrchestrationForm(null, null, "uri", null, null, null, null);
+    OrchestrationForm copiedForm = OrchestrationCache.copyOf(new OrchestrationResponse(Collections.singletonList(form))).getResponse().get(0);
+    assertNull(copiedForm.getService());
+    assertNull(copiedForm.getProvider());
+    assertNull(copiedForm.getWarnings());
+  }
+
+  private static OrchestrationResponse response() {
+    HashMap<String, String> metadata = new HashMap<>();
+    metadata.put("unit", "celsius");
+    ArrowheadService service = new ArrowheadService("temperature", new HashSet<>(Collections.singleton("JSON")), metadata);
+    service.setId(3L);
+    ArrowheadSystem provider = new ArrowheadSystem("provider", "10.0.0.2", 8080, null);
+    provider.setId(5L);
+    OrchestrationForm form = new OrchestrationForm(service, provider, "temperature/celsius", null, "token", "signature",
+                                                   new ArrayList<>(Collections.singletonList(OrchestratorWarnings.TTL_UNKNOWN)));
+    return new OrchestrationResponse(new ArrayList<>(Collections.singletonList(form)));
+  }
+
+}
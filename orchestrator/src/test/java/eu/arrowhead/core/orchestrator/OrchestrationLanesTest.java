@@ -0,0 +1,157 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import eu.arrowhead.common.Utility;
+import eu.arrowhead.common.exception.UnavailableServerException;
+import eu.arrowhead.common.json.JacksonJsonProviderAtRest;
+import eu.arrowhead.common.messages.CircuitBreakerStatus;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import eu.arrowhead.core.orchestrator.OrchestrationLanes.Lane;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Response;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.Test;
+
+public class OrchestrationLanesTest {
+
+  @Path("lanes")
+  public static class LaneResource {
+
+    @GET
+    @Path("{lane}")
+    public void orchestrate(@Suspended AsyncResponse asyncResponse, @PathParam("lane") String lane) {
+      OrchestrationLanes.submit(Lane.valueOf(lane.toUpperCase()), asyncResponse, "lanes/" + lane, () -> Response.ok().build());
+    }
+
+  }
+
+  @Test
+  public void defaultFlagsUseTheStoreLane() {
+    assertEquals(Lane.STORE, Lane.of(new ServiceRequestForm()));
+  }
+
+  @Test
+  public void flagsChooseTheLane() {
+    assertEquals(Lane.INTERCLOUD, Lane.of(withFlags("triggerInterCloud", true, "overrideStore", true)));
+    assertEquals(Lane.DYNAMIC, Lane.of(withFlags("overrideStore", true)));
+    assertEquals(Lane.DYNAMIC, Lane.of(withFlags("externalServiceRequest", true)));
+    assertEquals(Lane.STORE, Lane.of(withFlags("triggerInterCloud", false, "overrideStore", false)));
+  }
+
+  @Test
+  public void partialFlagsAreTakenAsFalse() {
+    assertEquals(Lane.STORE, Lane.of(withFlags()));
+    assertEquals(Lane.STORE, Lane.of(withFlags("matchmaking", true)));
+    assertEquals(Lane.DYNAMIC, Lane.of(withFlags("overrideStore", true)));
+  }
+
+  @Test
+  public void nullFlagsAreTakenAsFalse() {
+    assertEquals(Lane.STORE, Lane.of(withFlags("triggerInterCloud", null, "externalServiceRequest", null, "overrideStore", null)));
+    assertEquals(Lane.DYNAMIC, Lane.of(withFlags("triggerInterCloud", null, "overrideStore", true)));
+
+    ServiceRequestForm noFlags = new ServiceRequestForm();
+    noFlags.setOrchestrationFlags(null);
+    assertEquals(Lane.STORE, Lane.of(noFlags));
+  }
+
+  @Test
+  public void batchUsesTheSlowestLane() {
+    assertEquals(Lane.STORE, Lane.of(Collections.emptyList()));
+    assertEquals(Lane.DYNAMIC, Lane.of(Arrays.asList(withFlags(), withFlags("overrideStore", true), withFlags("triggerInterCloud", null))));
+    assertEquals(Lane.INTERCLOUD, Lane.of(Arrays.asList(withFlags("triggerInterCloud", true), withFlags("overrideStore", true))));
+  }
+
+  @Test
+  public void saturatedLaneDoesNotBlockTheOtherLanes() throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    String baseUri = "http://127.0.0.1:" + port + "/";
+    HttpServer server = GrizzlyHttpServerFactory.createHttpServer(URI.create(baseUri),
+                                                                  new ResourceConfig(LaneResource.class, JacksonJsonProviderAtRest.class));
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      fillLane(Lane.INTERCLOUD, release);
+
+      //More rejections than the window of the circuit breakers, the breaker of the Orchestrator host must stay closed
+      for (int i = 0; i < 25; i++) {
+        try {
+          Utility.sendRequest(baseUri + "lanes/intercloud", "GET", null);
+          fail("Request of the saturated lane was not rejected");
+        } catch (UnavailableServerException e) {
+          assertEquals(503, e.getErrorCode());
+        }
+      }
+      assertEquals(200, Utility.sendRequest(baseUri + "lanes/store", "GET", null).getStatus());
+      assertEquals(200, Utility.sendRequest(baseUri + "lanes/dynamic", "GET", null).getStatus());
+
+      String target = "127.0.0.1:" + port;
+      for (CircuitBreakerStatus status : Utility.getCircuitBreakerStatuses()) {
+        if (status.getTarget().equals(target)) {
+          assertEquals("CLOSED", status.getState());
+        }
+      }
+    } finally {
+      release.countDown();
+      server.shutdownNow();
+    }
+  }
+
+  //Takes every thread and queue slot of the lane with orchestrations waiting for the latch
+  private static void fillLane(Lane lane, CountDownLatch release) {
+    AsyncResponse ignoredResponse = (AsyncResponse) Proxy.newProxyInstance(
+        AsyncResponse.class.getClassLoader(), new Class<?>[]{AsyncResponse.class},
+        (proxy, method, args) -> method.getReturnType() == boolean.class ? Boolean.TRUE : null);
+    String laneName = lane.name().toLowerCase();
+    long rejectedBefore = OrchestrationLanes.getStatistics().get(laneName).get("rejected");
+    for (int i = 0; i < 10000 && OrchestrationLanes.getStatistics().get(laneName).get("rejected") == rejectedBefore; i++) {
+      OrchestrationLanes.submit(lane, ignoredResponse, "test", () -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return Response.ok().build();
+      });
+    }
+    assertTrue("The " + laneName + " lane could not be filled", OrchestrationLanes.getStatistics().get(laneName).get("rejected") > rejectedBefore);
+  }
+
+  private static ServiceRequestForm withFlags(Object... flagsAndValues) {
+    Map<String, Boolean> flags = new HashMap<>();
+    for (int i = 0; i < flagsAndValues.length; i += 2) {
+      flags.put((String) flagsAndValues[i], (Boolean) flagsAndValues[i + 1]);
+    }
+    ServiceRequestForm srf = new ServiceRequestForm();
+    srf.setOrchestrationFlags(flags);
+    return srf;
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.exception.ExceptionType;
+import eu.arrowhead.common.messages.OrchestrationForm;
+import eu.arrowhead.common.messages.OrchestrationResponse;
+import eu.arrowhead.common.messages.ServiceRequestForm;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Test;
+
+public class OrchestratorServiceTest {
+
+  private final ArrowheadSystem consumer = new ArrowheadSystem("consumer", "10.0.0.1", 8080, null);
+  private final ArrowheadSystem provider = new ArrowheadSystem("provider", "10.0.0.2", 8080, null);
+  private final ArrowheadService service = new ArrowheadService("temperature", Collections.singleton("JSON"), new HashMap<>());
+
+  @After
+  public void clearCache() {
+    OrchestrationCache.clear();
+  }
+
+  @Test
+  public void invalidRequestsOnlyFailThemselves() {
+    //The valid request is served from the cache, so the test does not need the Service Registry and Authorization
+    ServiceRequestForm cachedRequest = dynamicRequest(consumer);
+    cachedRequest.validateCrossParameterConstraints();
+    OrchestrationForm form = new OrchestrationForm(service, provider, "temperature");
+    OrchestrationCache.put(cachedRequest, new OrchestrationResponse(Collections.singletonList(form)), Collections.emptyList());
+
+    ServiceRequestForm invalidSystemName = dynamicRequest(new ArrowheadSystem("invalid name!", "10.0.0.1", 8080, null));
+    ServiceRequestForm missingRequester = dynamicRequest(null);
+    List<OrchestrationResponse> responses = OrchestratorService.batchOrchestration(
+        Arrays.asList(invalidSystemName, dynamicRequest(consumer), missingRequester, null));
+
+    assertEquals(4, responses.size());
+    for (int i : new int[]{0, 2, 3}) {
+      assertNotNull(responses.get(i).getError());
+      assertEquals(ExceptionType.BAD_PAYLOAD, responses.get(i).getError().getExceptionType());
+      assertEquals(400, responses.get(i).getError().getErrorCode());
+    }
+    assertTrue(responses.get(0).getError().getErrorMessage().contains("systemName"));
+    assertTrue(responses.get(2).getError().getErrorMessage().contains("requesterSystem"));
+
+    assertNull(responses.get(1).getError());
+    assertEquals(1, responses.get(1).getResponse().size());
+    assertEquals(provider, responses.get(1).getResponse().get(0).getProvider());
+  }
+
+  private ServiceRequestForm dynamicRequest(ArrowheadSystem requester) {
+    Map<String, Boolean> flags = new HashMap<>();
+    flags.put("overrideStore", true);
+    return new ServiceRequestForm.Builder(requester).requestedService(service).orchestrationFlags(flags).build();
+  }
+
+}
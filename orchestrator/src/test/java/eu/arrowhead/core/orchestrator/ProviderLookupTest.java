@@ -0,0 +1,59 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.ServiceRegistryEntry;
+import eu.arrowhead.common.misc.Deadline;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Test;
+
+public class ProviderLookupTest {
+
+  private final ArrowheadSystem provider = new ArrowheadSystem("provider", "10.0.0.2", 8080, null);
+  private final ArrowheadService service = new ArrowheadService("temperature", Collections.singleton("JSON"), null);
+
+  @After
+  public void clearDeadline() {
+    Deadline.clear();
+  }
+
+  @Test
+  public void authQueryRunsWithTheDeadlineOfTheRequest() throws InterruptedException {
+    Deadline.start(10000);
+    long expiresAt = Deadline.expiresAt();
+
+    CompletableFuture<List<ServiceRegistryEntry>> srQuery = new CompletableFuture<>();
+    Thread[] authThread = new Thread[1];
+    long[] seenDeadline = new long[1];
+    CompletableFuture<Set<ArrowheadSystem>> authQuery = ProviderLookup.chainAuthQuery(srQuery, providers -> {
+      authThread[0] = Thread.currentThread();
+      seenDeadline[0] = Deadline.expiresAt();
+      return CompletableFuture.completedFuture(providers);
+    });
+
+    //The SR query completes on a thread without a deadline, like the threads of the HTTP client
+    Thread srThread = new Thread(() -> srQuery.complete(Collections.singletonList(new ServiceRegistryEntry(service, provider, "temp"))));
+    srThread.start();
+    srThread.join();
+
+    assertEquals(Collections.singleton(provider), authQuery.join());
+    assertEquals(srThread, authThread[0]);
+    assertNotSame(Thread.currentThread(), authThread[0]);
+    assertEquals(expiresAt, seenDeadline[0]);
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * This work is part of the Productive 4.0 innovation project, which receives grants from the
+ * European Commissions H2020 research and innovation programme, ECSEL Joint Undertaking
+ * (project no. 737459), the free state of Saxony, the German Federal Ministry of Education and
+ * national funding authorities from involved countries.
+ */
+
+package eu.arrowhead.core.orchestrator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import eu.arrowhead.common.database.ArrowheadService;
+import eu.arrowhead.common.database.ArrowheadSystem;
+import eu.arrowhead.common.database.OrchestrationStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+public class StoreIndexTest {
+
+  private final ArrowheadSystem consumer = new ArrowheadSystem("consumer", "10.0.0.1", 8080, null);
+  private final ArrowheadSystem provider1 = new ArrowheadSystem("provider1", "10.0.0.2", 8080, null);
+  private final ArrowheadSystem provider2 = new ArrowheadSystem("provider2", "10.0.0.3", 8080, null);
+  private final ArrowheadService service = service("temperature", "JSON");
+
+  @Test
+  public void returnsTheEntriesByPriority() {
+    StoreIndex index = new StoreIndex(store(entry(provider2, 2, false), entry(provider1, 1, true)));
+
+    List<OrchestrationStore> entries = index.getEntries(consumer, service);
+    assertEquals(2, entries.size());
+    assertEquals(provider1, entries.get(0).getProviderSystem());
+    assertEquals(provider2, entries.get(1).getProviderSystem());
+
+    List<OrchestrationStore> defaultEntries = index.getEntries(consumer, null);
+    assertEquals(1, defaultEntries.size());
+    assertEquals(provider1, defaultEntries.get(0).getProviderSystem());
+  }
+
+  @Test
+  public void leavesOutInvalidAndIncompatibleEntries() {
+    OrchestrationStore invalid = entry(provider2, 2, false);
+    invalid.setProviderSystem(null);
+    StoreIndex index = new StoreIndex(store(entry(provider1, 1, false), invalid));
+
+    assertEquals(1, index.getEntries(consumer, service).size());
+    assertTrue(index.getEntries(consumer, service("temperature", "XML")).isEmpty());
+    assertTrue(index.getEntries(consumer, service("humidity", "JSON")).isEmpty());
+    assertTrue(index.getEntries(provider1, service).isEmpty());
+  }
+
+  @Test
+  public void returnsCopiesOfTheIndexedEntries() {
+    OrchestrationStore indexed = entry(provider1, 1, true);
+    indexed.setId(7L);
+    StoreIndex index = new StoreIndex(store(indexed));
+
+    List<OrchestrationStore> entries = index.getEntries(consumer, service);
+    OrchestrationStore copy = entries.get(0);
+    assertNotSame(indexed, copy);
+    assertEquals(Long.valueOf(7), copy.getId());
+    assertEquals(indexed.getPriority(), copy.getPriority());
+    assertEquals(indexed.getAttributes(), copy.getAttributes());
+
+    //The orchestration replaces the service and provider of the entries with the Service Registry data
+    copy.setService(service("temperature", "XML"));
+    copy.setProviderSystem(provider2);
+    entries.clear();
+
+    for (List<OrchestrationStore> again : Arrays.asList(index.getEntries(consumer, service), index.getEntries(consumer, null))) {
+      assertEquals(1, again.size());
+      assertNotSame(copy, again.get(0));
+      assertEquals(provider1, again.get(0).getProviderSystem());
+      assertEquals(service, again.get(0).getService());
+    }
+    assertEquals(provider1, indexed.getProviderSystem());
+  }
+
+  @Test
+  public void matchesNamesCaseInsensitively() {
+    StoreIndex index = new StoreIndex(store(entry(provider1, 1, true)));
+    ArrowheadSystem differentCase = new ArrowheadSystem("Consumer", "10.0.0.1", 8080, null);
+
+    assertEquals(1, index.getEntries(differentCase, service("Temperature", "JSON")).size());
+    assertEquals(1, index.getEntries(differentCase, null).size());
+    assertTrue(index.getEntries(new ArrowheadSystem("consumer", "10.0.0.1", 8081, null), service).isEmpty());
+  }
+
+  @Test
+  public void matchesInterfacesCaseInsensitively() {
+    assertTrue(StoreIndex.hasMatchingInterfaces(service("temperature", "json", "XML"), service("temperature", "JSON")));
+    assertTrue(StoreIndex.hasMatchingInterfaces(service("temperature"), service("temperature")));
+    assertFalse(StoreIndex.hasMatchingInterfaces(service("temperature", "JSON"), service("temperature", "XML")));
+    assertFalse(StoreIndex.hasMatchingInterfaces(service("temperature", "JSON"), service("temperature")));
+  }
+
+  private OrchestrationStore entry(ArrowheadSystem provider, int priority, boolean defaultEntry) {
+    return new OrchestrationStore(service("temperature", "JSON"), consumer, provider, null, priority, defaultEntry, null, null, null,
+                                  new HashMap<>(), null);
+  }
+
+  private static ArrowheadService service(String serviceDefinition, String... interfaces) {
+    return new ArrowheadService(serviceDefinition, new HashSet<>(Arrays.asList(interfaces)), new HashMap<>());
+  }
+
+  private static List<OrchestrationStore> store(OrchestrationStore... entries) {
+    List<OrchestrationStore> store = new ArrayList<>();
+    Collections.addAll(store, entries);
+    return store;
+  }
+
+}
@@ -7,6 +7,7 @@
 
 package eu.arrowhead.core.qos.drivers.implementations;
 
+import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ArrowheadService;
 import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.messages.QoSReservationCommand;
@@ -17,13 +18,10 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
-import org.glassfish.jersey.client.ClientConfig;
-import org.glassfish.jersey.client.ClientProperties;
 
 public class FTTSE implements IQoSDriver {
 
@@ -75,17 +73,17 @@ public class FTTSE implements IQoSDriver {
     }
 
     // CONTACT THE ENTRYPOINT
-    ClientConfig configuration = new ClientConfig();
-    configuration.property(ClientProperties.CONNECT_TIMEOUT, 30000);
-    configuration.property(ClientProperties.READ_TIMEOUT, 30000);
-    Client client = ClientBuilder.newClient(configuration);
+    Client client = Utility.getClient(null);
     URI uri = UriBuilder.fromPath(url + "/configure").build();
 
     WebTarget target = client.target(uri);
     Response response = target.request().header("Content-type", "application/json")
                               .post(Entity.json(new QoSReservationCommand(service, provider, consumer, commands, requestedQoS)));
+    //The shared client gets the connection back only when the response is closed
+    int status = response.getStatus();
+    response.close();
 
-    if (response.getStatus() > 199 && response.getStatus() < 300) {
+    if (status > 199 && status < 300) {
       return new ReservationResponse(true, null, commands);
     }
 
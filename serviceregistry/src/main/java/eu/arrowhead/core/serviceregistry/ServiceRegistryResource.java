@@ -12,7 +12,9 @@ import eu.arrowhead.common.database.ServiceRegistryEntry;
 import eu.arrowhead.common.exception.BadPayloadException;
 import eu.arrowhead.common.messages.ServiceQueryForm;
 import eu.arrowhead.common.messages.ServiceQueryResult;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -125,6 +127,20 @@ public class ServiceRegistryResource {
     }
   }
 
+  /**
+   * Answers several queries in 1 request (e.g. all the core services another core system needs). The results are returned in the order of the
+   * query forms, with an empty result for services not in the registry.
+   */
+  @PUT
+  @Path("query/bulk")
+  public List<ServiceQueryResult> getServiceQueryForms(@Valid List<ServiceQueryForm> queryForms) {
+    List<ServiceQueryResult> results = new ArrayList<>(queryForms.size());
+    for (ServiceQueryForm queryForm : queryForms) {
+      results.add(ServiceRegistry.provideServices(queryForm));
+    }
+    return results;
+  }
+
   /**
    * Public function for checking all entries
    *
@@ -7,10 +7,10 @@
 
 package eu.arrowhead.core.serviceregistry.filter;
 
-import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ServiceRegistryEntry;
 import eu.arrowhead.common.exception.AuthException;
 import eu.arrowhead.common.filter.AccessControlFilter;
+import eu.arrowhead.common.filter.RequestBody;
 import eu.arrowhead.common.misc.SecurityUtils;
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
@@ -21,7 +21,7 @@ import javax.ws.rs.ext.Provider;
 public class ServiceRegACF extends AccessControlFilter {
 
   @Override
-  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, String requestJson) {
+  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, RequestBody requestBody) {
     if (!SecurityUtils.isKeyStoreCNArrowheadValid(clientCN)) {
       log.info(clientCN + " is not valid common name, access denied!");
       return false;
@@ -30,10 +30,15 @@ public class ServiceRegACF extends AccessControlFilter {
     String serverCN = (String) configuration.getProperty("server_common_name");
     String[] serverFields = serverCN.split("\\.", 2);
 
+    if (isCommonManagementTarget(requestTarget)) {
+      // Only the local System Operator can use the management resources common to every core system
+      return isLocalSysop(clientCN);
+    }
+
     String[] clientFields = clientCN.split("\\.", 2);
     if (requestTarget.endsWith("register") || requestTarget.endsWith("remove")) {
       // All requests from the local cloud are allowed
-      ServiceRegistryEntry entry = Utility.fromJson(requestJson, ServiceRegistryEntry.class);
+      ServiceRegistryEntry entry = requestBody.readAs(ServiceRegistryEntry.class);
 
       String providerName = entry.getProvider().getSystemName().replaceAll("_", "");
       if (!providerName.equalsIgnoreCase(clientFields[0])) {
@@ -42,7 +47,7 @@ public class ServiceRegACF extends AccessControlFilter {
         throw new AuthException("Provider system " + entry.getProvider().getSystemName() + " and cert common name (" + clientCN + ") do not match!");
       }
       return serverFields[1].equalsIgnoreCase(clientFields[1]);
-    } else if (requestTarget.endsWith("query")) {
+    } else if (requestTarget.endsWith("query") || requestTarget.endsWith("query/bulk")) {
       // Only requests from the Orchestrator and Gatekeeper are allowed
       return clientCN.equalsIgnoreCase("orchestrator." + serverFields[1]) || clientCN.equalsIgnoreCase("gatekeeper." + serverFields[1]);
     } //maps legacy register and remove functions, if-else order is important
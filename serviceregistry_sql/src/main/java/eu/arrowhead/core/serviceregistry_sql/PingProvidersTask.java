@@ -8,9 +8,13 @@
 package eu.arrowhead.core.serviceregistry_sql;
 
 
+import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.database.ServiceRegistryEntry;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TimerTask;
 import org.apache.log4j.Logger;
 
@@ -26,19 +30,28 @@ class PingProvidersTask extends TimerTask {
 
   //Removes Service Registry entries with offline/inactive providers
   private int pingAndRemoveServices() {
-    List<ServiceRegistryEntry> srEntries = ServiceRegistryResource.dm.getAll(ServiceRegistryEntry.class, null);
-
-    boolean connectionIsAlive;
-    int deleteCount = 0;
-    for (ServiceRegistryEntry entry : srEntries) {
-      connectionIsAlive = RegistryUtils.pingHost(entry.getProvider().getAddress(), entry.getProvider().getPort(), ServiceRegistryMain.PING_TIMEOUT);
-      if (!connectionIsAlive) {
-        ServiceRegistryResource.dm.delete(entry);
-        deleteCount++;
+    //Every provider is only pinged once, and the database connection is not held while the pings are running
+    Set<ArrowheadSystem> providers = new HashSet<>();
+    ServiceRegistryResource.dm.forEach(ServiceRegistryEntry.class, null, entry -> providers.add(entry.getProvider()));
+
+    Set<ArrowheadSystem> inactiveProviders = new HashSet<>();
+    for (ArrowheadSystem provider : providers) {
+      if (!RegistryUtils.pingHost(provider.getAddress(), provider.getPort(), ServiceRegistryMain.PING_TIMEOUT)) {
+        inactiveProviders.add(provider);
       }
     }
+    if (inactiveProviders.isEmpty()) {
+      return 0;
+    }
+
+    List<ServiceRegistryEntry> inactiveEntries = new ArrayList<>();
+    ServiceRegistryResource.dm.forEach(ServiceRegistryEntry.class, null, entry -> {
+      if (inactiveProviders.contains(entry.getProvider())) {
+        inactiveEntries.add(entry);
+      }
+    });
 
-    return deleteCount;
+    return ServiceRegistryResource.dm.deleteAll(inactiveEntries).getSucceeded().size();
   }
 
 }
\ No newline at end of file
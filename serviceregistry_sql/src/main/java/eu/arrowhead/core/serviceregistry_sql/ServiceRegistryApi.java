@@ -7,13 +7,18 @@
 
 package eu.arrowhead.core.serviceregistry_sql;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.arrowhead.common.DatabaseManager;
 import eu.arrowhead.common.database.ArrowheadService;
 import eu.arrowhead.common.database.ArrowheadSystem;
 import eu.arrowhead.common.database.ServiceRegistryEntry;
 import eu.arrowhead.common.exception.DataNotFoundException;
+import eu.arrowhead.common.json.JacksonJsonProviderAtRest;
 import eu.arrowhead.common.messages.ServiceQueryByRegex;
 import eu.arrowhead.common.messages.ServiceQueryResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +36,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.log4j.Logger;
 
 @Path("serviceregistry/mgmt")
@@ -57,19 +63,34 @@ public class ServiceRegistryApi {
   @GET
   @Path("all")
   public Response getAllServices() {
-    List<ServiceRegistryEntry> providedServices = dm.getAll(ServiceRegistryEntry.class, null);
-
-    for (ServiceRegistryEntry entry : providedServices) {
-      entry.fromDatabase();
+    if (dm.getMin(ServiceRegistryEntry.class, "id", null) == null) {
+      log.info("getAllServices returns 0 entries");
+      return Response.status(Status.NO_CONTENT).entity(new ServiceQueryResult()).build();
     }
 
-    ServiceQueryResult result = new ServiceQueryResult(providedServices);
-    log.info("getAllServices returns " + result.getServiceQueryData().size() + " entries");
-    if (result.getServiceQueryData().isEmpty()) {
-      return Response.status(Status.NO_CONTENT).entity(result).build();
-    } else {
-      return Response.status(Response.Status.OK).entity(result).build();
-    }
+    /* The ServiceQueryResult is written entry by entry, while the entries are read page by page (see DatabaseManager.forEach), so the whole table
+       is never in memory at once. The streamed body is always JSON (it is not converted to Smile). */
+    StreamingOutput body = output -> {
+      ObjectMapper mapper = JacksonJsonProviderAtRest.getMapper();
+      try (JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("serviceQueryData");
+        long count = dm.forEach(ServiceRegistryEntry.class, null, entry -> {
+          entry.fromDatabase();
+          try {
+            mapper.writeValue(generator, entry);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        generator.writeEndArray();
+        generator.writeEndObject();
+        log.info("getAllServices returned " + count + " entries");
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+    return Response.status(Status.OK).entity(body).type(MediaType.APPLICATION_JSON_TYPE).build();
   }
 
   @DELETE
@@ -139,11 +160,9 @@ public class ServiceRegistryApi {
   @PUT
   @Path("query")
   public List<ServiceRegistryEntry> queryByRegex(ServiceQueryByRegex regex, @QueryParam("partial_match") boolean partialMatch) {
-    List<ServiceRegistryEntry> retrievedServices = dm.getAll(ServiceRegistryEntry.class, null);
-
     Pattern pattern = Pattern.compile(regex.getRegularExpression());
     List<ServiceRegistryEntry> matches = new ArrayList<>();
-    for (ServiceRegistryEntry entry : retrievedServices) {
+    dm.forEach(ServiceRegistryEntry.class, null, entry -> {
       Matcher matcher = pattern.matcher(entry.getProvidedService().getServiceDefinition());
       if (partialMatch) {
         if (matcher.find()) {
@@ -154,7 +173,7 @@ public class ServiceRegistryApi {
           matches.add(entry);
         }
       }
-    }
+    });
 
     return matches;
   }
@@ -191,6 +210,9 @@ public class ServiceRegistryApi {
     retreivedEntry.setServiceURI(entry.getServiceURI());
     retreivedEntry.setEndOfValidity(entry.getEndOfValidity());
     retreivedEntry = dm.merge(retreivedEntry);
+    if (ServiceRegistryMain.REMOVE_EXPIRED_TASK != null) {
+      ServiceRegistryMain.REMOVE_EXPIRED_TASK.wakeUpAt(RemoveExpiredServicesTask.toInstant(retreivedEntry.getEndOfValidity()));
+    }
     retreivedEntry.fromDatabase();
 
     log.info("updateServiceRegistryEntry successfully returns.");
@@ -21,6 +21,7 @@ public class ServiceRegistryMain extends ArrowheadMain {
 
   static int PING_TIMEOUT;
   static int TTL_INTERVAL;
+  static RemoveExpiredServicesTask REMOVE_EXPIRED_TASK;
 
   {
     PING_TIMEOUT = props.getIntProperty("ping_timeout", 7500);
@@ -40,11 +41,10 @@ public class ServiceRegistryMain extends ArrowheadMain {
       int interval = props.getIntProperty("ping_interval", 60);
       pingTimer.schedule(pingTask, 60L * 1000L, (interval * 60L * 1000L));
     }
-    //if TTL based service removing is scheduled, start the TimerTask that provides it
+    //if TTL based service removing is scheduled, start the sweeper that provides it
     if (props.getBooleanProperty("ttl_scheduled", false)) {
-      TimerTask removeTask = new RemoveExpiredServicesTask();
-      Timer ttlTimer = new Timer();
-      ttlTimer.schedule(removeTask, 45L * 1000L, TTL_INTERVAL * 60L * 1000L);
+      REMOVE_EXPIRED_TASK = new RemoveExpiredServicesTask();
+      REMOVE_EXPIRED_TASK.start(45L * 1000L, TTL_INTERVAL * 60L * 1000L);
     }
 
     listenForInput();
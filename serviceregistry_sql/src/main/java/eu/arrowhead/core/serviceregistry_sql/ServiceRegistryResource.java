@@ -14,6 +14,7 @@ import eu.arrowhead.common.database.ServiceRegistryEntry;
 import eu.arrowhead.common.exception.DuplicateEntryException;
 import eu.arrowhead.common.messages.ServiceQueryForm;
 import eu.arrowhead.common.messages.ServiceQueryResult;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import javax.validation.Valid;
@@ -48,41 +49,46 @@ public class ServiceRegistryResource {
   @Path("register")
   public Response registerService(@Valid ServiceRegistryEntry entry) {
     entry.toDatabase();
-    restrictionMap.put("serviceDefinition", entry.getProvidedService().getServiceDefinition());
-    ArrowheadService service = dm.get(ArrowheadService.class, restrictionMap);
-    if (service == null) {
-      service = dm.save(entry.getProvidedService());
-    } else {
-      service.setInterfaces(entry.getProvidedService().getInterfaces());
-      dm.merge(service);
-    }
-    entry.setProvidedService(service);
-
-    restrictionMap.clear();
-    restrictionMap.put("systemName", entry.getProvider().getSystemName());
-    restrictionMap.put("address", entry.getProvider().getAddress());
-    restrictionMap.put("port", entry.getProvider().getPort());
-    ArrowheadSystem provider = dm.get(ArrowheadSystem.class, restrictionMap);
-    if (provider == null) {
-      provider = dm.save(entry.getProvider());
-    } else {
-      provider.setAuthenticationInfo(entry.getProvider().getAuthenticationInfo());
-      dm.merge(provider);
-    }
-    entry.setProvider(provider);
+    //All the lookups and writes of the registration are done in 1 session and transaction
+    ServiceRegistryEntry savedEntry = dm.inTransaction(() -> {
+      restrictionMap.put("serviceDefinition", entry.getProvidedService().getServiceDefinition());
+      ArrowheadService service = dm.get(ArrowheadService.class, restrictionMap);
+      if (service == null) {
+        service = dm.save(entry.getProvidedService());
+      } else {
+        service.setInterfaces(entry.getProvidedService().getInterfaces());
+        service = dm.merge(service);
+      }
+      entry.setProvidedService(service);
+
+      restrictionMap.clear();
+      restrictionMap.put("systemName", entry.getProvider().getSystemName());
+      restrictionMap.put("address", entry.getProvider().getAddress());
+      restrictionMap.put("port", entry.getProvider().getPort());
+      ArrowheadSystem provider = dm.get(ArrowheadSystem.class, restrictionMap);
+      if (provider == null) {
+        provider = dm.save(entry.getProvider());
+      } else {
+        provider.setAuthenticationInfo(entry.getProvider().getAuthenticationInfo());
+        provider = dm.merge(provider);
+      }
+      entry.setProvider(provider);
+
+      restrictionMap.clear();
+      restrictionMap.put("provider", provider);
+      restrictionMap.put("providedService", service);
+      if (dm.get(ServiceRegistryEntry.class, restrictionMap) != null) {
+        throw new DuplicateEntryException(
+            "There is already a Service Registry entry with this provider(" + provider.getSystemName() + ") and " + "providedService(" + service
+                .getServiceDefinition() + ")");
+      }
+      return dm.save(entry);
+    });
 
-    restrictionMap.clear();
-    restrictionMap.put("provider", provider);
-    restrictionMap.put("providedService", service);
-    ServiceRegistryEntry savedEntry = dm.get(ServiceRegistryEntry.class, restrictionMap);
-    if (savedEntry == null) {
-      savedEntry = dm.save(entry);
-    } else {
-      throw new DuplicateEntryException(
-          "There is already a Service Registry entry with this provider(" + provider.getSystemName() + ") and " + "providedService(" + service
-              .getServiceDefinition() + ")");
+    //Entries expiring before the next periodic sweep get their own removal
+    if (ServiceRegistryMain.REMOVE_EXPIRED_TASK != null) {
+      ServiceRegistryMain.REMOVE_EXPIRED_TASK.wakeUpAt(RemoveExpiredServicesTask.toInstant(savedEntry.getEndOfValidity()));
     }
-
     savedEntry.fromDatabase();
     log.info("New " + entry.toString() + " is saved.");
     return Response.status(Status.CREATED).entity(savedEntry).build();
@@ -91,16 +97,48 @@ public class ServiceRegistryResource {
   @PUT
   @Path("query")
   public Response queryRegistry(@Valid ServiceQueryForm queryForm) {
-    restrictionMap.put("serviceDefinition", queryForm.getService().getServiceDefinition());
-    ArrowheadService service = dm.get(ArrowheadService.class, restrictionMap);
-    if (service == null) {
-      log.info("Service " + queryForm.getService().toString() + " is not in the registry.");
+    List<ServiceRegistryEntry> providedServices = query(queryForm);
+    if (providedServices == null) {
       return Response.status(Status.PARTIAL_CONTENT).entity(new ServiceQueryResult()).build();
     }
+    ServiceQueryResult result = new ServiceQueryResult(providedServices);
+    return Response.status(Status.OK).entity(result).build();
+  }
+
+  /**
+   * Answers several queries in 1 request (e.g. all the core services another core system needs). The results are returned in the order of the
+   * query forms, with an empty result for services not in the registry.
+   */
+  @PUT
+  @Path("query/bulk")
+  public List<ServiceQueryResult> queryRegistryBulk(@Valid List<ServiceQueryForm> queryForms) {
+    List<ServiceQueryResult> results = new ArrayList<>(queryForms.size());
+    for (ServiceQueryForm queryForm : queryForms) {
+      List<ServiceRegistryEntry> providedServices = query(queryForm);
+      results.add(providedServices == null ? new ServiceQueryResult() : new ServiceQueryResult(providedServices));
+    }
+    return results;
+  }
+
+  private List<ServiceRegistryEntry> query(ServiceQueryForm queryForm) {
+    //Pure read, served by a read-only session (on the read replica, if one is configured)
+    List<ServiceRegistryEntry> providedServices = dm.inReadOnlySession(() -> {
+      restrictionMap.clear();
+      restrictionMap.put("serviceDefinition", queryForm.getService().getServiceDefinition());
+      ArrowheadService service = dm.get(ArrowheadService.class, restrictionMap);
+      if (service == null) {
+        return null;
+      }
+
+      restrictionMap.clear();
+      restrictionMap.put("providedService", service);
+      return dm.getAll(ServiceRegistryEntry.class, restrictionMap);
+    });
+    if (providedServices == null) {
+      log.info("Service " + queryForm.getService().toString() + " is not in the registry.");
+      return null;
+    }
 
-    restrictionMap.clear();
-    restrictionMap.put("providedService", service);
-    List<ServiceRegistryEntry> providedServices = dm.getAll(ServiceRegistryEntry.class, restrictionMap);
     for (ServiceRegistryEntry entry : providedServices) {
       entry.fromDatabase();
     }
@@ -128,8 +166,7 @@ public class ServiceRegistryResource {
     }
 
     log.info("Service " + queryForm.getService().toString() + " queried successfully.");
-    ServiceQueryResult result = new ServiceQueryResult(providedServices);
-    return Response.status(Status.OK).entity(result).build();
+    return providedServices;
   }
 
   @PUT
@@ -7,10 +7,10 @@
 
 package eu.arrowhead.core.serviceregistry_sql.filter;
 
-import eu.arrowhead.common.Utility;
 import eu.arrowhead.common.database.ServiceRegistryEntry;
 import eu.arrowhead.common.exception.AuthException;
 import eu.arrowhead.common.filter.AccessControlFilter;
+import eu.arrowhead.common.filter.RequestBody;
 import eu.arrowhead.common.misc.SecurityUtils;
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
@@ -22,7 +22,7 @@ import javax.ws.rs.ext.Provider;
 public class ServiceRegACF extends AccessControlFilter {
 
   @Override
-  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, String requestJson) {
+  public boolean isClientAuthorized(String clientCN, String method, String requestTarget, RequestBody requestBody) {
     if (!SecurityUtils.isKeyStoreCNArrowheadValid(clientCN)) {
       log.info(clientCN + " is not valid common name, access denied!");
       return false;
@@ -31,13 +31,18 @@ public class ServiceRegACF extends AccessControlFilter {
     String serverCN = (String) configuration.getProperty("server_common_name");
     String[] serverFields = serverCN.split("\\.", 2);
 
+    if (isCommonManagementTarget(requestTarget)) {
+      // Only the local System Operator can use the management resources common to every core system
+      return isLocalSysop(clientCN);
+    }
+
     if (requestTarget.contains("mgmt")) {
       //Only the local System Operator can use these methods
       return clientCN.equalsIgnoreCase("sysop." + serverFields[1]);
     } else if (requestTarget.endsWith("register") || requestTarget.endsWith("remove")) {
 
       // All requests from the local cloud are allowed
-      ServiceRegistryEntry entry = Utility.fromJson(requestJson, ServiceRegistryEntry.class);
+      ServiceRegistryEntry entry = requestBody.readAs(ServiceRegistryEntry.class);
       String[] clientFields = clientCN.split("\\.", 2);
 
       String providerName = entry.getProvider().getSystemName();
@@ -49,7 +54,7 @@ public class ServiceRegACF extends AccessControlFilter {
       }
 
       return serverFields[1].equalsIgnoreCase(clientFields[1]);
-    } else if (requestTarget.endsWith("query")) {
+    } else if (requestTarget.endsWith("query") || requestTarget.endsWith("query/bulk")) {
       String[] allowedCoreSystems = {"orchestrator", "gatekeeper", "certificateauthority", "certificate_authority"};
       for (String coreSystem : allowedCoreSystems) {
         if (clientCN.equalsIgnoreCase(coreSystem + "." + serverFields[1])) {